@@ -311,8 +311,13 @@ export class DeployService {
 
   /** Sync toutes les escouades */
   triggerSyncAll(): void {
-    this.api.syncAll().subscribe(results => {
-      console.log('[Sync] ✓ All squads synced —', results.length, 'résultats');
+    this.api.syncAll().subscribe(job => {
+      if (!job) return;
+      if (job.status === 'FAILED') {
+        console.warn('[Sync] Erreur:', job.error);
+        return;
+      }
+      console.log('[Sync] ✓ All squads synced —', job.completedSquads, 'escouades,', job.failedSquads, 'en erreur');
       // Refresh sprint data for expanded app
       if (this.expandedAppId) {
         delete this._sprintData[this.expandedAppId];
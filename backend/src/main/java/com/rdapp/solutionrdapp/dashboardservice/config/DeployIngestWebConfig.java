@@ -0,0 +1,20 @@
+package com.rdapp.solutionrdapp.dashboardservice.config;
+
+import com.rdapp.solutionrdapp.dashboardservice.controller.DeployIngestAdmissionInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class DeployIngestWebConfig implements WebMvcConfigurer {
+
+    private final DeployIngestAdmissionInterceptor admissionInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(admissionInterceptor)
+                .addPathPatterns("/api/v1/deploy/ingest");
+    }
+}
@@ -0,0 +1,68 @@
+package com.rdapp.solutionrdapp.dashboardservice.controller;
+
+import com.rdapp.solutionrdapp.dashboardservice.service.DeployIngestAdmissionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Admission control devant POST /api/v1/deploy/ingest, appliqué avant la
+ * lecture du body. Refus → DeployIngestAdmissionException, rendue en 429 +
+ * Retry-After par DeployIngestExceptionHandler (respecté par les scripts GHA).
+ *
+ * Appelant = empreinte du token Bearer, sinon X-GHA-Actor, sinon IP. L'acteur,
+ * choisi par le client, n'entre pas dans la clé quand un token est présent.
+ */
+@Component
+@RequiredArgsConstructor
+public class DeployIngestAdmissionInterceptor implements HandlerInterceptor {
+
+    private static final String PERMIT_ATTR = DeployIngestAdmissionInterceptor.class.getName() + ".permit";
+
+    private final DeployIngestAdmissionService admission;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!admission.isEnabled() || !"POST".equals(request.getMethod())) return true;
+        request.setAttribute(PERMIT_ATTR, admission.acquire(callerKey(request)));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+                                Object handler, Exception ex) {
+        if (request.getAttribute(PERMIT_ATTR) instanceof DeployIngestAdmissionService.Permit permit) {
+            permit.close();
+        }
+    }
+
+    // ── Helpers ──
+
+    private static String callerKey(HttpServletRequest request) {
+        var auth = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (auth != null && auth.startsWith("Bearer ") && auth.length() > 7) {
+            return "token:" + fingerprint(auth.substring(7));
+        }
+
+        var actor = request.getHeader("X-GHA-Actor");
+        if (actor != null && !actor.isBlank()) return "actor:" + actor;
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private static String fingerprint(String token) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 6);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.rdapp.solutionrdapp.dashboardservice.controller;
+
+import com.rdapp.solutionrdapp.dashboardservice.dto.DeployIngestDto.IngestPayload;
+import com.rdapp.solutionrdapp.dashboardservice.service.DeployIngestMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+
+/**
+ * Mesure la phase "deserialize" de POST /api/v1/deploy/ingest : temps de
+ * lecture + binding Jackson du body, et taille réelle du payload.
+ *
+ * Le compteur voyage sur le message enveloppé (transmis tel quel à afterBodyRead) :
+ * aucun état par thread, rien à nettoyer quand le parsing échoue.
+ */
+@ControllerAdvice(assignableTypes = DeployIngestController.class)
+@RequiredArgsConstructor
+public class DeployIngestBodyAdvice extends RequestBodyAdviceAdapter {
+
+    private final DeployIngestMetrics metrics;
+
+    @Override
+    public boolean supports(MethodParameter parameter, Type targetType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        return targetType == IngestPayload.class;
+    }
+
+    @Override
+    public HttpInputMessage beforeBodyRead(HttpInputMessage inputMessage, MethodParameter parameter,
+                                           Type targetType, Class<? extends HttpMessageConverter<?>> converterType)
+            throws IOException {
+        return new CountingInputMessage(inputMessage);
+    }
+
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter,
+                                Type targetType, Class<? extends HttpMessageConverter<?>> converterType) {
+        if (inputMessage instanceof CountingInputMessage message) {
+            var counting = message.body;
+            metrics.recordDeserialize(System.nanoTime() - counting.startedAt, counting.count);
+        }
+        return body;
+    }
+
+    private static final class CountingInputMessage implements HttpInputMessage {
+
+        private final HttpHeaders headers;
+        private final CountingInputStream body;
+
+        private CountingInputMessage(HttpInputMessage delegate) throws IOException {
+            this.headers = delegate.getHeaders();
+            this.body = new CountingInputStream(delegate.getBody());
+        }
+
+        @Override
+        public InputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private final long startedAt = System.nanoTime();
+        private long count;
+
+        private CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) count++;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) count += n;
+            return n;
+        }
+    }
+}
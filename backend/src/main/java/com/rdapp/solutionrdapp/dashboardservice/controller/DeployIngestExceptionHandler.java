@@ -0,0 +1,28 @@
+package com.rdapp.solutionrdapp.dashboardservice.controller;
+
+import com.rdapp.solutionrdapp.dashboardservice.config.DeployIngestAdmissionException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.time.Instant;
+
+/**
+ * Refus d'admission de POST /api/v1/deploy/ingest → 429 ProblemDetail + Retry-After.
+ */
+@RestControllerAdvice(assignableTypes = DeployIngestController.class)
+public class DeployIngestExceptionHandler {
+
+    @ExceptionHandler(DeployIngestAdmissionException.class)
+    public ResponseEntity<ProblemDetail> handleAdmission(DeployIngestAdmissionException ex) {
+        var pd = ProblemDetail.forStatusAndDetail(HttpStatus.TOO_MANY_REQUESTS, ex.getReason());
+        pd.setTitle("Trop de requêtes");
+        pd.setProperty("retryAfterSeconds", ex.getRetryAfterSeconds());
+        pd.setProperty("timestamp", Instant.now());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .headers(ex.getHeaders())
+                .body(pd);
+    }
+}
@@ -0,0 +1,211 @@
+package com.rdapp.solutionrdapp.dashboardservice.service;
+
+import com.rdapp.solutionrdapp.dashboardservice.config.DeployIngestAdmissionException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admission control de POST /api/v1/deploy/ingest.
+ *
+ * Par appelant (token / X-GHA-Actor) : token bucket (requestsPerMinute + burst)
+ * et maxConcurrentPerCaller ingests simultanés ; puis maxConcurrent global.
+ * Sans slot libre, attente bornée (maxQueue, queueTimeoutMs), sinon 429.
+ *
+ * Un appelant inactif depuis callerIdleMinutes est oublié. Tag caller : appelants
+ * identifiés par leur seule IP sous « anonymous », au-delà de maxTaggedCallers → « other ».
+ *
+ * Métriques : deploy.ingest.admission.{admitted,rejected,in.flight,queued,callers}
+ */
+@Service
+@Slf4j
+public class DeployIngestAdmissionService {
+
+    private final Properties props;
+    private final MeterRegistry registry;
+    private final Semaphore global;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Map<String, CallerState> callers = new ConcurrentHashMap<>();
+    private final Set<String> taggedCallers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong nextEviction = new AtomicLong(System.nanoTime());
+
+    public DeployIngestAdmissionService(Properties props, MeterRegistry registry) {
+        this.props = props;
+        this.registry = registry;
+        this.global = new Semaphore(props.getMaxConcurrent(), true);
+        Gauge.builder("deploy.ingest.admission.in.flight", inFlight, AtomicInteger::get).register(registry);
+        Gauge.builder("deploy.ingest.admission.queued", queued, AtomicInteger::get).register(registry);
+        Gauge.builder("deploy.ingest.admission.callers", callers, Map::size).register(registry);
+    }
+
+    /**
+     * @return le permit à fermer en fin de requête
+     * @throws DeployIngestAdmissionException 429 + Retry-After si le débit, la file ou l'attente sont dépassés
+     */
+    public Permit acquire(String caller) {
+        long now = System.nanoTime();
+        evictIdleCallers(now);
+        var state = callers.compute(caller, (c, existing) -> {
+            var current = existing != null ? existing : new CallerState();
+            current.lastUsed = now;
+            return current;
+        });
+
+        long waitNanos = state.bucket.tryConsume();
+        if (waitNanos > 0) {
+            throw reject(caller, "rate", "Débit d'ingest dépassé pour " + caller, Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1));
+        }
+
+        if (state.slots.tryAcquire()) {
+            if (global.tryAcquire()) return admit(caller, state);
+            state.slots.release();
+        }
+
+        if (queued.incrementAndGet() > props.getMaxQueue()) {
+            queued.decrementAndGet();
+            throw reject(caller, "queue-full", "File d'ingest pleine", props.getRetryAfterSeconds());
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(props.getQueueTimeoutMs());
+        boolean callerSlot = false;
+        try {
+            callerSlot = state.slots.tryAcquire(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            if (callerSlot && global.tryAcquire(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                return admit(caller, state);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            queued.decrementAndGet();
+        }
+
+        if (callerSlot) state.slots.release();
+        throw reject(caller, "timeout", "Aucun slot d'ingest disponible", props.getRetryAfterSeconds());
+    }
+
+    public boolean isEnabled() {
+        return props.isEnabled();
+    }
+
+    // ── Helpers ──
+
+    private Permit admit(String caller, CallerState state) {
+        inFlight.incrementAndGet();
+        registry.counter("deploy.ingest.admission.admitted", "caller", callerTag(caller)).increment();
+        return new Permit(state);
+    }
+
+    private DeployIngestAdmissionException reject(String caller, String reason, String message, long retryAfter) {
+        registry.counter("deploy.ingest.admission.rejected", "caller", callerTag(caller), "reason", reason).increment();
+        log.warn("Deploy ingest refusé — caller={} reason={} retryAfter={}s", caller, reason, retryAfter);
+        return new DeployIngestAdmissionException(message, retryAfter);
+    }
+
+    /** Cardinalité bornée : l'en-tête X-GHA-Actor et l'IP sont fournis par le client. */
+    private String callerTag(String caller) {
+        if (caller.startsWith("ip:")) return "anonymous";
+        if (taggedCallers.contains(caller)) return caller;
+        if (taggedCallers.size() < props.getMaxTaggedCallers() && taggedCallers.add(caller)) return caller;
+        return "other";
+    }
+
+    /** Au plus une passe par callerIdleMinutes, depuis le chemin d'admission. */
+    private void evictIdleCallers(long now) {
+        long idle = TimeUnit.MINUTES.toNanos(props.getCallerIdleMinutes());
+        long next = nextEviction.get();
+        if (now - next < 0 || !nextEviction.compareAndSet(next, now + idle)) return;
+        long idleBefore = now - idle;
+        for (var caller : callers.keySet()) {
+            callers.computeIfPresent(caller, (c, state) -> state.idleSince(idleBefore) ? null : state);
+        }
+    }
+
+    // ══════════════════════════════════════════════════
+    // Types
+    // ══════════════════════════════════════════════════
+
+    public final class Permit implements AutoCloseable {
+
+        private final CallerState state;
+        private boolean released;
+
+        private Permit(CallerState state) {
+            this.state = state;
+        }
+
+        @Override
+        public synchronized void close() {
+            if (released) return;
+            released = true;
+            inFlight.decrementAndGet();
+            global.release();
+            state.slots.release();
+        }
+    }
+
+    private final class CallerState {
+        final Semaphore slots = new Semaphore(props.getMaxConcurrentPerCaller(), true);
+        final TokenBucket bucket = new TokenBucket(props.getBurst(), props.getRequestsPerMinute());
+        /** Dernière requête (System.nanoTime), mis à jour sous le verrou de la map */
+        long lastUsed;
+
+        boolean idleSince(long before) {
+            return lastUsed - before < 0 && slots.availablePermits() == props.getMaxConcurrentPerCaller();
+        }
+    }
+
+    private static final class TokenBucket {
+
+        private final double capacity;
+        private final double tokensPerNano;
+        private double tokens;
+        private long lastRefill = System.nanoTime();
+
+        TokenBucket(int capacity, int perMinute) {
+            this.capacity = Math.max(1, capacity);
+            this.tokensPerNano = Math.max(1, perMinute) / (double) TimeUnit.MINUTES.toNanos(1);
+            this.tokens = this.capacity;
+        }
+
+        synchronized long tryConsume() {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+            lastRefill = now;
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) / tokensPerNano);
+        }
+    }
+
+    @Component
+    @ConfigurationProperties(prefix = "deploy.ingest.admission")
+    @Getter @Setter
+    public static class Properties {
+        private boolean enabled = true;
+        private int maxConcurrent = 4;
+        private int maxConcurrentPerCaller = 2;
+        private int requestsPerMinute = 30;
+        private int burst = 10;
+        private int maxQueue = 8;
+        private long queueTimeoutMs = 10000;
+        private int retryAfterSeconds = 15;
+        private long callerIdleMinutes = 10;
+        private int maxTaggedCallers = 50;
+    }
+}
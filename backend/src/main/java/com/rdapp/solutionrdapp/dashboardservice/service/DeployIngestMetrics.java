@@ -0,0 +1,134 @@
+package com.rdapp.solutionrdapp.dashboardservice.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Métriques Micrometer de l'ingestion des déploiements (GHA → POST /api/v1/deploy/ingest).
+ *
+ * Exposées via actuator (/actuator/metrics) :
+ *   deploy.ingest.phase           Timer   {phase, org, env}  deserialize | lookup | diff | flush
+ *   deploy.ingest.rows            Counter {kind, org, env}   deployments | comparisons
+ *   deploy.ingest.rows.per.second Gauge   {org, env}         débit du dernier ingest
+ *   deploy.ingest.payload.size    Summary                    taille du body reçu (bytes)
+ *
+ * org/env viennent du payload GHA : au-delà de MAX_TAGGED_ENVS paires distinctes,
+ * les nouvelles sont comptées sous org=other, env=other (cardinalité bornée).
+ */
+@Component
+public class DeployIngestMetrics {
+
+    public enum Phase {
+        DESERIALIZE, LOOKUP, DIFF, FLUSH;
+
+        String tag() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private static final int MAX_TAGGED_ENVS = 100;
+    private static final String OTHER = "other";
+
+    private final MeterRegistry registry;
+    private final Map<String, AtomicLong> rowsPerSecond = new ConcurrentHashMap<>();
+    private final Set<String> taggedEnvs = ConcurrentHashMap.newKeySet();
+
+    public DeployIngestMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public PhaseTimer start(String org, String env) {
+        org = tagValue(org);
+        env = tagValue(env);
+        var key = org + "/" + env;
+        if (taggedEnvs.contains(key)
+                || taggedEnvs.size() < MAX_TAGGED_ENVS && taggedEnvs.add(key)) {
+            return new PhaseTimer(org, env);
+        }
+        return new PhaseTimer(OTHER, OTHER);
+    }
+
+    public void recordDeserialize(long nanos, long bytes) {
+        Timer.builder("deploy.ingest.phase")
+                .tag("phase", Phase.DESERIALIZE.tag())
+                .tag("org", "all")
+                .tag("env", "all")
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("deploy.ingest.payload.size")
+                .baseUnit("bytes")
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(bytes);
+    }
+
+    private static String tagValue(String value) {
+        return value == null || value.isBlank() ? "unknown" : value;
+    }
+
+    // ══════════════════════════════════════════════════
+    // Chronomètre par phase (une paire org/env)
+    // ══════════════════════════════════════════════════
+
+    public final class PhaseTimer {
+
+        private final String org;
+        private final String env;
+        private final long startedAt = System.nanoTime();
+        private final long[] nanos = new long[Phase.values().length];
+
+        private PhaseTimer(String org, String env) {
+            this.org = org;
+            this.env = env;
+        }
+
+        public <T> T time(Phase phase, Supplier<T> call) {
+            long t0 = System.nanoTime();
+            try {
+                return call.get();
+            } finally {
+                nanos[phase.ordinal()] += System.nanoTime() - t0;
+            }
+        }
+
+        public void stop(int deployments, int comparisons) {
+            long elapsed = System.nanoTime() - startedAt;
+
+            for (var phase : Phase.values()) {
+                if (phase == Phase.DESERIALIZE) continue;
+                Timer.builder("deploy.ingest.phase")
+                        .tag("phase", phase.tag())
+                        .tag("org", org)
+                        .tag("env", env)
+                        .publishPercentileHistogram()
+                        .register(registry)
+                        .record(nanos[phase.ordinal()], TimeUnit.NANOSECONDS);
+            }
+
+            registry.counter("deploy.ingest.rows", "kind", "deployments", "org", org, "env", env).increment(deployments);
+            registry.counter("deploy.ingest.rows", "kind", "comparisons", "org", org, "env", env).increment(comparisons);
+
+            double seconds = elapsed / 1_000_000_000.0;
+            double rate = seconds > 0 ? (deployments + comparisons) / seconds : 0;
+            rowsPerSecond.computeIfAbsent(org + "/" + env, k -> {
+                var holder = new AtomicLong();
+                Gauge.builder("deploy.ingest.rows.per.second", holder, h -> Double.longBitsToDouble(h.get()))
+                        .tag("org", org)
+                        .tag("env", env)
+                        .register(registry);
+                return holder;
+            }).set(Double.doubleToLongBits(rate));
+        }
+    }
+}
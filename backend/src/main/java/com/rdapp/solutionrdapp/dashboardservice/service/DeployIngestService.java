@@ -6,6 +6,7 @@ import com.rdapp.solutionrdapp.dashboardservice.domain.entity.CommitEntity;
 import com.rdapp.solutionrdapp.dashboardservice.domain.entity.DeploiementEntity;
 import com.rdapp.solutionrdapp.dashboardservice.domain.repository.ComparaisonRepository;
 import com.rdapp.solutionrdapp.dashboardservice.domain.repository.DeploiementRepository;
+import com.rdapp.solutionrdapp.dashboardservice.service.DeployIngestMetrics.Phase;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -26,6 +27,8 @@ import java.util.stream.Collectors;
  *
  * La clé de cache d'une comparaison est : produit + baseVersion + headVersion
  * car le diff entre deux tags est immuable (un tag = un commit fixe).
+ *
+ * Chaque paire org/env est chronométrée par phase (lookup, diff, flush) via {@link DeployIngestMetrics}.
  */
 @Service
 @RequiredArgsConstructor
@@ -34,6 +37,7 @@ public class DeployIngestService {
 
     private final DeploiementRepository deploiementRepository;
     private final ComparaisonRepository comparaisonRepository;
+    private final DeployIngestMetrics metrics;
 
     // ══════════════════════════════════════════════════
     // 1. Lookup : retourner les comparaisons en cache
@@ -124,25 +128,27 @@ public class DeployIngestService {
     private ProcessResult processOrgEnv(OrgEnvResult orgEnv) {
         int deployments = 0;
         int comparisons = 0;
+        var timer = metrics.start(orgEnv.getOrganisation(), orgEnv.getEnvironnement());
 
         for (var deployment : orgEnv.getDeployments()) {
             // Upsert déploiement
-            var existing = deploiementRepository.findByProduitAndVersionAndEnvironnementAndTimestamp(
-                    deployment.getProduit(),
-                    deployment.getVersion(),
-                    deployment.getEnvironnement(),
-                    parseTimestamp(deployment.getTimestamp()));
-
-            DeploiementEntity entity;
-            if (existing.isPresent()) {
-                entity = existing.get();
-            } else {
-                entity = new DeploiementEntity();
-                entity.setProduit(deployment.getProduit());
-                entity.setVersion(deployment.getVersion());
-                entity.setEnvironnement(deployment.getEnvironnement());
-                entity.setTimestamp(parseTimestamp(deployment.getTimestamp()));
-            }
+            var timestamp = parseTimestamp(deployment.getTimestamp());
+            var existing = timer.time(Phase.LOOKUP, () ->
+                    deploiementRepository.findByProduitAndVersionAndEnvironnementAndTimestamp(
+                            deployment.getProduit(),
+                            deployment.getVersion(),
+                            deployment.getEnvironnement(),
+                            timestamp));
+
+            var entity = timer.time(Phase.DIFF, () -> {
+                if (existing.isPresent()) return existing.get();
+                var created = new DeploiementEntity();
+                created.setProduit(deployment.getProduit());
+                created.setVersion(deployment.getVersion());
+                created.setEnvironnement(deployment.getEnvironnement());
+                created.setTimestamp(timestamp);
+                return created;
+            });
 
             // Comparaison : persister seulement si nouvelle (pas fromCache)
             if (deployment.getComparaison() != null) {
@@ -150,22 +156,28 @@ public class DeployIngestService {
 
                 if (!comp.isFromCache()) {
                     // Nouvelle comparaison → sauvegarder dans la table comparaison
-                    var compEntity = mapComparaison(deployment.getProduit(), comp);
-                    compEntity = comparaisonRepository.save(compEntity);
-                    entity.setComparaison(compEntity);
+                    var compEntity = timer.time(Phase.DIFF, () -> mapComparaison(deployment.getProduit(), comp));
+                    entity.setComparaison(timer.time(Phase.FLUSH, () -> comparaisonRepository.save(compEntity)));
                     comparisons++;
                 } else {
                     // fromCache=true → la comparaison existe déjà, juste lier
-                    var cachedComp = comparaisonRepository.findByProduitAndBaseVersionAndHeadVersion(
-                            deployment.getProduit(), comp.getBaseVersion(), comp.getHeadVersion());
+                    var cachedComp = timer.time(Phase.LOOKUP, () ->
+                            comparaisonRepository.findByProduitAndBaseVersionAndHeadVersion(
+                                    deployment.getProduit(), comp.getBaseVersion(), comp.getHeadVersion()));
                     cachedComp.ifPresent(entity::setComparaison);
                 }
             }
 
-            deploiementRepository.save(entity);
+            timer.time(Phase.FLUSH, () -> deploiementRepository.save(entity));
             deployments++;
         }
 
+        timer.time(Phase.FLUSH, () -> {
+            deploiementRepository.flush();
+            return null;
+        });
+        timer.stop(deployments, comparisons);
+
         return new ProcessResult(deployments, comparisons);
     }
 
@@ -106,6 +106,39 @@ export interface ApiSyncResultResponse {
   syncedAt: string;
 }
 
+/** Job de sync de toutes les escouades (POST /v1/jira/sync/all → 202) */
+export interface ApiSyncJobResponse {
+  jobId: string;
+  status: 'RUNNING' | 'COMPLETED' | 'FAILED';
+  startedAt: string;
+  finishedAt?: string;
+  durationMs?: number;
+  totalSquads?: number;
+  completedSquads: number;
+  failedSquads: number;
+  error?: string;
+  squads: ApiSquadSyncSummary[];
+}
+
+/** Bilan compact d'une escouade (sans sprints ni issues) */
+export interface ApiSquadSyncSummary {
+  squadId: string;
+  squadName: string;
+  boardId?: number;
+  boardName?: string;
+  mode?: string;            // full | incremental
+  activeSprintId?: number;
+  activeSprintName?: string;
+  activeIssues?: number;
+  closedSprints: number;
+  futureSprints: number;
+  changedIssues?: number;
+  fetchMs?: number;
+  writeMs?: number;
+  error?: string;
+  syncedAt?: string;
+}
+
 export interface ApiJiraStatusResponse {
   configured: boolean;
   connected: boolean;
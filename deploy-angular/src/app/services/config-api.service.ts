@@ -9,6 +9,7 @@ import {
   BoardSyncRequest, BoardSyncResponse,
   JiraSprintResponse, JiraSyncResult, JiraStatusResponse,
 } from '../models/deploy.models';
+import { ApiSyncJobResponse } from '../models/api.models';
 
 @Injectable({ providedIn: 'root' })
 export class ConfigApiService {
@@ -90,9 +91,14 @@ export class ConfigApiService {
     return this.http.post<JiraSyncResult>(`${this.base}/jira/sync/squad/${squadId}`, {});
   }
 
-  /** Trigger Jira sync pour toutes les escouades */
-  syncJiraAll(): Observable<JiraSyncResult[]> {
-    return this.http.post<JiraSyncResult[]>(`${this.base}/jira/sync/all`, {});
+  /** Trigger Jira sync pour toutes les escouades (202 : job, suivi via getJiraSyncJob) */
+  syncJiraAll(): Observable<ApiSyncJobResponse> {
+    return this.http.post<ApiSyncJobResponse>(`${this.base}/jira/sync/all`, {});
+  }
+
+  /** Bilan d'un job de sync Jira */
+  getJiraSyncJob(jobId: string): Observable<ApiSyncJobResponse> {
+    return this.http.get<ApiSyncJobResponse>(`${this.base}/jira/sync/jobs/${jobId}`);
   }
 
   /** Sync Affect Versions depuis Jira project */
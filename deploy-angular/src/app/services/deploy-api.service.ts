@@ -1,10 +1,10 @@
 import { Injectable } from '@angular/core';
 import { HttpClient, HttpErrorResponse } from '@angular/common/http';
-import { Observable, of, catchError, map, tap, BehaviorSubject, forkJoin, retry, timer } from 'rxjs';
+import { Observable, of, catchError, map, tap, BehaviorSubject, forkJoin, retry, timer, switchMap, takeWhile, last } from 'rxjs';
 import { environment } from '../../environments/environment';
 import {
   ApiAppResponse, ApiCommitResponse, ApiEnvResponse,
-  ApiSquadResponse, ApiSprintResponse, ApiSyncResultResponse,
+  ApiSquadResponse, ApiSprintResponse, ApiSyncResultResponse, ApiSyncJobResponse,
   ApiJiraStatusResponse, ApiIssueResponse,
 } from '../models/api.models';
 import {
@@ -115,10 +115,25 @@ export class DeployApiService {
     );
   }
 
-  /** Sync toutes les escouades */
-  syncAll(): Observable<ApiSyncResultResponse[]> {
-    return this.http.post<ApiSyncResultResponse[]>(`${this.base}/v1/jira/sync/all`, {}).pipe(
-      catchError(err => this.handleError<ApiSyncResultResponse[]>(err, [])),
+  /** Sync toutes les escouades — job en arrière-plan (202), émis une fois terminé */
+  syncAll(): Observable<ApiSyncJobResponse | null> {
+    return this.http.post<ApiSyncJobResponse>(`${this.base}/v1/jira/sync/all`, {}).pipe(
+      switchMap(job => this.awaitSyncJob(job.jobId)),
+      catchError(err => this.handleError<ApiSyncJobResponse | null>(err, null)),
+    );
+  }
+
+  /** Bilan d'un job de sync */
+  getSyncJob(jobId: string): Observable<ApiSyncJobResponse> {
+    return this.http.get<ApiSyncJobResponse>(`${this.base}/v1/jira/sync/jobs/${jobId}`);
+  }
+
+  /** Suit le job jusqu'à sa fin (COMPLETED | FAILED) */
+  private awaitSyncJob(jobId: string, pollMs = 2000): Observable<ApiSyncJobResponse> {
+    return timer(0, pollMs).pipe(
+      switchMap(() => this.getSyncJob(jobId)),
+      takeWhile(job => job.status === 'RUNNING', true),
+      last(),
     );
   }
 
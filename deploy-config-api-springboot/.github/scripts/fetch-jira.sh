@@ -3,7 +3,7 @@
 # fetch-jira.sh
 #
 # Pour chaque escouade dans /tmp/squads.json :
-#   1. Trouver le board Jira via boardId (nom du board)
+#   1. Board Jira : jiraBoardId résolu par l'API, sinon recherche via boardId (nom du board)
 #   2. Récupérer les sprints (active, closed, future)
 #   3. Récupérer les issues de chaque sprint
 #   4. Récupérer les versions du projet
@@ -144,12 +144,18 @@ for i in $(seq 0 $((SQUAD_COUNT - 1))); do
   echo ""
   echo "━━━ [$((i+1))/$SQUAD_COUNT] $SQUAD_NAME (boardId=$BOARD_NAME) ━━━"
 
-  # 1. Chercher le board
-  echo "  → Recherche board '$BOARD_NAME'..."
-  BOARD_RESULT=$(jira_get "${AGILE_API}/board?name=${BOARD_NAME}&maxResults=5") || continue
-  BOARD_ID=$(echo "$BOARD_RESULT" | jq '.values[0].id // empty')
-  BOARD_REAL_NAME=$(echo "$BOARD_RESULT" | jq -r '.values[0].name // "?"')
-  PROJECT_KEY=$(echo "$BOARD_RESULT" | jq -r '.values[0].location.projectKey // ""')
+  # 1. Board : résolution persistée par l'API (jiraBoardId), sinon recherche par nom
+  BOARD_ID=$(echo "$SQUAD" | jq '.jiraBoardId // empty')
+  if [ -n "$BOARD_ID" ]; then
+    BOARD_REAL_NAME=$(echo "$SQUAD" | jq -r '.jiraBoardName // .boardId')
+    PROJECT_KEY=$(echo "$SQUAD" | jq -r '.jiraProjectKey // ""')
+  else
+    echo "  → Recherche board '$BOARD_NAME'..."
+    BOARD_RESULT=$(jira_get "${AGILE_API}/board?name=${BOARD_NAME}&maxResults=5") || continue
+    BOARD_ID=$(echo "$BOARD_RESULT" | jq '.values[0].id // empty')
+    BOARD_REAL_NAME=$(echo "$BOARD_RESULT" | jq -r '.values[0].name // "?"')
+    PROJECT_KEY=$(echo "$BOARD_RESULT" | jq -r '.values[0].location.projectKey // ""')
+  fi
 
   if [ -z "$BOARD_ID" ]; then
     echo "  ✗ Board non trouvé, skip"
@@ -15,6 +15,7 @@ set -euo pipefail
 
 PAYLOAD_FILE="/tmp/bulk-payload.json"
 RESPONSE_FILE="/tmp/ingest-response.json"
+HEADERS_FILE="/tmp/ingest-headers.txt"
 
 if [ ! -f "$PAYLOAD_FILE" ]; then
   echo "::error::Payload non trouvé: $PAYLOAD_FILE"
@@ -31,7 +32,7 @@ echo "Payload: ${PAYLOAD_SIZE} bytes"
 
 # ── Retry loop ──
 
-MAX_RETRIES=3
+MAX_RETRIES=5
 ATTEMPT=1
 SUCCESS=false
 
@@ -39,7 +40,7 @@ while [ $ATTEMPT -le $MAX_RETRIES ]; do
   echo ""
   echo "→ Tentative $ATTEMPT/$MAX_RETRIES..."
 
-  HTTP_CODE=$(curl -s -o "$RESPONSE_FILE" -w "%{http_code}" \
+  HTTP_CODE=$(curl -s -o "$RESPONSE_FILE" -D "$HEADERS_FILE" -w "%{http_code}" \
     -X POST \
     -H "Authorization: Bearer ${DEPLOY_API_TOKEN}" \
     -H "Content-Type: application/json" \
@@ -61,6 +62,18 @@ while [ $ATTEMPT -le $MAX_RETRIES ]; do
     cat "$RESPONSE_FILE" | jq '.' 2>/dev/null || cat "$RESPONSE_FILE"
   fi
 
+  # 429 : l'API est saturée → respecter Retry-After
+  if [ "$HTTP_CODE" -eq 429 ]; then
+    RETRY_AFTER=$(grep -i '^retry-after:' "$HEADERS_FILE" 2>/dev/null | tr -dc '0-9' || true)
+    RETRY_AFTER=${RETRY_AFTER:-15}
+    ATTEMPT=$((ATTEMPT + 1))
+    if [ $ATTEMPT -le $MAX_RETRIES ]; then
+      echo "  → API saturée (429), retry dans ${RETRY_AFTER}s..."
+      sleep "$RETRY_AFTER"
+    fi
+    continue
+  fi
+
   if [ "$HTTP_CODE" -ge 400 ] && [ "$HTTP_CODE" -lt 500 ]; then
     echo "::error::Erreur client ($HTTP_CODE) — pas de retry"
     break
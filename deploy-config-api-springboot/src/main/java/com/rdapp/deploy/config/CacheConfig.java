@@ -1,17 +1,31 @@
 package com.rdapp.deploy.config;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.rdapp.deploy.jira.config.JiraProperties;
 import org.springframework.cache.CacheManager;
-import org.springframework.cache.annotation.CachingConfigurerSupport;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
+/**
+ * Caches applicatifs (Caffeine).
+ *
+ *   globalSprint  → vue sprint globale, rafraîchie par escouade après chaque sync / ingest (SprintCacheBus)
+ *   jira-*        → réponses JiraClient, expirées après jira.cache-ttl-minutes
+ */
 @Configuration
-public class CacheConfig extends CachingConfigurerSupport {
+public class CacheConfig {
 
     @Bean
-    @Override
-    public CacheManager cacheManager() {
-        return new ConcurrentMapCacheManager("globalSprint");
+    public CacheManager cacheManager(JiraProperties jiraProps) {
+        var manager = new CaffeineCacheManager(
+                "jira-boards", "jira-sprints", "jira-sprint-detail", "jira-sprint-issues", "jira-versions");
+        manager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(200)
+                .expireAfterWrite(Duration.ofMinutes(jiraProps.getCacheTtlMinutes())));
+        manager.registerCustomCache("globalSprint", Caffeine.newBuilder().maximumSize(1).build());
+        return manager;
     }
 }
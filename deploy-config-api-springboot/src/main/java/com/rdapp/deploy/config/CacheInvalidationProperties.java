@@ -0,0 +1,33 @@
+package com.rdapp.deploy.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Propagation des invalidations du cache sprint (globalSprint) entre répliques.
+ */
+@Component
+@ConfigurationProperties(prefix = "cache.invalidation")
+@Getter @Setter
+public class CacheInvalidationProperties {
+
+    /** Désactivé : invalidation locale uniquement (une seule réplique) */
+    private boolean enabled = false;
+
+    /** auto (LISTEN/NOTIFY sur PostgreSQL, sinon polling) | notify | poll */
+    private String mode = "auto";
+
+    /** Canal LISTEN/NOTIFY */
+    private String channel = "sprint_cache";
+
+    /** Intervalle de lecture de la table cache_invalidation (mode poll) */
+    private long pollIntervalMs = 1000;
+
+    /** Conservation des lignes cache_invalidation (mode poll) */
+    private int retentionMinutes = 10;
+
+    /** Attente avant reconnexion de l'écoute LISTEN */
+    private long reconnectDelayMs = 5000;
+}
@@ -3,6 +3,7 @@ package com.rdapp.deploy.config;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -15,6 +16,17 @@ import java.util.stream.Collectors;
 @Slf4j
 public class GlobalExceptionHandler {
 
+    @ExceptionHandler(IngestAdmissionException.class)
+    public ResponseEntity<ProblemDetail> handleAdmission(IngestAdmissionException ex) {
+        var pd = ProblemDetail.forStatusAndDetail(HttpStatus.TOO_MANY_REQUESTS, ex.getReason());
+        pd.setTitle("Trop de requêtes");
+        pd.setProperty("retryAfterSeconds", ex.getRetryAfterSeconds());
+        pd.setProperty("timestamp", Instant.now());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .headers(ex.getHeaders())
+                .body(pd);
+    }
+
     @ExceptionHandler(ResponseStatusException.class)
     public ProblemDetail handleResponseStatus(ResponseStatusException ex) {
         var pd = ProblemDetail.forStatusAndDetail(
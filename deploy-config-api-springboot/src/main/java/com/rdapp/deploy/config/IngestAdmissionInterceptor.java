@@ -0,0 +1,70 @@
+package com.rdapp.deploy.config;
+
+import com.rdapp.deploy.service.IngestAdmissionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Applique l'admission control avant la lecture du body des ingests
+ * (un payload refusé n'est jamais désérialisé).
+ *
+ * Appelant = empreinte du token Bearer (seule identité non choisie par le client),
+ * sinon X-GHA-Actor (triggeredBy envoyé par push-to-api.sh), sinon IP. L'acteur
+ * n'entre pas dans la clé quand un token est présent : le faire varier ne donne
+ * pas de nouveau seau.
+ */
+@Component
+@RequiredArgsConstructor
+public class IngestAdmissionInterceptor implements HandlerInterceptor {
+
+    private static final String PERMIT_ATTR = IngestAdmissionInterceptor.class.getName() + ".permit";
+
+    private final IngestAdmissionService admission;
+    private final IngestAdmissionProperties props;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!props.isEnabled() || !"POST".equals(request.getMethod())) return true;
+        request.setAttribute(PERMIT_ATTR, admission.acquire(callerKey(request)));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+                                Object handler, Exception ex) {
+        if (request.getAttribute(PERMIT_ATTR) instanceof IngestAdmissionService.Permit permit) {
+            permit.close();
+        }
+    }
+
+    // ── Helpers ──
+
+    static String callerKey(HttpServletRequest request) {
+        var auth = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (auth != null && auth.startsWith("Bearer ") && auth.length() > 7) {
+            return "token:" + fingerprint(auth.substring(7));
+        }
+
+        var actor = request.getHeader("X-GHA-Actor");
+        if (actor != null && !actor.isBlank()) return "actor:" + actor;
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private static String fingerprint(String token) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 6);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.rdapp.deploy.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Limites d'admission des endpoints d'ingestion batch (/v1/batch/**).
+ */
+@Component
+@ConfigurationProperties(prefix = "ingest.admission")
+@Getter @Setter
+public class IngestAdmissionProperties {
+
+    private boolean enabled = true;
+
+    /** Ingests simultanés toutes origines confondues (protège le pool Hikari) */
+    private int maxConcurrent = 4;
+
+    /** Ingests simultanés par appelant (token / X-GHA-Actor) */
+    private int maxConcurrentPerCaller = 2;
+
+    /** Requêtes par minute et par appelant (token bucket) */
+    private int requestsPerMinute = 30;
+
+    /** Rafale autorisée au-delà du débit moyen */
+    private int burst = 10;
+
+    /** Nombre max de requêtes en attente d'un slot */
+    private int maxQueue = 8;
+
+    /** Attente max d'un slot avant 429 */
+    private long queueTimeoutMs = 10000;
+
+    /** Retry-After renvoyé quand la file est pleine ou l'attente expirée */
+    private int retryAfterSeconds = 15;
+
+    /** État d'un appelant oublié après cette inactivité (bucket rechargé entre-temps) */
+    private long callerIdleMinutes = 10;
+
+    /** Valeurs distinctes du tag caller des métriques ; au-delà → « other » */
+    private int maxTaggedCallers = 50;
+}
@@ -0,0 +1,109 @@
+package com.rdapp.deploy.config;
+
+import com.rdapp.deploy.controller.BatchIngestController;
+import com.rdapp.deploy.dto.BatchIngestDto.BulkIngestPayload;
+import com.rdapp.deploy.dto.BatchIngestDto.IngestPayload;
+import com.rdapp.deploy.service.IngestMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+
+/**
+ * Mesure la phase "deserialize" des ingests batch : temps de lecture + binding
+ * Jackson du body, et taille réelle du payload (indépendante du Content-Length).
+ *
+ * Le compteur voyage sur le message enveloppé (transmis tel quel à afterBodyRead) :
+ * aucun état par thread, rien à nettoyer quand le parsing échoue.
+ */
+@ControllerAdvice(assignableTypes = BatchIngestController.class)
+@RequiredArgsConstructor
+public class IngestRequestBodyAdvice extends RequestBodyAdviceAdapter {
+
+    private final IngestMetrics metrics;
+
+    @Override
+    public boolean supports(MethodParameter parameter, Type targetType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        return targetType == IngestPayload.class || targetType == BulkIngestPayload.class;
+    }
+
+    @Override
+    public HttpInputMessage beforeBodyRead(HttpInputMessage inputMessage, MethodParameter parameter,
+                                           Type targetType, Class<? extends HttpMessageConverter<?>> converterType)
+            throws IOException {
+        return new CountingInputMessage(inputMessage);
+    }
+
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter,
+                                Type targetType, Class<? extends HttpMessageConverter<?>> converterType) {
+        if (!(inputMessage instanceof CountingInputMessage message)) return body;
+
+        var counting = message.body;
+        long elapsed = System.nanoTime() - counting.startedAt;
+        if (body instanceof IngestPayload payload) {
+            metrics.recordDeserialize(payload.getSquadId(), elapsed);
+            metrics.recordPayloadSize("ingest", counting.count);
+        } else if (body instanceof BulkIngestPayload) {
+            metrics.recordBulkDeserialize(elapsed);
+            metrics.recordPayloadSize("ingest-bulk", counting.count);
+        }
+        return body;
+    }
+
+    // ── Helpers ──
+
+    private static final class CountingInputMessage implements HttpInputMessage {
+
+        private final HttpHeaders headers;
+        private final CountingInputStream body;
+
+        private CountingInputMessage(HttpInputMessage delegate) throws IOException {
+            this.headers = delegate.getHeaders();
+            this.body = new CountingInputStream(delegate.getBody());
+        }
+
+        @Override
+        public InputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private final long startedAt = System.nanoTime();
+        private long count;
+
+        private CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) count++;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) count += n;
+            return n;
+        }
+    }
+}
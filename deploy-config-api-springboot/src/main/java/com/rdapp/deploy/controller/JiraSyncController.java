@@ -1,27 +1,39 @@
 package com.rdapp.deploy.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.rdapp.deploy.dto.SprintSyncDto.*;
 import com.rdapp.deploy.entity.SprintIssue;
 import com.rdapp.deploy.entity.SprintSync;
-import com.rdapp.deploy.jira.client.JiraClient;
 import com.rdapp.deploy.jira.config.JiraProperties;
+import com.rdapp.deploy.jira.service.JiraHealthMonitor;
+import com.rdapp.deploy.jira.service.JiraSyncJobService;
+import com.rdapp.deploy.jira.service.JiraSyncScheduler;
+import com.rdapp.deploy.jira.service.SyncLeadership;
 import com.rdapp.deploy.jira.service.JiraSyncService;
+import com.rdapp.deploy.jira.service.JiraWebhookService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
 /**
  * Endpoints Jira sync.
  *
- * POST /v1/jira/sync/squad/{squadId}         → Sync sprint pour une escouade
- * POST /v1/jira/sync/all                      → Sync toutes les escouades
+ * POST /v1/jira/sync/squad/{squadId}         → Sync sprint pour une escouade (?full=true : sync complète)
+ * POST /v1/jira/sync/all                      → Job de sync de toutes les escouades (202 + jobId)
+ * GET  /v1/jira/sync/jobs/{jobId}            → Bilan du job
+ * GET  /v1/jira/sync/jobs/{jobId}/events     → Progression par escouade (SSE)
  * POST /v1/jira/sync/versions/{projectKey}    → Sync Affect Versions
  * GET  /v1/jira/sprints/squad/{squadId}       → Sprints synchronisés
  * GET  /v1/jira/sprints/squad/{squadId}/active → Sprint actif
  * GET  /v1/jira/status                        → Status connexion Jira
+ * GET  /v1/jira/scheduler                     → Échéances du scheduler adaptatif
+ * GET  /v1/jira/cluster                       → Nœud courant, leader et membres des syncs
+ * POST /v1/jira/webhook?secret=…              → Webhook Jira DC (issue_*, sprint_started/closed)
  */
 @RestController
 @RequestMapping("/v1/jira")
@@ -30,26 +42,42 @@ import java.util.List;
 public class JiraSyncController {
 
     private final JiraSyncService syncService;
+    private final JiraSyncJobService jobService;
+    private final JiraSyncScheduler scheduler;
+    private final SyncLeadership leadership;
     private final JiraProperties jiraProps;
-    private final JiraClient jiraClient;
+    private final JiraHealthMonitor healthMonitor;
+    private final JiraWebhookService webhookService;
 
     // ══════════════════════════════════════════
     // Sync
     // ══════════════════════════════════════════
 
     @PostMapping("/sync/squad/{squadId}")
-    public SyncResultResponse syncSquad(@PathVariable String squadId) {
-        log.info("API → sync sprint for squad {}", squadId);
-        var result = syncService.syncSquadSprint(squadId);
+    public SyncResultResponse syncSquad(@PathVariable String squadId,
+                                        @RequestParam(defaultValue = "false") boolean full) {
+        log.info("API → sync sprint for squad {} (full={})", squadId, full);
+        var result = syncService.syncSquadSprint(squadId, full);
         return mapSyncResult(result);
     }
 
+    /** Lance la sync en arrière-plan ; suivre via /sync/jobs/{jobId}[/events]. */
     @PostMapping("/sync/all")
-    public List<SyncResultResponse> syncAll() {
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public SyncJobResponse syncAll() {
         log.info("API → sync all squads");
-        return syncService.syncAllSquads().stream()
-                .map(this::mapSyncResult)
-                .toList();
+        return jobService.startAll();
+    }
+
+    @GetMapping("/sync/jobs/{jobId}")
+    public SyncJobResponse getSyncJob(@PathVariable String jobId) {
+        return jobService.get(jobId);
+    }
+
+    /** Événements « squad » (SquadSyncSummary) à chaque escouade terminée, puis « done » (SyncJobResponse). */
+    @GetMapping(value = "/sync/jobs/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter getSyncJobEvents(@PathVariable String jobId) {
+        return jobService.events(jobId);
     }
 
     @PostMapping("/sync/versions/{projectKey}")
@@ -65,6 +93,18 @@ public class JiraSyncController {
                 .build();
     }
 
+    // ══════════════════════════════════════════
+    // Webhook
+    // ══════════════════════════════════════════
+
+    /** Accusé immédiat ; deltas appliqués par lots coalescés (JiraWebhookService). */
+    @PostMapping("/webhook")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public void webhook(@RequestParam(required = false) String secret, @RequestBody JsonNode payload) {
+        log.debug("API → webhook Jira {}", payload.path("webhookEvent").asText());
+        webhookService.accept(secret, payload);
+    }
+
     // ══════════════════════════════════════════
     // Read (données locales synchronisées)
     // ══════════════════════════════════════════
@@ -94,30 +134,36 @@ public class JiraSyncController {
     // Jira status
     // ══════════════════════════════════════════
 
+    /** État servi depuis la sonde en arrière-plan (JiraHealthMonitor), sans appel Jira. */
     @GetMapping("/status")
     public JiraStatusResponse getJiraStatus() {
-        var response = JiraStatusResponse.builder()
-                .configured(jiraProps.isConfigured())
+        var health = healthMonitor.current();
+        return JiraStatusResponse.builder()
+                .configured(health.configured())
+                .connected(health.connected())
                 .baseUrl(jiraProps.getBaseUrl())
                 .authType(jiraProps.getAuthType())
+                .error(health.lastError())
+                .state(health.status().name())
+                .serverVersion(health.serverVersion())
+                .latencyMs(health.lastLatencyMs())
+                .avgLatencyMs(health.avgLatencyMs())
+                .errorRate(health.errorRate())
+                .breakerState(health.breakerState())
+                .lastCheckedAt(health.lastCheckedAt())
+                .lastSuccessAt(health.lastSuccessAt())
                 .build();
+    }
+
+    /** Escouades par prochaine échéance, intervalle et rythme de changements observé. */
+    @GetMapping("/scheduler")
+    public List<JiraSyncScheduler.Entry> getScheduler() {
+        return scheduler.snapshot();
+    }
 
-        if (jiraProps.isConfigured()) {
-            try {
-                // Test de connexion — chercher un board quelconque
-                jiraClient.findBoardByName("test-connection-" + System.currentTimeMillis());
-                response.setConnected(true);
-            } catch (Exception e) {
-                // Si 404 = connecté mais board pas trouvé → OK
-                if (e.getMessage() != null && e.getMessage().contains("non trouvé")) {
-                    response.setConnected(true);
-                } else {
-                    response.setConnected(false);
-                    response.setError(e.getMessage());
-                }
-            }
-        }
-        return response;
+    @GetMapping("/cluster")
+    public SyncLeadership.State getCluster() {
+        return leadership.state();
     }
 
     // ══════════════════════════════════════════
@@ -137,6 +183,8 @@ public class JiraSyncController {
                 .futureSprints(r.getFutureSprints() != null
                         ? r.getFutureSprints().stream().map(this::mapSprint).toList()
                         : List.of())
+                .mode(r.getMode())
+                .changedIssues(r.getChangedIssues())
                 .error(r.getError())
                 .syncedAt(r.getSyncedAt())
                 .build();
@@ -160,6 +208,10 @@ public class JiraSyncController {
                 .totalStoryPoints(s.getTotalStoryPoints())
                 .doneStoryPoints(s.getDoneStoryPoints())
                 .completionPercent(s.getCompletionPercent())
+                .puntedIssues(s.getPuntedIssues())
+                .puntedStoryPoints(s.getPuntedStoryPoints())
+                .addedIssues(s.getAddedIssues())
+                .completedElsewhereIssues(s.getCompletedElsewhereIssues())
                 .issues(s.getIssues() != null
                         ? s.getIssues().stream().map(this::mapIssue).toList()
                         : List.of())
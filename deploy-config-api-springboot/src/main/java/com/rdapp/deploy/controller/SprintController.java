@@ -2,6 +2,7 @@ package com.rdapp.deploy.controller;
 
 import com.rdapp.deploy.model.AffectVersionInfo;
 import com.rdapp.deploy.model.SprintGlobalResponse;
+import com.rdapp.deploy.service.SprintCacheBus;
 import com.rdapp.deploy.service.SprintCacheService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -16,9 +17,11 @@ import java.util.List;
 public class SprintController {
 
     private final SprintCacheService cacheService;
+    private final SprintCacheBus cacheBus;
 
-    public SprintController(SprintCacheService cacheService) {
+    public SprintController(SprintCacheService cacheService, SprintCacheBus cacheBus) {
         this.cacheService = cacheService;
+        this.cacheBus = cacheBus;
     }
 
     /**
@@ -40,7 +43,7 @@ public class SprintController {
     @PostMapping("/refresh")
     public ResponseEntity<Void> forceRefresh() {
         log.info("POST /api/sprint/refresh - Forcing cache refresh");
-        cacheService.forceRefresh();
+        cacheBus.publishAll();
         return ResponseEntity.ok().build();
     }
 
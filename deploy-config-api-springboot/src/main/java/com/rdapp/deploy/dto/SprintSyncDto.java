@@ -3,6 +3,7 @@ package com.rdapp.deploy.dto;
 import lombok.*;
 
 import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
 import java.util.List;
 
 public final class SprintSyncDto {
@@ -29,6 +30,11 @@ public final class SprintSyncDto {
         private Double totalStoryPoints;
         private Double doneStoryPoints;
         private Double completionPercent;
+        /** Résumé du sprint report (sprints fermés, jira.closed-sprint-report) */
+        private Integer puntedIssues;
+        private Double puntedStoryPoints;
+        private Integer addedIssues;
+        private Integer completedElsewhereIssues;
         private List<IssueResponse> issues;
         private LocalDateTime syncedAt;
     }
@@ -60,6 +66,49 @@ public final class SprintSyncDto {
         private SprintResponse activeSprint;
         private List<SprintResponse> closedSprints;
         private List<SprintResponse> futureSprints;
+        /** full | incremental */
+        private String mode;
+        private Integer changedIssues;
+        private String error;
+        private LocalDateTime syncedAt;
+    }
+
+    // ── Sync job (POST /v1/jira/sync/all) ──
+
+    @Getter @Setter @Builder @NoArgsConstructor @AllArgsConstructor
+    public static class SyncJobResponse {
+        private String jobId;
+        /** RUNNING | COMPLETED | FAILED */
+        private String status;
+        private LocalDateTime startedAt;
+        private LocalDateTime finishedAt;
+        private Long durationMs;
+        /** Escouades à synchroniser (null tant que la liste n'est pas chargée) */
+        private Integer totalSquads;
+        private int completedSquads;
+        private int failedSquads;
+        /** Erreur globale (Jira non configuré…) ; les erreurs par escouade sont dans squads */
+        private String error;
+        private List<SquadSyncSummary> squads;
+    }
+
+    /** Bilan compact d'une escouade : compteurs et durées, sans sprints ni issues. */
+    @Getter @Setter @Builder @NoArgsConstructor @AllArgsConstructor
+    public static class SquadSyncSummary {
+        private String squadId;
+        private String squadName;
+        private Long boardId;
+        private String boardName;
+        /** full | incremental */
+        private String mode;
+        private Long activeSprintId;
+        private String activeSprintName;
+        private Integer activeIssues;
+        private int closedSprints;
+        private int futureSprints;
+        private Integer changedIssues;
+        private Long fetchMs;
+        private Long writeMs;
         private String error;
         private LocalDateTime syncedAt;
     }
@@ -84,5 +133,13 @@ public final class SprintSyncDto {
         private String baseUrl;
         private String authType;
         private String error;
+        private String state;             // UP, DEGRADED, DOWN, UNKNOWN
+        private String serverVersion;
+        private Long latencyMs;           // dernière sonde
+        private Long avgLatencyMs;
+        private Double errorRate;         // sur la fenêtre de sondes
+        private String breakerState;
+        private OffsetDateTime lastCheckedAt;
+        private OffsetDateTime lastSuccessAt;
     }
 }
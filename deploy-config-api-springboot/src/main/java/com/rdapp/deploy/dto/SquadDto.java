@@ -67,6 +67,10 @@ public final class SquadDto {
         private String name;
         private String color;
         private String boardId;
+        private Long jiraBoardId;        // board résolu (null si non résolu ou introuvable)
+        private String jiraBoardName;
+        private String jiraBoardType;    // scrum, kanban
+        private String jiraProjectKey;
         private List<MemberResponse> members;
         private LocalDateTime createdAt;
         private LocalDateTime updatedAt;
@@ -3,6 +3,8 @@ package com.rdapp.deploy.entity;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.OffsetDateTime;
+
 @Entity
 @Table(name = "sprint_issue")
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
@@ -54,12 +56,13 @@ public class SprintIssue {
     @Column(name = "affect_version", length = 50)
     private String affectVersion;
 
-    @Column(name = "created_at", length = 30)
-    private String createdAt;
+    /** Dates Jira — TIMESTAMP WITH TIME ZONE (changeset 8), parsées par JiraDateParser */
+    @Column(name = "created_at")
+    private OffsetDateTime createdAt;
 
-    @Column(name = "updated_at", length = 30)
-    private String updatedAt;
+    @Column(name = "updated_at")
+    private OffsetDateTime updatedAt;
 
-    @Column(name = "resolution_date", length = 30)
-    private String resolutionDate;
+    @Column(name = "resolution_date")
+    private OffsetDateTime resolutionDate;
 }
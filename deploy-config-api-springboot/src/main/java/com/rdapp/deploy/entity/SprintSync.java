@@ -6,6 +6,7 @@ import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -69,6 +70,24 @@ public class SprintSync {
     @Column(name = "done_story_points")
     private Double doneStoryPoints;
 
+    /** Résumé du sprint report (sprints fermés, jira.closed-sprint-report) — null sinon */
+    @Column(name = "punted_issues")
+    private Integer puntedIssues;
+
+    @Column(name = "punted_story_points")
+    private Double puntedStoryPoints;
+
+    /** Issues ajoutées après le démarrage du sprint */
+    @Column(name = "added_issues")
+    private Integer addedIssues;
+
+    /** Issues du sprint terminées dans un autre sprint */
+    @Column(name = "completed_elsewhere_issues")
+    private Integer completedElsewhereIssues;
+
+    @Column(name = "report_synced_at")
+    private OffsetDateTime reportSyncedAt;
+
     @OneToMany(mappedBy = "sprintSync", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     @Builder.Default
     private List<SprintIssue> issues = new ArrayList<>();
@@ -93,6 +112,14 @@ public class SprintSync {
         issues.clear();
     }
 
+    public void clearReport() {
+        puntedIssues = null;
+        puntedStoryPoints = null;
+        addedIssues = null;
+        completedElsewhereIssues = null;
+        reportSyncedAt = null;
+    }
+
     public double getCompletionPercent() {
         if (totalIssues == null || totalIssues == 0) return 0;
         return (doneIssues != null ? doneIssues : 0) * 100.0 / totalIssues;
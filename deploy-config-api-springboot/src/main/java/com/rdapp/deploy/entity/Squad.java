@@ -6,8 +6,10 @@ import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 @Entity
 @Table(name = "squad")
@@ -26,6 +28,30 @@ public class Squad {
     @Column(name = "board_id", length = 50)
     private String boardId;
 
+    /** High-water mark de la sync Jira incrémentale : max(updated) des issues déjà intégrées */
+    @Column(name = "jira_sync_mark")
+    private OffsetDateTime jiraSyncMark;
+
+    /** Dernière sync complète (réconciliation périodique) */
+    @Column(name = "jira_full_sync_at")
+    private OffsetDateTime jiraFullSyncAt;
+
+    /** Board Jira résolu depuis boardId (id null + resolvedAt = board introuvable) */
+    @Column(name = "jira_board_id")
+    private Long jiraBoardId;
+
+    @Column(name = "jira_board_name")
+    private String jiraBoardName;
+
+    @Column(name = "jira_board_type", length = 20)
+    private String jiraBoardType;
+
+    @Column(name = "jira_project_key", length = 50)
+    private String jiraProjectKey;
+
+    @Column(name = "jira_board_resolved_at")
+    private OffsetDateTime jiraBoardResolvedAt;
+
     @OneToMany(mappedBy = "squad", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     @Builder.Default
     private List<SquadMember> members = new ArrayList<>();
@@ -48,4 +74,41 @@ public class Squad {
         members.remove(member);
         member.setSquad(null);
     }
+
+    /**
+     * Change de board ; un nouveau board repart d'une sync Jira complète
+     * et doit être résolu à nouveau.
+     *
+     * @return true si le board a changé
+     */
+    public boolean changeBoardId(String newBoardId) {
+        boolean changed = !Objects.equals(boardId, newBoardId);
+        if (changed) {
+            jiraSyncMark = null;
+            jiraFullSyncAt = null;
+            jiraBoardId = null;
+            jiraBoardName = null;
+            jiraBoardType = null;
+            jiraProjectKey = null;
+            jiraBoardResolvedAt = null;
+        }
+        boardId = newBoardId;
+        return changed;
+    }
+
+    public void resolveJiraBoard(long id, String name, String type, String projectKey) {
+        jiraBoardId = id;
+        jiraBoardName = name;
+        jiraBoardType = type;
+        jiraProjectKey = projectKey;
+        jiraBoardResolvedAt = OffsetDateTime.now();
+    }
+
+    public void markJiraBoardNotFound() {
+        jiraBoardId = null;
+        jiraBoardName = null;
+        jiraBoardType = null;
+        jiraProjectKey = null;
+        jiraBoardResolvedAt = OffsetDateTime.now();
+    }
 }
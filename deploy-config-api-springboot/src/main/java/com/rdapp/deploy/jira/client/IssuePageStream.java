@@ -0,0 +1,121 @@
+package com.rdapp.deploy.jira.client;
+
+import com.rdapp.deploy.jira.dto.JiraDtos.IssueRow;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+/**
+ * Pages d'issues produites en arrière-plan (virtual threads) et consommées au fil
+ * de l'eau par l'appelant : file bornée entre les fetchers Jira et la répartition
+ * par sprint. Le recouvrement porte sur le fetch et le décodage ; l'écriture en base
+ * vient après, en une transaction par escouade (JiraSyncService.persist).
+ *
+ * Un fetcher bloque quand la file est pleine (au plus capacité + fetchers pages
+ * en mémoire). Une erreur de fetch est relancée par {@link #next()} ;
+ * {@link #close()} interrompt les fetchers encore en vol.
+ */
+public final class IssuePageStream implements AutoCloseable {
+
+    private final BlockingQueue<Item> queue;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private boolean done;
+
+    IssuePageStream(int capacity) {
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+    }
+
+    /**
+     * Page suivante, dans l'ordre d'arrivée (pas forcément celui des offsets).
+     *
+     * @return null en fin de flux
+     */
+    public List<IssueRow> next() {
+        if (done) return null;
+        Item item;
+        try {
+            item = queue.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw interrupted();
+        }
+        if (item.error() != null) {
+            done = true;
+            throw item.error();
+        }
+        if (item.rows() == null) {
+            done = true;
+            return null;
+        }
+        return item.rows();
+    }
+
+    @Override
+    public void close() {
+        done = true;
+        executor.shutdownNow();
+        queue.clear();
+    }
+
+    // ══════════════════════════════════════════
+    // Production (JiraClient)
+    // ══════════════════════════════════════════
+
+    /** Lance le producteur ; fin de flux (ou son erreur) publiée à son retour. */
+    void start(Runnable producer) {
+        executor.submit(() -> {
+            try {
+                producer.run();
+                put(new Item(null, null));
+            } catch (RuntimeException e) {
+                put(new Item(null, e));
+            }
+        });
+    }
+
+    void publish(List<IssueRow> rows) {
+        put(new Item(rows, null));
+    }
+
+    /** {@code workers} exécutions parallèles de {@code task} ; attend leur fin, relance la 1re erreur. */
+    void fork(int workers, Runnable task) {
+        var futures = IntStream.range(0, workers).mapToObj(i -> executor.submit(task)).toList();
+        for (var future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw interrupted();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException re) throw re;
+                throw new ResponseStatusException(HttpStatus.BAD_GATEWAY,
+                        "Erreur de communication avec Jira: " + e.getCause().getMessage());
+            }
+        }
+    }
+
+    // ── Helpers ──
+
+    private void put(Item item) {
+        try {
+            queue.put(item);
+        } catch (InterruptedException e) {
+            // Flux fermé par le consommateur : plus personne ne lit
+            Thread.currentThread().interrupt();
+            throw interrupted();
+        }
+    }
+
+    private static ResponseStatusException interrupted() {
+        return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Appel Jira interrompu");
+    }
+
+    private record Item(List<IssueRow> rows, RuntimeException error) {}
+}
@@ -0,0 +1,314 @@
+package com.rdapp.deploy.jira.client;
+
+import com.rdapp.deploy.jira.config.JiraProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientResponseException;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Point de passage unique des appels Jira.
+ *
+ * Par tentative :
+ *   1. Circuit breaker — ouvert après failureThreshold échecs consécutifs (tout 5xx, réseau) :
+ *      échec immédiat (503) pendant openDurationMs, puis un seul appel d'essai (half-open)
+ *   2. Budget         — token bucket requestsPerMinute partagé ; attente ≤ budgetWaitMs sinon 503
+ *   3. Concurrence    — jira.max-concurrent-requests requêtes en vol (permit relâché pendant le backoff)
+ *
+ * Retry uniquement sur erreur retryable (réseau, 408, 429, 502, 503, 504) avec backoff
+ * exponentiel « full jitter » ; un Retry-After est respecté, ou fait échouer l'appel
+ * immédiatement s'il dépasse maxBackoffMs. Les autres 4xx ne sont jamais rejoués.
+ *
+ * Métriques : jira.calls{outcome}, jira.backoff, jira.breaker.state, jira.breaker.transitions{to},
+ *             jira.budget.remaining, jira.requests.in.flight
+ */
+@Component
+@Slf4j
+public final class JiraCallGovernor {
+
+    private final JiraProperties props;
+    private final JiraProperties.Governor config;
+    private final MeterRegistry registry;
+    private final Semaphore inFlight;
+    private final int maxInFlight;
+    private final Timer backoffTimer;
+
+    // Circuit breaker
+    private BreakerState state = BreakerState.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    // Budget
+    private double tokens;
+    private long lastRefill = System.nanoTime();
+
+    public JiraCallGovernor(JiraProperties props, MeterRegistry registry) {
+        this.props = props;
+        this.config = props.getGovernor();
+        this.registry = registry;
+        this.maxInFlight = Math.max(1, props.getMaxConcurrentRequests());
+        this.inFlight = new Semaphore(maxInFlight, true);
+        this.tokens = config.getRequestsPerMinute();
+        this.backoffTimer = Timer.builder("jira.backoff").register(registry);
+        Gauge.builder("jira.breaker.state", this, g -> g.breakerState().ordinal())
+                .description("0=closed, 1=half-open, 2=open")
+                .register(registry);
+        Gauge.builder("jira.budget.remaining", this, JiraCallGovernor::remainingBudget).register(registry);
+        Gauge.builder("jira.requests.in.flight", inFlight, s -> maxInFlight - s.availablePermits()).register(registry);
+    }
+
+    /**
+     * Exécute {@code call} sous la politique du gouverneur.
+     *
+     * @throws ResponseStatusException 503 (circuit ouvert, budget épuisé, interruption)
+     *                                 ou 502 (échec Jira définitif)
+     */
+    public <T> T execute(Supplier<T> call) {
+        RuntimeException lastException = null;
+        for (int attempt = 1; attempt <= Math.max(1, props.getMaxRetries()); attempt++) {
+            acquireBudget();
+            boolean trial;
+            try {
+                trial = admit();
+            } catch (ResponseStatusException rejected) {
+                releaseToken();
+                throw rejected;
+            }
+            try {
+                T result = withPermit(call);
+                onSuccess(trial);
+                registry.counter("jira.calls", "outcome", "success").increment();
+                return result;
+            } catch (RuntimeException ex) {
+                lastException = ex;
+                // Disponibilité (circuit) et retry sont deux classifications distinctes :
+                // un 500 n'est pas rejoué mais compte comme échec
+                if (countsAsFailure(ex)) onFailure(trial);
+                else onNeutral(trial);
+                if (!isRetryable(ex)) {
+                    registry.counter("jira.calls", "outcome", "failure").increment();
+                    throw translate(ex);
+                }
+
+                if (attempt >= props.getMaxRetries()) break;
+                long delayMs = backoffMs(attempt, ex);
+                if (delayMs < 0) {
+                    log.warn("Jira Retry-After au-delà de {}ms — abandon", config.getMaxBackoffMs());
+                    break;
+                }
+                registry.counter("jira.calls", "outcome", "retry").increment();
+                log.warn("Jira call failed (attempt {}/{}), retry dans {}ms: {}",
+                        attempt, props.getMaxRetries(), delayMs, ex.getMessage());
+                sleep(delayMs);
+            }
+        }
+        registry.counter("jira.calls", "outcome", "failure").increment();
+        log.error("Jira call failed after {} attempts: {}", props.getMaxRetries(),
+                lastException != null ? lastException.getMessage() : "unknown");
+        throw translate(lastException);
+    }
+
+    public synchronized BreakerState breakerState() {
+        if (state == BreakerState.OPEN && elapsedSinceOpenMs() >= config.getOpenDurationMs()) {
+            return BreakerState.HALF_OPEN;
+        }
+        return state;
+    }
+
+    // ══════════════════════════════════════════
+    // Circuit breaker
+    // ══════════════════════════════════════════
+
+    /** @return true si l'appel est l'appel d'essai half-open */
+    private synchronized boolean admit() {
+        if (state == BreakerState.OPEN) {
+            if (elapsedSinceOpenMs() < config.getOpenDurationMs()) throw rejected("circuit ouvert");
+            transition(BreakerState.HALF_OPEN);
+        }
+        if (state == BreakerState.HALF_OPEN) {
+            if (trialInFlight) throw rejected("circuit half-open, essai en cours");
+            trialInFlight = true;
+            return true;
+        }
+        return false;
+    }
+
+    private synchronized void onSuccess(boolean trial) {
+        consecutiveFailures = 0;
+        if (trial) trialInFlight = false;
+        if (state != BreakerState.CLOSED) transition(BreakerState.CLOSED);
+    }
+
+    private synchronized void onFailure(boolean trial) {
+        if (trial) trialInFlight = false;
+        consecutiveFailures++;
+        if (state == BreakerState.HALF_OPEN || consecutiveFailures >= config.getFailureThreshold()) {
+            openedAt = System.nanoTime();
+            if (state != BreakerState.OPEN) transition(BreakerState.OPEN);
+        }
+    }
+
+    /** 4xx / 429 : Jira répond, le circuit n'est pas concerné. */
+    private synchronized void onNeutral(boolean trial) {
+        if (!trial) return;
+        trialInFlight = false;
+        consecutiveFailures = 0;
+        transition(BreakerState.CLOSED);
+    }
+
+    private void transition(BreakerState to) {
+        log.warn("Jira circuit breaker {} → {}", state, to);
+        state = to;
+        registry.counter("jira.breaker.transitions", "to", to.name().toLowerCase()).increment();
+    }
+
+    private long elapsedSinceOpenMs() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - openedAt);
+    }
+
+    // ══════════════════════════════════════════
+    // Budget (token bucket par minute)
+    // ══════════════════════════════════════════
+
+    private void acquireBudget() {
+        long waitNanos = reserveToken();
+        if (waitNanos <= 0) return;
+        if (TimeUnit.NANOSECONDS.toMillis(waitNanos) > config.getBudgetWaitMs()) {
+            releaseToken();
+            throw rejected("budget de requêtes épuisé");
+        }
+        sleep(TimeUnit.NANOSECONDS.toMillis(waitNanos) + 1);
+    }
+
+    /** Réserve un jeton (solde éventuellement négatif) ; retourne l'attente jusqu'à sa disponibilité. */
+    private synchronized long reserveToken() {
+        refill();
+        tokens -= 1;
+        return tokens >= 0 ? 0 : (long) Math.ceil(-tokens / tokensPerNano());
+    }
+
+    private synchronized void releaseToken() {
+        tokens += 1;
+    }
+
+    private synchronized double remainingBudget() {
+        refill();
+        return Math.max(0, tokens);
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(config.getRequestsPerMinute(), tokens + (now - lastRefill) * tokensPerNano());
+        lastRefill = now;
+    }
+
+    private double tokensPerNano() {
+        return Math.max(1, config.getRequestsPerMinute()) / (double) TimeUnit.MINUTES.toNanos(1);
+    }
+
+    // ══════════════════════════════════════════
+    // Retry policy
+    // ══════════════════════════════════════════
+
+    private static boolean isRetryable(RuntimeException ex) {
+        if (ex instanceof ResourceAccessException) return true;
+        if (ex instanceof RestClientResponseException re) {
+            int status = re.getStatusCode().value();
+            return status == 408 || status == 429 || status == 502 || status == 503 || status == 504;
+        }
+        return false;
+    }
+
+    /**
+     * Indisponibilité de Jira (réseau, tout 5xx, rejoué ou non) — les 4xx, dont le
+     * throttling 429/408, n'ouvrent pas le circuit.
+     */
+    private static boolean countsAsFailure(RuntimeException ex) {
+        return ex instanceof ResourceAccessException
+                || ex instanceof RestClientResponseException re && re.getStatusCode().is5xxServerError();
+    }
+
+    /** @return délai avant la prochaine tentative, ou -1 si Retry-After dépasse maxBackoffMs */
+    private long backoffMs(int attempt, RuntimeException ex) {
+        long cap = Math.min(config.getMaxBackoffMs(), (long) props.getRetryDelayMs() << Math.min(attempt - 1, 20));
+        long delay = ThreadLocalRandom.current().nextLong(Math.max(1, cap) + 1);
+
+        var retryAfter = retryAfterMs(ex);
+        if (retryAfter > config.getMaxBackoffMs()) return -1;
+        return Math.max(delay, retryAfter);
+    }
+
+    /** Retry-After en secondes ou date HTTP ; 0 si absent ou illisible. */
+    private static long retryAfterMs(RuntimeException ex) {
+        if (!(ex instanceof RestClientResponseException re) || re.getResponseHeaders() == null) return 0;
+        var value = re.getResponseHeaders().getFirst(HttpHeaders.RETRY_AFTER);
+        if (value == null || value.isBlank()) return 0;
+        try {
+            return Math.max(0, Long.parseLong(value.trim()) * 1000);
+        } catch (NumberFormatException e) {
+            try {
+                var at = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+                return Math.max(0, Duration.between(ZonedDateTime.now(at.getZone()), at).toMillis());
+            } catch (DateTimeParseException ignored) {
+                return 0;
+            }
+        }
+    }
+
+    // ── Helpers ──
+
+    private <T> T withPermit(Supplier<T> call) {
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw rejected("appel interrompu");
+        }
+        try {
+            return call.get();
+        } finally {
+            inFlight.release();
+        }
+    }
+
+    private void sleep(long millis) {
+        long start = System.nanoTime();
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw rejected("appel interrompu");
+        } finally {
+            backoffTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private ResponseStatusException rejected(String reason) {
+        registry.counter("jira.calls", "outcome", "rejected").increment();
+        return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Jira indisponible: " + reason);
+    }
+
+    private static ResponseStatusException translate(RuntimeException ex) {
+        if (ex instanceof ResponseStatusException rse) return rse;
+        return new ResponseStatusException(HttpStatus.BAD_GATEWAY,
+                "Erreur de communication avec Jira: " + (ex != null ? ex.getMessage() : "unknown"));
+    }
+
+    public enum BreakerState { CLOSED, HALF_OPEN, OPEN }
+}
@@ -8,10 +8,18 @@ import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientResponseException;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 /**
  * Client REST pour Jira Data Center.
@@ -22,6 +30,9 @@ import java.util.List;
  *   Agile /rest/agile/1.0/sprint/{sprintId}/issue               → Issues du sprint
  *   REST  /rest/api/2/project/{projectKey}/versions              → Versions du projet
  *   REST  /rest/api/2/search?jql=...                             → JQL search
+ *
+ * Appels concurrents identiques coalescés : @Cacheable(sync = true) pour les
+ * lectures en cache, {@link SingleFlight} pour les recherches d'issues.
  */
 @Component
 @Slf4j
@@ -29,17 +40,23 @@ public class JiraClient {
 
     private final RestClient restClient;
     private final JiraProperties props;
+    private final JiraCallGovernor governor;
+    private final JiraIssueDecoder issueDecoder;
+    private final SingleFlight<String, JiraIssueDecoder.IssuePage> searchFlights = new SingleFlight<>("jql-search");
 
-    public JiraClient(RestClient jiraRestClient, JiraProperties props) {
+    public JiraClient(RestClient jiraRestClient, JiraProperties props, JiraCallGovernor governor,
+                      JiraIssueDecoder issueDecoder) {
         this.restClient = jiraRestClient;
         this.props = props;
+        this.governor = governor;
+        this.issueDecoder = issueDecoder;
     }
 
     // ══════════════════════════════════════════
     // Board
     // ══════════════════════════════════════════
 
-    @Cacheable(value = "jira-boards", key = "#boardId")
+    @Cacheable(value = "jira-boards", key = "#boardId", sync = true)
     public JiraBoard getBoard(long boardId) {
         log.debug("Jira → GET board {}", boardId);
         return callWithRetry(() ->
@@ -54,7 +71,7 @@ public class JiraClient {
      * Cherche un board par son nom (ex: "BPMN-42").
      * Retourne le premier résultat correspondant.
      */
-    @Cacheable(value = "jira-boards", key = "'name:' + #boardName")
+    @Cacheable(value = "jira-boards", key = "'name:' + #boardName", sync = true)
     public JiraBoard findBoardByName(String boardName) {
         log.debug("Jira → search board name={}", boardName);
         var result = callWithRetry(() ->
@@ -77,7 +94,7 @@ public class JiraClient {
     /**
      * Liste tous les sprints d'un board (paginé automatiquement).
      */
-    @Cacheable(value = "jira-sprints", key = "#boardId")
+    @Cacheable(value = "jira-sprints", key = "#boardId", sync = true)
     public List<JiraSprint> getSprintsForBoard(long boardId) {
         log.debug("Jira → GET sprints for board {}", boardId);
         return fetchAllPaged(
@@ -123,7 +140,7 @@ public class JiraClient {
                 .toList();
     }
 
-    @Cacheable(value = "jira-sprint-detail", key = "#sprintId")
+    @Cacheable(value = "jira-sprint-detail", key = "#sprintId", sync = true)
     public JiraSprint getSprint(long sprintId) {
         log.debug("Jira → GET sprint {}", sprintId);
         return callWithRetry(() ->
@@ -134,6 +151,21 @@ public class JiraClient {
         );
     }
 
+    /**
+     * Sprint report d'un sprint (API greenhopper) : issues terminées, non terminées,
+     * retirées, ajoutées en cours de sprint et sommes d'estimations, en un appel.
+     */
+    public SprintReport getSprintReport(long boardId, long sprintId) {
+        log.debug("Jira → GET sprint report board={} sprint={}", boardId, sprintId);
+        return callWithRetry(() ->
+                restClient.get()
+                        .uri("/rest/greenhopper/1.0/rapid/charts/sprintreport?rapidViewId={board}&sprintId={sprint}",
+                                boardId, sprintId)
+                        .retrieve()
+                        .body(SprintReport.class)
+        );
+    }
+
     // ══════════════════════════════════════════
     // Issues
     // ══════════════════════════════════════════
@@ -141,25 +173,79 @@ public class JiraClient {
     /**
      * Récupère toutes les issues d'un sprint (paginé).
      */
-    @Cacheable(value = "jira-sprint-issues", key = "#sprintId")
-    public List<JiraIssue> getSprintIssues(long sprintId) {
+    @Cacheable(value = "jira-sprint-issues", key = "#sprintId", sync = true)
+    public List<IssueRow> getSprintIssues(long sprintId) {
         log.debug("Jira → GET issues for sprint {}", sprintId);
         return fetchAllSprintIssues(sprintId);
     }
 
     /**
-     * Recherche JQL libre.
+     * Issues de plusieurs sprints en une seule recherche paginée
+     * {@code sprint in (a,b,c)}, livrées page par page au fil des réponses : le
+     * consommateur traite une page pendant que les suivantes sont en vol.
+     * Chaque issue porte ses sprints (champ Sprint) pour la répartition locale ;
+     * si Jira ne les renvoie pas (jira.sprint-field erroné), repli côté appelant
+     * sur {@link #getSprintIssues}.
+     *
+     * File bornée à jira.pipeline-queue-pages pages. À fermer (try-with-resources).
      */
-    public List<JiraIssue> searchIssues(String jql, int maxResults) {
-        log.debug("Jira → JQL search: {}", jql);
-        var result = callWithRetry(() ->
-                restClient.get()
-                        .uri("/rest/api/2/search?jql={jql}&maxResults={max}&fields=summary,status,issuetype,priority,assignee,creator,customfield_10016,fixVersions,components,created,updated,resolutiondate",
-                                jql, maxResults)
-                        .retrieve()
-                        .body(IssueSearchResult.class)
-        );
-        return result != null && result.getIssues() != null ? result.getIssues() : List.of();
+    public IssuePageStream streamIssuesForSprints(Collection<Long> sprintIds) {
+        var stream = new IssuePageStream(props.getPipelineQueuePages());
+        if (sprintIds.isEmpty()) {
+            stream.start(() -> {});
+            return stream;
+        }
+
+        var jql = "sprint in (" + sprintIds.stream().map(String::valueOf).collect(Collectors.joining(","))
+                + ") ORDER BY key ASC";
+        log.debug("Jira → JQL batch issues for sprints {} (pipeline)", sprintIds);
+        stream.start(() -> streamAllPages("sprints " + sprintIds, stream, (start, size) -> {
+            var result = callWithRetry(() -> getIssuePage(
+                    "/rest/api/2/search?jql={jql}&startAt={start}&maxResults={max}&fields={fields}",
+                    jql, start, size, issueDecoder.fields())
+            );
+            return new Page<>(result.issues(), result.total(), false);
+        }));
+        return stream;
+    }
+
+    /**
+     * Recherche JQL libre : première page (au plus maxResults issues) et total Jira
+     * de la JQL. Les recherches identiques concurrentes partagent un seul appel.
+     */
+    public JiraIssueDecoder.IssuePage searchIssues(String jql, int maxResults) {
+        return searchFlights.run(maxResults + "|" + jql, () -> {
+            log.debug("Jira → JQL search: {}", jql);
+            return callWithRetry(() -> getIssuePage(
+                    "/rest/api/2/search?jql={jql}&maxResults={max}&fields={fields}",
+                    jql, maxResults, issueDecoder.fields())
+            );
+        });
+    }
+
+    /**
+     * Nombre d'issues d'une JQL sans en rapatrier aucune (maxResults=0) : sonde de changement.
+     */
+    public int countIssues(String jql) {
+        log.debug("Jira → JQL count: {}", jql);
+        return callWithRetry(() -> getIssuePage(
+                "/rest/api/2/search?jql={jql}&maxResults=0&fields=key", jql)
+        ).total();
+    }
+
+    // ══════════════════════════════════════════
+    // Santé
+    // ══════════════════════════════════════════
+
+    /**
+     * Sonde légère : un seul appel, sans retry ni passage par le gouverneur
+     * (ne consomme pas le budget et reflète l'état réel même circuit ouvert).
+     */
+    public JiraServerInfo getServerInfo() {
+        return restClient.get()
+                .uri("/rest/api/2/serverInfo")
+                .retrieve()
+                .body(JiraServerInfo.class);
     }
 
     // ══════════════════════════════════════════
@@ -169,7 +255,7 @@ public class JiraClient {
     /**
      * Récupère les versions (Affect Versions) d'un projet Jira.
      */
-    @Cacheable(value = "jira-versions", key = "#projectKey")
+    @Cacheable(value = "jira-versions", key = "#projectKey", sync = true)
     public List<JiraVersion> getProjectVersions(String projectKey) {
         log.debug("Jira → GET versions for project {}", projectKey);
         return callWithRetry(() ->
@@ -181,77 +267,166 @@ public class JiraClient {
     }
 
     // ══════════════════════════════════════════
-    // Pagination helper (Agile API)
+    // Pagination concurrente
     // ══════════════════════════════════════════
 
     private <T> List<T> fetchAllPaged(String uriTemplate, long id,
                                        ParameterizedTypeReference<PagedResult<T>> typeRef) {
-        var allItems = new ArrayList<T>();
-        int startAt = 0;
-        boolean hasMore = true;
-
-        while (hasMore) {
-            final int offset = startAt;
+        return fetchAllPages(uriTemplate, (start, size) -> {
             var page = callWithRetry(() ->
                     restClient.get()
-                            .uri(uriTemplate + "?startAt={start}&maxResults=50", id, offset)
+                            .uri(uriTemplate + "?startAt={start}&maxResults={max}", id, start, size)
                             .retrieve()
                             .body(typeRef)
             );
-            if (page == null || page.getValues() == null || page.getValues().isEmpty()) break;
-            allItems.addAll(page.getValues());
-            startAt += page.getValues().size();
-            hasMore = !page.isLast() && startAt < page.getTotal();
+            return page == null ? Page.<T>empty()
+                    : new Page<>(page.getValues(), page.getTotal(), page.isLast());
+        });
+    }
+
+    private List<IssueRow> fetchAllSprintIssues(long sprintId) {
+        return fetchAllPages("sprint " + sprintId + " issues", (start, size) -> {
+            var result = callWithRetry(() -> getIssuePage(
+                    "/rest/agile/1.0/sprint/{id}/issue?startAt={start}&maxResults={max}&fields={fields}",
+                    sprintId, start, size, issueDecoder.fields())
+            );
+            return new Page<>(result.issues(), result.total(), false);
+        });
+    }
+
+    /** GET d'une page d'issues décodée en streaming (JiraIssueDecoder). */
+    private JiraIssueDecoder.IssuePage getIssuePage(String uriTemplate, Object... uriVariables) {
+        return restClient.get()
+                .uri(uriTemplate, uriVariables)
+                .exchange((request, response) -> {
+                    if (response.getStatusCode().isError()) {
+                        throw new RestClientResponseException(
+                                response.getStatusCode().value() + " sur " + request.getURI().getPath(),
+                                response.getStatusCode(), response.getStatusText(), response.getHeaders(),
+                                response.getBody().readAllBytes(), null);
+                    }
+                    return issueDecoder.decode(response.getBody());
+                });
+    }
+
+    /**
+     * La 1re page donne {@code total} et la taille de page réellement servie
+     * (Jira plafonne maxResults selon l'endpoint) ; les offsets restants sont
+     * ensuite récupérés en parallèle sur des virtual threads, sous le plafond
+     * {@code jira.max-concurrent-requests}, et fusionnés dans l'ordre des offsets.
+     *
+     * Sans {@code total} (certains endpoints Agile ne renvoient que isLast),
+     * la suite est parcourue séquentiellement.
+     */
+    private <T> List<T> fetchAllPages(String what, PageFetcher<T> fetcher) {
+        long t0 = System.nanoTime();
+        var first = fetcher.fetch(0, props.getPageSize());
+        if (first.items().isEmpty() || first.isLast()
+                || (first.total() > 0 && first.items().size() >= first.total())) return first.items();
+
+        int stride = first.items().size();
+        var all = new ArrayList<T>(Math.max(first.total(), stride));
+        all.addAll(first.items());
+
+        if (first.total() <= 0) {
+            fetchSequential(fetcher, all, stride);
+            return all;
         }
-        return allItems;
+
+        var offsets = new ArrayList<Integer>();
+        for (int start = stride; start < first.total(); start += stride) offsets.add(start);
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var pages = offsets.stream()
+                    .map(start -> executor.submit(() -> fetcher.fetch(start, stride)))
+                    .toList();
+            for (var page : pages) all.addAll(join(page).items());
+        }
+
+        log.debug("Jira pagination {} — {} items, {} pages de {} en {}ms",
+                what, all.size(), offsets.size() + 1, stride, (System.nanoTime() - t0) / 1_000_000);
+        return all;
     }
 
-    private List<JiraIssue> fetchAllSprintIssues(long sprintId) {
-        var allIssues = new ArrayList<JiraIssue>();
-        int startAt = 0;
-        boolean hasMore = true;
+    private <T> void fetchSequential(PageFetcher<T> fetcher, List<T> all, int stride) {
+        while (true) {
+            int start = all.size();
+            var page = fetcher.fetch(start, stride);
+            if (page.items().isEmpty()) return;
+            all.addAll(page.items());
+            if (page.isLast() || page.items().size() < stride
+                    || (page.total() > 0 && all.size() >= page.total())) return;
+        }
+    }
 
-        while (hasMore) {
-            final int offset = startAt;
-            var result = callWithRetry(() ->
-                    restClient.get()
-                            .uri("/rest/agile/1.0/sprint/{id}/issue?startAt={start}&maxResults=50&fields=summary,status,issuetype,priority,assignee,creator,customfield_10016,fixVersions,components,created,updated,resolutiondate",
-                                    sprintId, offset)
-                            .retrieve()
-                            .body(IssueSearchResult.class)
-            );
-            if (result == null || result.getIssues() == null || result.getIssues().isEmpty()) break;
-            allIssues.addAll(result.getIssues());
-            startAt += result.getIssues().size();
-            hasMore = startAt < result.getTotal();
+    /**
+     * Variante streaming de {@link #fetchAllPages} : chaque page est publiée dès
+     * sa réception. Après la 1re, les offsets restants sont répartis entre au plus
+     * {@code jira.max-concurrent-requests} fetchers, qui bloquent quand la file est pleine.
+     */
+    private void streamAllPages(String what, IssuePageStream stream, PageFetcher<IssueRow> fetcher) {
+        long t0 = System.nanoTime();
+        var first = fetcher.fetch(0, props.getPageSize());
+        stream.publish(first.items());
+        if (first.items().isEmpty() || first.isLast()
+                || (first.total() > 0 && first.items().size() >= first.total())) return;
+
+        int stride = first.items().size();
+        if (first.total() <= 0) {
+            for (int start = stride; ; start += stride) {
+                var page = fetcher.fetch(start, stride);
+                if (page.items().isEmpty()) return;
+                stream.publish(page.items());
+                if (page.isLast() || page.items().size() < stride) return;
+            }
+        }
+
+        int total = first.total();
+        int pages = (total - 1) / stride;
+        var next = new AtomicInteger(stride);
+        stream.fork(Math.min(pages, Math.max(1, props.getMaxConcurrentRequests())), () -> {
+            for (int start; (start = next.getAndAdd(stride)) < total; ) {
+                stream.publish(fetcher.fetch(start, stride).items());
+            }
+        });
+
+        log.debug("Jira pagination {} — {} items, {} pages de {} en {}ms (pipeline)",
+                what, total, pages + 1, stride, (System.nanoTime() - t0) / 1_000_000);
+    }
+
+    private static <T> T join(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Appel Jira interrompu");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new ResponseStatusException(HttpStatus.BAD_GATEWAY,
+                    "Erreur de communication avec Jira: " + e.getCause().getMessage());
+        }
+    }
+
+    @FunctionalInterface
+    private interface PageFetcher<T> {
+        Page<T> fetch(int startAt, int maxResults);
+    }
+
+    private record Page<T>(List<T> items, int total, boolean isLast) {
+        Page {
+            items = items != null ? items : List.of();
+        }
+
+        static <T> Page<T> empty() {
+            return new Page<>(List.of(), 0, true);
         }
-        return allIssues;
     }
 
     // ══════════════════════════════════════════
-    // Retry helper
+    // Retry helper (JiraCallGovernor)
     // ══════════════════════════════════════════
 
-    private <T> T callWithRetry(java.util.function.Supplier<T> call) {
-        Exception lastException = null;
-        for (int attempt = 1; attempt <= props.getMaxRetries(); attempt++) {
-            try {
-                return call.get();
-            } catch (Exception ex) {
-                lastException = ex;
-                log.warn("Jira call failed (attempt {}/{}): {}", attempt, props.getMaxRetries(), ex.getMessage());
-                if (attempt < props.getMaxRetries()) {
-                    try {
-                        Thread.sleep((long) props.getRetryDelayMs() * attempt);
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
-                        break;
-                    }
-                }
-            }
-        }
-        log.error("Jira call failed after {} retries", props.getMaxRetries(), lastException);
-        throw new ResponseStatusException(HttpStatus.BAD_GATEWAY,
-                "Erreur de communication avec Jira: " + (lastException != null ? lastException.getMessage() : "unknown"));
+    private <T> T callWithRetry(Supplier<T> call) {
+        return governor.execute(call);
     }
 }
@@ -0,0 +1,306 @@
+package com.rdapp.deploy.jira.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.rdapp.deploy.jira.config.JiraProperties;
+import com.rdapp.deploy.jira.dto.JiraDtos.IssueRow;
+import com.rdapp.deploy.mapper.JiraDateParser;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Décodage streaming d'une page d'issues Jira ({@code /sprint/{id}/issue}, {@code /search})
+ * directement en {@link IssueRow}, sans passer par l'arbre JiraIssue → Fields → Status…
+ *
+ * Seuls les champs de {@link #fields()} sont lus, le reste est sauté token par token.
+ * Le champ Sprint (jira.sprint-field) est accepté sous ses deux formes Jira DC :
+ * objets {@code {"id":12,…}} ou chaînes {@code "…Sprint@1a2b[id=12,rapidViewId=3,…]"}.
+ * Les libellés à faible cardinalité (type, statut, priorité, assignee, versions) sont
+ * internés dans un pool borné partagé, lu directement depuis le buffer du parser.
+ */
+@Component
+public class JiraIssueDecoder {
+
+    /** Story points (champ standard Jira Software) */
+    static final String STORY_POINTS_FIELD = "customfield_10016";
+
+    private static final long[] NO_SPRINTS = new long[0];
+
+    private final JsonFactory factory = new JsonFactory();
+    private final StringPool pool = new StringPool(4096);
+    private final String sprintField;
+    private final String fields;
+
+    public JiraIssueDecoder(JiraProperties props) {
+        this.sprintField = props.getSprintField();
+        this.fields = "summary,status,issuetype,priority,assignee," + STORY_POINTS_FIELD
+                + ",fixVersions,versions,created,updated,resolutiondate," + sprintField;
+    }
+
+    /** Paramètre fields= : uniquement ce que le mapping SprintIssue utilise */
+    public String fields() {
+        return fields;
+    }
+
+    public IssuePage decode(InputStream in) throws IOException {
+        try (var p = factory.createParser(in)) {
+            expect(p, p.nextToken(), JsonToken.START_OBJECT);
+            int total = 0;
+            var issues = new ArrayList<IssueRow>();
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                var name = p.currentName();
+                var token = p.nextToken();
+                switch (name) {
+                    case "total" -> total = p.getValueAsInt();
+                    case "issues" -> {
+                        if (token == JsonToken.START_ARRAY) readIssues(p, issues);
+                    }
+                    default -> p.skipChildren();
+                }
+            }
+            return new IssuePage(issues, total);
+        }
+    }
+
+    // ══════════════════════════════════════════
+    // Issues
+    // ══════════════════════════════════════════
+
+    /**
+     * Une issue isolée (ex. {@code issue} d'un webhook), parser positionné sur
+     * son START_OBJECT. Le champ Sprint n'est renseigné que s'il figure dans la charge.
+     *
+     * @return null si l'issue n'a pas de clé
+     */
+    public IssueRow readIssue(JsonParser p) throws IOException {
+        expect(p, p.currentToken(), JsonToken.START_OBJECT);
+        var row = new RowBuilder();
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            var name = p.currentName();
+            var value = p.nextToken();
+            if ("key".equals(name)) row.key = p.getText();
+            else if ("fields".equals(name) && value == JsonToken.START_OBJECT) readFields(p, row);
+            else p.skipChildren();
+        }
+        return row.key != null ? row.build() : null;
+    }
+
+    private void readIssues(JsonParser p, List<IssueRow> out) throws IOException {
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            var row = readIssue(p);
+            if (row != null) out.add(row);
+        }
+    }
+
+    private void readFields(JsonParser p, RowBuilder row) throws IOException {
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            var name = p.currentName();
+            var token = p.nextToken();
+            if (sprintField.equals(name)) {
+                row.sprintIds = readSprintIds(p);
+                continue;
+            }
+            if (token == JsonToken.VALUE_NULL) continue;
+            switch (name) {
+                case "summary" -> row.summary = p.getText();
+                case "issuetype" -> row.issueType = readName(p, "name");
+                case "priority" -> row.priority = readName(p, "name");
+                case "status" -> readStatus(p, row);
+                case "assignee" -> readAssignee(p, row);
+                case STORY_POINTS_FIELD -> row.storyPoints = token.isNumeric() ? p.getDoubleValue() : null;
+                case "fixVersions" -> row.fixVersion = readFirstName(p);
+                case "versions" -> row.affectVersion = readFirstName(p);
+                case "created" -> row.created = JiraDateParser.parseDateTime(p.getText());
+                case "updated" -> row.updated = JiraDateParser.parseDateTime(p.getText());
+                case "resolutiondate" -> row.resolutionDate = JiraDateParser.parseDateTime(p.getText());
+                default -> p.skipChildren();
+            }
+        }
+    }
+
+    private void readStatus(JsonParser p, RowBuilder row) throws IOException {
+        if (p.currentToken() != JsonToken.START_OBJECT) {
+            p.skipChildren();
+            return;
+        }
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            var name = p.currentName();
+            var token = p.nextToken();
+            if ("name".equals(name) && token == JsonToken.VALUE_STRING) row.statusName = intern(p);
+            else if ("statusCategory".equals(name) && token == JsonToken.START_OBJECT) row.statusCategory = readName(p, "key");
+            else p.skipChildren();
+        }
+    }
+
+    private void readAssignee(JsonParser p, RowBuilder row) throws IOException {
+        if (p.currentToken() != JsonToken.START_OBJECT) {
+            p.skipChildren();
+            return;
+        }
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            var name = p.currentName();
+            var token = p.nextToken();
+            if ("displayName".equals(name) && token == JsonToken.VALUE_STRING) row.assigneeName = intern(p);
+            else if ("name".equals(name) && token == JsonToken.VALUE_STRING) row.assigneeUsername = intern(p);
+            else p.skipChildren();
+        }
+    }
+
+    /** Propriété texte {@code field} d'un objet, internée ; le reste de l'objet est sauté. */
+    private String readName(JsonParser p, String field) throws IOException {
+        if (p.currentToken() != JsonToken.START_OBJECT) {
+            p.skipChildren();
+            return null;
+        }
+        String value = null;
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            var name = p.currentName();
+            var token = p.nextToken();
+            if (field.equals(name) && token == JsonToken.VALUE_STRING) value = intern(p);
+            else p.skipChildren();
+        }
+        return value;
+    }
+
+    /** {@code name} du premier élément d'un tableau de versions. */
+    private String readFirstName(JsonParser p) throws IOException {
+        if (p.currentToken() != JsonToken.START_ARRAY) {
+            p.skipChildren();
+            return null;
+        }
+        String first = null;
+        JsonToken token;
+        while ((token = p.nextToken()) != JsonToken.END_ARRAY) {
+            if (first == null && token == JsonToken.START_OBJECT) first = readName(p, "name");
+            else p.skipChildren();
+        }
+        return first;
+    }
+
+    /** Ids du champ Sprint ; tableau vide si l'issue n'est dans aucun sprint. */
+    private long[] readSprintIds(JsonParser p) throws IOException {
+        if (p.currentToken() != JsonToken.START_ARRAY) {
+            p.skipChildren();
+            return NO_SPRINTS;
+        }
+        long[] ids = NO_SPRINTS;
+        JsonToken token;
+        while ((token = p.nextToken()) != JsonToken.END_ARRAY) {
+            long id = -1;
+            if (token == JsonToken.START_OBJECT) {
+                while (p.nextToken() == JsonToken.FIELD_NAME) {
+                    var name = p.currentName();
+                    var value = p.nextToken();
+                    if ("id".equals(name) && value.isNumeric()) id = p.getLongValue();
+                    else p.skipChildren();
+                }
+            } else if (token == JsonToken.VALUE_STRING) {
+                id = legacySprintId(p.getTextCharacters(), p.getTextOffset(), p.getTextLength());
+            } else {
+                p.skipChildren();
+            }
+            if (id >= 0) {
+                ids = Arrays.copyOf(ids, ids.length + 1);
+                ids[ids.length - 1] = id;
+            }
+        }
+        return ids;
+    }
+
+    /** {@code id=NNN} dans la représentation toString() d'un sprint GreenHopper, sinon -1. */
+    private static long legacySprintId(char[] buf, int off, int len) {
+        int end = off + len;
+        for (int i = off + 1; i + 3 < end; i++) {
+            if (buf[i] == 'i' && buf[i + 1] == 'd' && buf[i + 2] == '='
+                    && (buf[i - 1] == '[' || buf[i - 1] == ',')) {
+                long id = 0;
+                int j = i + 3;
+                if (j >= end || buf[j] < '0' || buf[j] > '9') return -1;
+                for (; j < end && buf[j] >= '0' && buf[j] <= '9'; j++) id = id * 10 + (buf[j] - '0');
+                return id;
+            }
+        }
+        return -1;
+    }
+
+    // ── Helpers ──
+
+    private String intern(JsonParser p) throws IOException {
+        return pool.get(p.getTextCharacters(), p.getTextOffset(), p.getTextLength());
+    }
+
+    private static void expect(JsonParser p, JsonToken actual, JsonToken expected) throws JsonParseException {
+        if (actual != expected) {
+            throw new JsonParseException(p, "Page d'issues Jira : " + expected + " attendu, " + actual + " trouvé");
+        }
+    }
+
+    // ══════════════════════════════════════════
+    // Types
+    // ══════════════════════════════════════════
+
+    public record IssuePage(List<IssueRow> issues, int total) {}
+
+    private static final class RowBuilder {
+        String key, summary, issueType, statusName, statusCategory, priority;
+        String assigneeName, assigneeUsername, fixVersion, affectVersion;
+        Double storyPoints;
+        OffsetDateTime created, updated, resolutionDate;
+        long[] sprintIds;
+
+        IssueRow build() {
+            return new IssueRow(key, summary, issueType, statusName, statusCategory, priority, storyPoints,
+                    assigneeName, assigneeUsername, fixVersion, affectVersion, created, updated, resolutionDate,
+                    sprintIds);
+        }
+    }
+
+    /**
+     * Table d'interning à adressage ouvert, indexée sur le buffer de caractères du parser :
+     * un libellé déjà vu est retourné sans allouer de String. Remplie à moitié au plus ;
+     * au-delà, les nouveaux libellés ne sont plus retenus.
+     */
+    private static final class StringPool {
+
+        private final String[] table;
+        private int size;
+
+        StringPool(int capacity) {
+            this.table = new String[Integer.highestOneBit(Math.max(16, capacity - 1)) << 1];
+        }
+
+        synchronized String get(char[] buf, int off, int len) {
+            int hash = 0;
+            for (int i = off; i < off + len; i++) hash = 31 * hash + buf[i];
+            int mask = table.length - 1;
+            for (int slot = (hash ^ (hash >>> 16)) & mask; ; slot = (slot + 1) & mask) {
+                var candidate = table[slot];
+                if (candidate == null) {
+                    var created = new String(buf, off, len);
+                    if (size < table.length / 2) {
+                        table[slot] = created;
+                        size++;
+                    }
+                    return created;
+                }
+                if (candidate.hashCode() == hash && sameChars(candidate, buf, off, len)) return candidate;
+            }
+        }
+
+        private static boolean sameChars(String s, char[] buf, int off, int len) {
+            if (s.length() != len) return false;
+            for (int i = 0; i < len; i++) {
+                if (s.charAt(i) != buf[off + i]) return false;
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,337 @@
+package com.rdapp.deploy.jira.client;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rdapp.deploy.jira.config.JiraProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache HTTP conditionnel sous le RestClient Jira, persisté sur disque.
+ *
+ * GET sur un préfixe de jira.http-cache.paths :
+ *   - entrée connue → If-None-Match / If-Modified-Since ; 304 → corps servi depuis le disque
+ *   - 200 avec ETag ou Last-Modified → corps stocké
+ *   - sans validateur → rien n'est stocké (Jira ne revalide pas toutes ses ressources)
+ *
+ * Store : {dir}/blobs/ab/abcd… (corps adressés par SHA-256, dédupliqués) + {dir}/index.json
+ * (URI → validateurs, blob, dernier accès). Taille bornée par jira.http-cache.max-size-mb,
+ * éviction LRU. L'index est relu au démarrage : un redémarrage ne refait que des GET conditionnels.
+ * Il est modifié en mémoire et écrit sur disque toutes les jira.http-cache.flush-seconds
+ * (s'il a changé) et à l'arrêt, hors du verrou des requêtes.
+ *
+ * Sous le verrou des requêtes, uniquement des opérations mémoire (et la suppression
+ * d'un blob évincé) : le corps est écrit sur disque avant, l'index est une
+ * LinkedHashMap en ordre d'accès (éviction LRU depuis la tête) et chaque blob porte
+ * un compteur de références (suppression en O(1)).
+ *
+ * Métriques : jira.http.cache{result=hit|miss|store|revalidated-miss}, jira.http.cache.bytes
+ * (miss = 200 effectivement téléchargé)
+ */
+@Component
+@Slf4j
+public final class JiraResponseCache implements ClientHttpRequestInterceptor {
+
+    private static final TypeReference<Map<String, Entry>> INDEX_TYPE = new TypeReference<>() {};
+
+    private final JiraProperties.HttpCache config;
+    private final MeterRegistry registry;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Path dir;
+    private final Path indexFile;
+    /** Ordre d'accès : la tête est l'entrée la moins récemment utilisée */
+    private final LinkedHashMap<String, Entry> index = new LinkedHashMap<>(16, 0.75f, true);
+    /** Blob → nombre d'entrées qui le référencent */
+    private final Map<String, Integer> blobRefs = new HashMap<>();
+    /** Une seule écriture de l'index à la fois (tâche planifiée, arrêt) */
+    private final Object flushLock = new Object();
+    private long totalBytes;
+    private boolean dirty;
+
+    public JiraResponseCache(JiraProperties props, MeterRegistry registry) {
+        this.config = props.getHttpCache();
+        this.registry = registry;
+        this.dir = Path.of(config.getDir());
+        this.indexFile = dir.resolve("index.json");
+        if (config.isEnabled()) load();
+        Gauge.builder("jira.http.cache.bytes", this, JiraResponseCache::sizeBytes).register(registry);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        if (!isCacheable(request)) return execution.execute(request, body);
+
+        var key = request.getURI().toString();
+        var cached = lookup(key);
+        if (cached != null) {
+            if (cached.etag() != null) request.getHeaders().setIfNoneMatch(cached.etag());
+            if (cached.lastModified() != null) request.getHeaders().set(HttpHeaders.IF_MODIFIED_SINCE, cached.lastModified());
+        }
+
+        var response = execution.execute(request, body);
+
+        if (response.getStatusCode().value() == HttpStatus.NOT_MODIFIED.value() && cached != null) {
+            var bytes = readBlob(cached.blob());
+            if (bytes != null) {
+                response.close();
+                touch(key);
+                registry.counter("jira.http.cache", "result", "hit").increment();
+                return new CachedResponse(bytes, cached.contentType());
+            }
+            // Blob perdu : refaire la requête sans validateurs
+            response.close();
+            remove(key);
+            registry.counter("jira.http.cache", "result", "revalidated-miss").increment();
+            request.getHeaders().remove(HttpHeaders.IF_NONE_MATCH);
+            request.getHeaders().remove(HttpHeaders.IF_MODIFIED_SINCE);
+            return execution.execute(request, body);
+        }
+
+        if (response.getStatusCode().value() != HttpStatus.OK.value()) return response;
+        registry.counter("jira.http.cache", "result", "miss").increment();
+        var etag = response.getHeaders().getETag();
+        var lastModified = response.getHeaders().getFirst(HttpHeaders.LAST_MODIFIED);
+        if (etag == null && lastModified == null) return response;
+
+        byte[] bytes;
+        try (response) {
+            bytes = response.getBody().readAllBytes();
+        }
+        var contentType = response.getHeaders().getFirst(HttpHeaders.CONTENT_TYPE);
+        store(key, etag, lastModified, contentType, bytes);
+        return new CachedResponse(bytes, contentType);
+    }
+
+    /** Index écrit depuis une copie : les requêtes n'attendent pas l'écriture disque. */
+    @Scheduled(initialDelayString = "${jira.http-cache.flush-seconds:30}",
+            fixedDelayString = "${jira.http-cache.flush-seconds:30}", timeUnit = TimeUnit.SECONDS)
+    @PreDestroy
+    public void flush() {
+        synchronized (flushLock) {
+            Map<String, Entry> snapshot;
+            synchronized (this) {
+                if (!dirty) return;
+                snapshot = new LinkedHashMap<>(index);
+                dirty = false;
+            }
+            try {
+                Files.createDirectories(dir);
+                var tmp = dir.resolve("index.json.tmp");
+                mapper.writeValue(tmp.toFile(), snapshot);
+                Files.move(tmp, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                synchronized (this) {
+                    dirty = true;
+                }
+                log.warn("Cache HTTP Jira — écriture de l'index impossible: {}", e.getMessage());
+            }
+        }
+    }
+
+    // ══════════════════════════════════════════
+    // Store
+    // ══════════════════════════════════════════
+
+    private synchronized Entry lookup(String key) {
+        return index.get(key);
+    }
+
+    /** Dernier accès mis à jour en mémoire ; persisté au prochain flush. */
+    private synchronized void touch(String key) {
+        index.computeIfPresent(key, (k, e) -> e.accessed(System.currentTimeMillis()));
+        dirty = true;
+    }
+
+    private synchronized void remove(String key) {
+        var removed = index.remove(key);
+        if (removed != null) {
+            unlink(removed);
+            dirty = true;
+        }
+    }
+
+    /** Corps écrit hors verrou (adressé par contenu : écritures concurrentes identiques). */
+    private void store(String key, String etag, String lastModified, String contentType, byte[] bytes) {
+        long maxBytes = config.getMaxSizeMb() * 1024 * 1024;
+        if (bytes.length > maxBytes) return;
+
+        var blob = sha256(bytes);
+        var path = blobPath(blob);
+        try {
+            if (!Files.exists(path)) {
+                Files.createDirectories(path.getParent());
+                var tmp = Files.createTempFile(path.getParent(), blob, ".tmp");
+                Files.write(tmp, bytes);
+                Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+        } catch (IOException e) {
+            log.warn("Cache HTTP Jira — écriture impossible pour {}: {}", key, e.getMessage());
+            return;
+        }
+        index(key, new Entry(etag, lastModified, contentType, blob, bytes.length, System.currentTimeMillis()),
+                path, maxBytes);
+    }
+
+    private synchronized void index(String key, Entry entry, Path path, long maxBytes) {
+        // Blob supprimé par une éviction concurrente entre l'écriture et le verrou
+        if (!blobRefs.containsKey(entry.blob()) && !Files.exists(path)) return;
+
+        link(entry);
+        var previous = index.put(key, entry);
+        if (previous != null) unlink(previous);
+        evict(maxBytes);
+        dirty = true;
+        registry.counter("jira.http.cache", "result", "store").increment();
+    }
+
+    /** Éviction LRU depuis la tête jusqu'à repasser sous la taille max. */
+    private void evict(long maxBytes) {
+        for (var it = index.values().iterator(); totalBytes > maxBytes && it.hasNext(); ) {
+            var e = it.next();
+            it.remove();
+            unlink(e);
+        }
+    }
+
+    private void link(Entry entry) {
+        blobRefs.merge(entry.blob(), 1, Integer::sum);
+        totalBytes += entry.size();
+    }
+
+    /** Blob supprimé quand plus aucune entrée ne le référence. */
+    private void unlink(Entry entry) {
+        totalBytes -= entry.size();
+        if (blobRefs.merge(entry.blob(), -1, Integer::sum) > 0) return;
+        blobRefs.remove(entry.blob());
+        try {
+            Files.deleteIfExists(blobPath(entry.blob()));
+        } catch (IOException e) {
+            log.debug("Cache HTTP Jira — suppression du blob {} impossible: {}", entry.blob(), e.getMessage());
+        }
+    }
+
+    private synchronized void load() {
+        if (!Files.exists(indexFile)) return;
+        try {
+            Map<String, Entry> loaded = mapper.readValue(indexFile.toFile(), INDEX_TYPE);
+            loaded.entrySet().stream()
+                    .sorted(Comparator.comparingLong(e -> e.getValue().lastAccess()))
+                    .filter(e -> Files.exists(blobPath(e.getValue().blob())))
+                    .forEach(e -> {
+                        index.put(e.getKey(), e.getValue());
+                        link(e.getValue());
+                    });
+            log.info("Cache HTTP Jira — {} entrées rechargées ({} Ko)", index.size(), totalBytes / 1024);
+        } catch (IOException e) {
+            log.warn("Cache HTTP Jira — index illisible, cache vidé: {}", e.getMessage());
+        }
+    }
+
+    // ── Helpers ──
+
+    private boolean isCacheable(HttpRequest request) {
+        if (!config.isEnabled() || request.getMethod() != HttpMethod.GET) return false;
+        var path = request.getURI().getPath();
+        return config.getPaths().stream().anyMatch(path::startsWith);
+    }
+
+    private byte[] readBlob(String blob) {
+        try {
+            return Files.readAllBytes(blobPath(blob));
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private Path blobPath(String blob) {
+        return dir.resolve("blobs").resolve(blob.substring(0, 2)).resolve(blob);
+    }
+
+    private synchronized double sizeBytes() {
+        return totalBytes;
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // ══════════════════════════════════════════
+    // Types
+    // ══════════════════════════════════════════
+
+    record Entry(String etag, String lastModified, String contentType, String blob, long size, long lastAccess) {
+        Entry accessed(long at) {
+            return new Entry(etag, lastModified, contentType, blob, size, at);
+        }
+    }
+
+    /** Réponse 200 reconstituée depuis le store. */
+    static final class CachedResponse implements ClientHttpResponse {
+
+        private final byte[] body;
+        private final HttpHeaders headers = new HttpHeaders();
+
+        CachedResponse(byte[] body, String contentType) {
+            this.body = body;
+            if (contentType != null) headers.set(HttpHeaders.CONTENT_TYPE, contentType);
+            headers.setContentLength(body.length);
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() {
+            return HttpStatus.OK;
+        }
+
+        @Override
+        public String getStatusText() {
+            return HttpStatus.OK.getReasonPhrase();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() {
+            return new ByteArrayInputStream(body);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
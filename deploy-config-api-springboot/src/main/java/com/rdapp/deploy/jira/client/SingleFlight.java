@@ -0,0 +1,57 @@
+package com.rdapp.deploy.jira.client;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalescence des appels concurrents par clé : le premier appelant exécute,
+ * ceux qui arrivent pendant l'exécution attendent et partagent son résultat
+ * (ou son exception). La clé est libérée dès la fin : aucun résultat n'est mis en cache.
+ *
+ * L'appel s'exécute dans le thread du premier appelant (transaction, contexte de sécurité…).
+ */
+@Slf4j
+public final class SingleFlight<K, V> {
+
+    private final String name;
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    public SingleFlight(String name) {
+        this.name = name;
+    }
+
+    public V run(K key, Supplier<V> call) {
+        var mine = new CompletableFuture<V>();
+        var current = inFlight.putIfAbsent(key, mine);
+        if (current != null) {
+            log.debug("Single-flight {} — appel partagé pour {}", name, key);
+            return await(current);
+        }
+        try {
+            V value = call.get();
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    // ── Helpers ──
+
+    private static <V> V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            if (e.getCause() instanceof Error err) throw err;
+            throw e;
+        }
+    }
+}
@@ -1,26 +1,92 @@
 package com.rdapp.deploy.jira.config;
 
+import com.rdapp.deploy.jira.client.JiraResponseCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestClient;
 
 import java.util.Base64;
 
+/**
+ * RestClient Jira sur Apache HttpClient 5 :
+ *   - pool de connexions keep-alive (max total / par route configurables)
+ *   - compression gzip/deflate négociée et décompressée de façon transparente
+ *   - métriques du pool : httpcomponents.httpclient.pool.*{httpclient="jira"}
+ *   - cache HTTP conditionnel persistant (JiraResponseCache)
+ *   - intercepteurs additionnels qualifiés « jiraClientInterceptor », appliqués avant le
+ *     cache (tests : enregistrement de fixtures)
+ */
 @Configuration
 @EnableCaching
 public class JiraClientConfig {
 
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager jiraConnectionManager(JiraProperties props, MeterRegistry registry) {
+        var manager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(props.getMaxConnections())
+                .setMaxConnPerRoute(props.getMaxConnectionsPerRoute())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(props.getConnectTimeoutMs()))
+                        .setSocketTimeout(Timeout.ofMilliseconds(props.getReadTimeoutMs()))
+                        .setTimeToLive(TimeValue.ofMinutes(props.getConnectionTtlMinutes()))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(10))
+                        .build())
+                .build();
+        new PoolingHttpClientConnectionManagerMetricsBinder(manager, "jira").bindTo(registry);
+        return manager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient jiraHttpClient(PoolingHttpClientConnectionManager jiraConnectionManager,
+                                              JiraProperties props) {
+        var keepAlive = TimeValue.ofSeconds(props.getKeepAliveSeconds());
+        var builder = HttpClients.custom()
+                .setConnectionManager(jiraConnectionManager)
+                // Keep-Alive du serveur si présent, sinon la valeur configurée
+                .setKeepAliveStrategy((response, context) -> {
+                    var serverValue = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                    return serverValue != null && serverValue.getDuration() > 0 && serverValue.compareTo(keepAlive) < 0
+                            ? serverValue : keepAlive;
+                })
+                .evictExpiredConnections()
+                .evictIdleConnections(keepAlive)
+                // Les retries sont gérés par JiraCallGovernor (sinon 429/503 rejoués deux fois)
+                .disableAutomaticRetries();
+        if (!props.isCompression()) {
+            builder.disableContentCompression();
+        }
+        return builder.build();
+    }
+
     @Bean
-    public RestClient jiraRestClient(JiraProperties props) {
-        var factory = new SimpleClientHttpRequestFactory();
-        factory.setConnectTimeout(props.getConnectTimeoutMs());
-        factory.setReadTimeout(props.getReadTimeoutMs());
+    public RestClient jiraRestClient(JiraProperties props, CloseableHttpClient jiraHttpClient,
+                                     @Qualifier("jiraClientInterceptor")
+                                     ObjectProvider<ClientHttpRequestInterceptor> jiraClientInterceptors,
+                                     JiraResponseCache jiraResponseCache) {
+        var factory = new HttpComponentsClientHttpRequestFactory(jiraHttpClient);
 
         var builder = RestClient.builder()
                 .baseUrl(props.getBaseUrl())
                 .requestFactory(factory)
+                .requestInterceptors(interceptors -> {
+                    jiraClientInterceptors.orderedStream().forEach(interceptors::add);
+                    interceptors.add(jiraResponseCache);
+                })
                 .defaultHeader("Accept", "application/json")
                 .defaultHeader("Content-Type", "application/json");
 
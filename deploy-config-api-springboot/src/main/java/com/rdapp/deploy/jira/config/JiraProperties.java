@@ -5,6 +5,9 @@ import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Component
 @ConfigurationProperties(prefix = "jira")
 @Getter @Setter
@@ -24,10 +27,165 @@ public class JiraProperties {
 
     private int connectTimeoutMs = 5000;
     private int readTimeoutMs = 15000;
+    /** Tentatives par appel (erreurs retryables uniquement) */
     private int maxRetries = 3;
+    /** Base du backoff exponentiel avec jitter */
     private int retryDelayMs = 1000;
     private int cacheTtlMinutes = 5;
 
+    /** Pool HTTP (Apache HttpClient 5) — connexions réutilisées entre les appels */
+    private int maxConnections = 20;
+    private int maxConnectionsPerRoute = 10;
+    /** Durée de keep-alive si Jira n'envoie pas d'en-tête Keep-Alive */
+    private int keepAliveSeconds = 30;
+    /** Durée de vie max d'une connexion (rotation DNS / LB) */
+    private int connectionTtlMinutes = 5;
+    /** Accept-Encoding: gzip, deflate + décompression transparente */
+    private boolean compression = true;
+
+    /** Id du champ Sprint (custom field, propre à l'instance Jira) */
+    private String sprintField = "customfield_10004";
+
+    /** Pagination : taille demandée (Jira peut la plafonner, la taille réelle de la 1re page fait foi) */
+    private int pageSize = 100;
+    /** Requêtes Jira simultanées, tous appels confondus (pagination, escouades) — ≤ maxConnectionsPerRoute */
+    private int maxConcurrentRequests = 8;
+    /** Escouades synchronisées en parallèle par syncAllSquads (fetch hors transaction, écriture courte chacune) */
+    private int syncConcurrency = 6;
+    /** Sync complète : pages reçues en attente de répartition par sprint (au-delà, les fetchers attendent) */
+    private int pipelineQueuePages = 4;
+
+    /** Sync incrémentale : réconciliation complète au-delà de ce délai depuis la dernière */
+    private int fullReconcileHours = 24;
+    /** Au-delà de ce nombre d'issues modifiées, une sync complète est moins coûteuse */
+    private int incrementalMaxChanges = 200;
+    /** Recouvrement appliqué au high-water mark (JQL à la minute, horloges décalées) */
+    private int incrementalOverlapMinutes = 5;
+    /** Fuseau d'interprétation des dates JQL (celui de l'utilisateur Jira) — vide = fuseau système */
+    private String jqlTimeZone;
+
+    /**
+     * Sprints fermés via le sprint report (un appel par sprint, une seule fois) au lieu de
+     * la recherche JQL paginée. Le report ne porte ni versions ni dates des issues.
+     */
+    private boolean closedSprintReport = false;
+
+    /** Board introuvable : pas de nouvelle recherche par nom avant ce délai */
+    private int boardNotFoundRetryMinutes = 60;
+
+    /** Gouverneur des appels Jira (backoff, circuit breaker, budget) */
+    private Governor governor = new Governor();
+
+    /** Cache HTTP conditionnel persistant (ETag / Last-Modified) */
+    private HttpCache httpCache = new HttpCache();
+
+    /** Sonde de santé en arrière-plan (/v1/jira/status, actuator health) */
+    private Health health = new Health();
+
+    /** Webhook Jira DC (POST /v1/jira/webhook) : deltas d'issues et de sprints */
+    private Webhook webhook = new Webhook();
+
+    /** Jobs de sync en arrière-plan (POST /v1/jira/sync/all) */
+    private SyncJobs syncJobs = new SyncJobs();
+
+    /** Scheduler de sync adaptatif interne (remplace le cron GHA) */
+    private Scheduler scheduler = new Scheduler();
+
+    /** Plusieurs répliques : leader unique pour le scheduler, verrou par escouade */
+    private Cluster cluster = new Cluster();
+
+    @Getter @Setter
+    public static class Governor {
+        /** Plafond d'une attente de backoff ; un Retry-After plus long échoue immédiatement */
+        private long maxBackoffMs = 30000;
+        /** Échecs consécutifs (5xx, réseau) avant ouverture du circuit */
+        private int failureThreshold = 5;
+        /** Durée d'ouverture du circuit avant un appel d'essai */
+        private long openDurationMs = 30000;
+        /** Budget de requêtes Jira par minute, partagé par tous les appels */
+        private int requestsPerMinute = 600;
+        /** Attente max d'un jeton de budget avant refus */
+        private long budgetWaitMs = 5000;
+    }
+
+    @Getter @Setter
+    public static class HttpCache {
+        private boolean enabled = true;
+        /** Répertoire du store (volume persistant pour survivre aux redémarrages) */
+        private String dir = "data/jira-http-cache";
+        /** Taille max des corps stockés ; éviction LRU au-delà */
+        private long maxSizeMb = 50;
+        /** Écriture de l'index sur disque (s'il a changé) ; aussi à l'arrêt */
+        private long flushSeconds = 30;
+        /** Préfixes de chemins GET mis en cache (endpoints qui changent rarement) */
+        private List<String> paths = new ArrayList<>(List.of(
+                "/rest/agile/1.0/board",
+                "/rest/api/2/project/"));
+    }
+
+    @Getter @Setter
+    public static class Health {
+        private boolean enabled = true;
+        /** Intervalle entre deux sondes GET /rest/api/2/serverInfo */
+        private long intervalSeconds = 30;
+        /** Nombre de sondes retenues pour le taux d'erreur et la latence moyenne */
+        private int window = 20;
+        /** Échecs consécutifs avant de déclarer Jira DOWN */
+        private int downAfterFailures = 3;
+    }
+
+    @Getter @Setter
+    public static class Webhook {
+        private boolean enabled = true;
+        /** Secret partagé, attendu en ?secret= dans l'URL déclarée côté Jira (obligatoire : vide = appels refusés) */
+        private String secret;
+        /** Fenêtre de coalescence : les événements reçus sont appliqués par lot à cet intervalle */
+        private long coalesceMillis = 1000;
+        /** Issues appliquées par transaction */
+        private int batchSize = 50;
+    }
+
+    @Getter @Setter
+    public static class SyncJobs {
+        /** Durée de conservation d'un job terminé (GET /v1/jira/sync/jobs/{id}) */
+        private long retentionMinutes = 60;
+        /** Durée max d'un abonnement SSE aux événements d'un job */
+        private long eventsTimeoutMinutes = 30;
+    }
+
+    @Getter @Setter
+    public static class Scheduler {
+        private boolean enabled = false;
+        /** Intervalle de scrutation de la file des échéances */
+        private long tickSeconds = 15;
+        /** Escouades sondées / synchronisées simultanément */
+        private int maxConcurrent = 2;
+        /** Bornes de l'intervalle de sync d'une escouade */
+        private long minIntervalMinutes = 5;
+        private long maxIntervalMinutes = 60;
+        /** Intervalle visé : le temps d'accumuler ce nombre de changements au rythme observé */
+        private double targetChangesPerSync = 10;
+        /** Dans cette fenêtre avant la fin du sprint actif, l'intervalle raccourcit (jusqu'à ÷4) */
+        private long sprintEndWindowHours = 48;
+    }
+
+    @Getter @Setter
+    public static class Cluster {
+        private boolean enabled = false;
+        /** Identité du nœud dans sync_lock — vide = hostname + pid */
+        private String nodeId;
+        /** Bail du leader ; un leader arrêté sans relâcher est remplacé à expiration */
+        private long leaseSeconds = 30;
+        /** Renouvellement du bail (et candidature des autres nœuds) */
+        private long renewSeconds = 10;
+        /** Bail d'un verrou d'escouade, prolongé pendant la sync : borne la reprise après l'arrêt d'un nœud */
+        private long squadLeaseSeconds = 600;
+        /** Escouades réparties entre nœuds vivants (hachage cohérent) au lieu du seul leader */
+        private boolean partitioning = false;
+        /** Points par nœud sur l'anneau : plus il y en a, plus la répartition est régulière */
+        private int virtualNodes = 64;
+    }
+
     // ── Helpers ──
 
     public String getAgileBaseUrl() {
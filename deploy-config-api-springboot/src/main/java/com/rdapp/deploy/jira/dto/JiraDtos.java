@@ -4,7 +4,9 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.*;
 
+import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.Map;
 
 /**
  * DTOs Jira Data Center REST API.
@@ -26,6 +28,7 @@ public final class JiraDtos {
         private int maxResults;
         private int startAt;
         private int total;
+        @JsonProperty("isLast")  // getter Lombok isLast() → propriété "last" sinon
         private boolean isLast;
         private List<T> values;
     }
@@ -160,6 +163,48 @@ public final class JiraDtos {
         private String emailAddress;
     }
 
+    // ══════════════════════════════════════════
+    // Issue aplatie — décodage streaming (JiraIssueDecoder)
+    // ══════════════════════════════════════════
+
+    /**
+     * Une issue telle que persistée dans sprint_issue : champs scalaires seulement,
+     * libellés à faible cardinalité internés, dates déjà parsées.
+     */
+    public record IssueRow(
+            String key,
+            String summary,
+            String issueType,
+            String statusName,
+            String statusCategory,
+            String priority,
+            Double storyPoints,
+            String assigneeName,
+            String assigneeUsername,
+            String fixVersion,       // première fix version
+            String affectVersion,    // première affect version
+            OffsetDateTime created,
+            OffsetDateTime updated,
+            OffsetDateTime resolutionDate,
+            long[] sprintIds         // champ Sprint ; null si non renvoyé par Jira
+    ) {
+        public boolean isDone() {
+            return "done".equalsIgnoreCase(statusCategory);
+        }
+
+        public boolean hasSprintInfo() {
+            return sprintIds != null;
+        }
+
+        public boolean inSprint(long sprintId) {
+            if (sprintIds == null) return false;
+            for (long id : sprintIds) {
+                if (id == sprintId) return true;
+            }
+            return false;
+        }
+    }
+
     // ══════════════════════════════════════════
     // Version — /rest/api/2/project/{key}/versions
     // ══════════════════════════════════════════
@@ -183,6 +228,59 @@ public final class JiraDtos {
         private String name;
     }
 
+    // ══════════════════════════════════════════
+    // Sprint report — /rest/greenhopper/1.0/rapid/charts/sprintreport?rapidViewId={boardId}&sprintId={sprintId}
+    // ══════════════════════════════════════════
+
+    @Getter @Setter @NoArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class SprintReport {
+        private SprintReportContents contents;
+    }
+
+    @Getter @Setter @NoArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class SprintReportContents {
+        private List<SprintReportIssue> completedIssues = List.of();
+        private List<SprintReportIssue> issuesNotCompletedInCurrentSprint = List.of();
+        /** Retirées du sprint en cours de route */
+        private List<SprintReportIssue> puntedIssues = List.of();
+        private List<SprintReportIssue> issuesCompletedInAnotherSprint = List.of();
+        private EstimateSum completedIssuesEstimateSum;
+        private EstimateSum issuesNotCompletedEstimateSum;
+        private EstimateSum puntedIssuesEstimateSum;
+        /** Clés ajoutées après le démarrage du sprint (valeur toujours true) */
+        private Map<String, Boolean> issueKeysAddedDuringSprint = Map.of();
+    }
+
+    @Getter @Setter @NoArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class SprintReportIssue {
+        private String key;
+        private String summary;
+        private String typeName;
+        private String statusName;
+        private JiraStatus status;         // absent selon les versions de Jira DC
+        private String priorityName;
+        private String assignee;           // username
+        private String assigneeName;       // nom affiché
+        private boolean done;
+        private EstimateStatistic estimateStatistic;         // au démarrage / à l'ajout
+        private EstimateStatistic currentEstimateStatistic;  // à la clôture
+    }
+
+    @Getter @Setter @NoArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class EstimateStatistic {
+        private EstimateSum statFieldValue;
+    }
+
+    @Getter @Setter @NoArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class EstimateSum {
+        private Double value;
+    }
+
     // ══════════════════════════════════════════
     // Velocity — /rest/greenhopper/1.0/rapid/charts/velocity?rapidViewId={boardId}
     // ══════════════════════════════════════════
@@ -199,4 +297,16 @@ public final class JiraDtos {
         // Map<sprintId, SprintVelocity>
         // Structure complexe — on le parse manuellement
     }
+
+    // ══════════════════════════════════════════
+    // Server info — /rest/api/2/serverInfo (sonde de santé)
+    // ══════════════════════════════════════════
+
+    @Getter @Setter @NoArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class JiraServerInfo {
+        private String version;
+        private String deploymentType;
+        private String serverTitle;
+    }
 }
@@ -0,0 +1,134 @@
+package com.rdapp.deploy.jira.service;
+
+import com.rdapp.deploy.entity.Squad;
+import com.rdapp.deploy.jira.client.JiraClient;
+import com.rdapp.deploy.jira.config.JiraProperties;
+import com.rdapp.deploy.jira.dto.JiraDtos.JiraBoard;
+import com.rdapp.deploy.jira.dto.JiraDtos.JiraProject;
+import com.rdapp.deploy.repository.SquadRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.OffsetDateTime;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Résolution boardId (nom du board) → board Jira numérique, persistée sur l'escouade.
+ *
+ * La recherche par nom n'est faite qu'une fois par valeur de boardId
+ * (Squad.changeBoardId efface la résolution). Un board introuvable est mémorisé
+ * (jira_board_resolved_at sans jira_board_id) et n'est recherché à nouveau
+ * qu'après jira.board-not-found-retry-minutes.
+ *
+ * Appelé hors transaction (recherche Jira sans connexion JDBC retenue) : les
+ * modifications de l'escouade sont persistées dans une transaction propre quand la
+ * ligne en base porte le même boardId ; un board introuvable survit ainsi à l'échec
+ * en 404 de la sync.
+ */
+@Service
+@Slf4j
+public class JiraBoardResolver {
+
+    private final JiraClient jiraClient;
+    private final JiraProperties jiraProps;
+    private final SquadRepository squadRepo;
+    private final TransactionTemplate requiresNew;
+
+    public JiraBoardResolver(JiraClient jiraClient, JiraProperties jiraProps, SquadRepository squadRepo,
+                             PlatformTransactionManager transactionManager) {
+        this.jiraClient = jiraClient;
+        this.jiraProps = jiraProps;
+        this.squadRepo = squadRepo;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Board de l'escouade, depuis la résolution persistée ou une recherche Jira.
+     *
+     * @throws ResponseStatusException 404 si le board est introuvable (y compris en cache négatif)
+     */
+    public JiraBoard resolve(Squad squad) {
+        if (squad.getJiraBoardId() != null) return toBoard(squad);
+
+        if (isKnownMissing(squad)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND,
+                    "Board Jira non trouvé: " + squad.getBoardId() + " (dernière recherche "
+                            + squad.getJiraBoardResolvedAt() + ")");
+        }
+
+        try {
+            var board = jiraClient.findBoardByName(squad.getBoardId());
+            var location = board.getLocation();
+            var projectKey = location != null ? location.getProjectKey() : null;
+            squad.resolveJiraBoard(board.getId(), board.getName(), board.getType(), projectKey);
+            record(squad, stored -> stored.resolveJiraBoard(board.getId(), board.getName(), board.getType(), projectKey));
+            log.info("Board résolu — squad={} boardId={} → id={} type={} project={}",
+                    squad.getName(), squad.getBoardId(), board.getId(), board.getType(), squad.getJiraProjectKey());
+            return board;
+        } catch (ResponseStatusException e) {
+            if (e.getStatusCode().value() == HttpStatus.NOT_FOUND.value()) recordNotFound(squad);
+            throw e;
+        }
+    }
+
+    /**
+     * Résolution après changement de boardId (création, update, syncBoard), une fois
+     * l'escouade validée en base.
+     * Sans effet si Jira n'est pas configuré ; une erreur Jira n'empêche pas
+     * l'enregistrement : la résolution sera retentée à la prochaine sync.
+     */
+    public void refresh(Squad squad) {
+        if (!jiraProps.isConfigured() || squad.getBoardId() == null || squad.getBoardId().isBlank()) return;
+        try {
+            resolve(squad);
+        } catch (RuntimeException e) {
+            log.warn("Résolution du board différée — squad={} boardId={}: {}",
+                    squad.getName(), squad.getBoardId(), e.getMessage());
+        }
+    }
+
+    // ── Helpers ──
+
+    private void recordNotFound(Squad squad) {
+        squad.markJiraBoardNotFound();
+        log.warn("Board introuvable — squad={} boardId={}", squad.getName(), squad.getBoardId());
+        record(squad, Squad::markJiraBoardNotFound);
+    }
+
+    /**
+     * Applique {@code change} à la ligne en base hors de la transaction courante,
+     * si elle porte encore le même boardId (modifié entre-temps : résolution ignorée).
+     */
+    private void record(Squad squad, Consumer<Squad> change) {
+        if (squad.getId() == null) return;
+        requiresNew.executeWithoutResult(status -> squadRepo.findById(squad.getId())
+                .filter(stored -> Objects.equals(stored.getBoardId(), squad.getBoardId()))
+                .ifPresent(change));
+    }
+
+    private boolean isKnownMissing(Squad squad) {
+        var resolvedAt = squad.getJiraBoardResolvedAt();
+        return resolvedAt != null
+                && resolvedAt.isAfter(OffsetDateTime.now().minusMinutes(jiraProps.getBoardNotFoundRetryMinutes()));
+    }
+
+    private static JiraBoard toBoard(Squad squad) {
+        var board = new JiraBoard();
+        board.setId(squad.getJiraBoardId());
+        board.setName(squad.getJiraBoardName() != null ? squad.getJiraBoardName() : squad.getBoardId());
+        board.setType(squad.getJiraBoardType());
+        if (squad.getJiraProjectKey() != null) {
+            var location = new JiraProject();
+            location.setProjectKey(squad.getJiraProjectKey());
+            board.setLocation(location);
+        }
+        return board;
+    }
+}
@@ -0,0 +1,37 @@
+package com.rdapp.deploy.jira.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Contributeur actuator « jira » (/actuator/health), lu depuis JiraHealthMonitor
+ * sans appel Jira. DEGRADED reste UP (échecs isolés) ; Jira non configuré → UNKNOWN.
+ */
+@Component("jira")
+@RequiredArgsConstructor
+public class JiraHealthIndicator implements HealthIndicator {
+
+    private final JiraHealthMonitor monitor;
+
+    @Override
+    public Health health() {
+        var s = monitor.snapshot();
+        var builder = switch (s.status()) {
+            case UP, DEGRADED -> Health.up();
+            case DOWN -> Health.down();
+            case UNKNOWN -> Health.unknown();
+        };
+        builder.withDetail("configured", s.configured())
+                .withDetail("state", s.status().name())
+                .withDetail("breaker", s.breakerState())
+                .withDetail("errorRate", s.errorRate())
+                .withDetail("avgLatencyMs", s.avgLatencyMs());
+        if (s.lastCheckedAt() != null) builder.withDetail("lastCheckedAt", s.lastCheckedAt().toString());
+        if (s.lastSuccessAt() != null) builder.withDetail("lastSuccessAt", s.lastSuccessAt().toString());
+        if (s.serverVersion() != null) builder.withDetail("version", s.serverVersion());
+        if (s.lastError() != null) builder.withDetail("lastError", s.lastError());
+        return builder.build();
+    }
+}
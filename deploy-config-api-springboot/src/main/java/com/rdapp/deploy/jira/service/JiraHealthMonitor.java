@@ -0,0 +1,160 @@
+package com.rdapp.deploy.jira.service;
+
+import com.rdapp.deploy.jira.client.JiraCallGovernor;
+import com.rdapp.deploy.jira.client.JiraClient;
+import com.rdapp.deploy.jira.config.JiraProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Santé de Jira, sondée en arrière-plan (GET /rest/api/2/serverInfo toutes les
+ * jira.health.interval-seconds) et servie depuis la mémoire : /v1/jira/status et
+ * l'indicateur actuator « jira » ne font aucun appel Jira.
+ *
+ * Sur les jira.health.window dernières sondes : latence moyenne et taux d'erreur.
+ * DOWN après jira.health.down-after-failures échecs consécutifs, DEGRADED entre les deux.
+ *
+ * Métriques : jira.health.probe{outcome}, jira.health.up
+ */
+@Component
+@Slf4j
+public final class JiraHealthMonitor {
+
+    private final JiraClient jiraClient;
+    private final JiraCallGovernor governor;
+    private final JiraProperties props;
+    private final MeterRegistry registry;
+
+    private final ArrayDeque<Probe> window = new ArrayDeque<>();
+    private int consecutiveFailures;
+    private OffsetDateTime lastCheckedAt;
+    private OffsetDateTime lastSuccessAt;
+    private Long lastLatencyMs;
+    private String lastError;
+    private String serverVersion;
+
+    public JiraHealthMonitor(JiraClient jiraClient, JiraCallGovernor governor, JiraProperties props,
+                             MeterRegistry registry) {
+        this.jiraClient = jiraClient;
+        this.governor = governor;
+        this.props = props;
+        this.registry = registry;
+        Gauge.builder("jira.health.up", this, m -> m.snapshot().status() == Status.DOWN ? 0 : 1).register(registry);
+    }
+
+    @Scheduled(initialDelay = 5, fixedDelayString = "${jira.health.interval-seconds:30}", timeUnit = TimeUnit.SECONDS)
+    public void scheduledProbe() {
+        if (props.getHealth().isEnabled() && props.isConfigured()) probe();
+    }
+
+    /** Une sonde, résultat enregistré dans la fenêtre. */
+    public void probe() {
+        long t0 = System.nanoTime();
+        String version = null;
+        String error = null;
+        try {
+            var info = jiraClient.getServerInfo();
+            version = info != null ? info.getVersion() : null;
+        } catch (RestClientResponseException e) {
+            error = "HTTP " + e.getStatusCode().value();
+        } catch (RuntimeException e) {
+            error = e.getClass().getSimpleName() + ": " + e.getMessage();
+        }
+        long latencyMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - t0);
+        Timer.builder("jira.health.probe").tag("outcome", error == null ? "success" : "failure")
+                .register(registry).record(latencyMs, TimeUnit.MILLISECONDS);
+        record(latencyMs, version, error);
+    }
+
+    /** État courant ; sonde immédiatement si aucune sonde n'a encore eu lieu. */
+    public Snapshot current() {
+        boolean never;
+        synchronized (this) {
+            never = lastCheckedAt == null;
+        }
+        if (never && props.isConfigured()) probe();
+        return snapshot();
+    }
+
+    public synchronized Snapshot snapshot() {
+        int failures = (int) window.stream().filter(p -> !p.ok()).count();
+        double avgLatency = window.stream().mapToLong(Probe::latencyMs).average().orElse(0);
+        return new Snapshot(
+                props.isConfigured(),
+                status(),
+                lastCheckedAt,
+                lastSuccessAt,
+                lastLatencyMs,
+                Math.round(avgLatency),
+                window.isEmpty() ? 0 : (double) failures / window.size(),
+                consecutiveFailures,
+                lastError,
+                serverVersion,
+                governor.breakerState().name());
+    }
+
+    // ── Helpers ──
+
+    private synchronized void record(long latencyMs, String version, String error) {
+        boolean ok = error == null;
+        window.addLast(new Probe(ok, latencyMs));
+        while (window.size() > Math.max(1, props.getHealth().getWindow())) window.removeFirst();
+
+        var previous = status();
+        lastCheckedAt = OffsetDateTime.now();
+        lastLatencyMs = latencyMs;
+        if (ok) {
+            consecutiveFailures = 0;
+            lastSuccessAt = lastCheckedAt;
+            lastError = null;
+            if (version != null) serverVersion = version;
+        } else {
+            consecutiveFailures++;
+            lastError = error;
+        }
+        var next = status();
+        if (next != previous) log.info("Jira santé — {} → {} (latence={}ms, erreur={})", previous, next, latencyMs, error);
+    }
+
+    private Status status() {
+        if (!props.isConfigured() || lastCheckedAt == null) return Status.UNKNOWN;
+        if (consecutiveFailures == 0) return Status.UP;
+        return consecutiveFailures >= props.getHealth().getDownAfterFailures() ? Status.DOWN : Status.DEGRADED;
+    }
+
+    // ══════════════════════════════════════════
+    // Types
+    // ══════════════════════════════════════════
+
+    public enum Status { UP, DEGRADED, DOWN, UNKNOWN }
+
+    public record Snapshot(
+            boolean configured,
+            Status status,
+            OffsetDateTime lastCheckedAt,
+            OffsetDateTime lastSuccessAt,
+            Long lastLatencyMs,
+            long avgLatencyMs,
+            double errorRate,
+            int consecutiveFailures,
+            String lastError,
+            String serverVersion,
+            String breakerState
+    ) {
+        /** Jira a déjà répondu et n'est pas DOWN (DEGRADED = échecs isolés récents). */
+        public boolean connected() {
+            return lastSuccessAt != null && (status == Status.UP || status == Status.DEGRADED);
+        }
+    }
+
+    private record Probe(boolean ok, long latencyMs) {}
+}
@@ -0,0 +1,234 @@
+package com.rdapp.deploy.jira.service;
+
+import com.rdapp.deploy.dto.SprintSyncDto.SquadSyncSummary;
+import com.rdapp.deploy.dto.SprintSyncDto.SyncJobResponse;
+import com.rdapp.deploy.jira.config.JiraProperties;
+import com.rdapp.deploy.jira.service.JiraSyncService.SprintSyncResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Sync de toutes les escouades en job d'arrière-plan : POST /v1/jira/sync/all
+ * répond 202 avec un jobId au lieu de bloquer jusqu'à la dernière escouade.
+ *
+ * Un seul job à la fois : un POST pendant un job en cours renvoie ce job.
+ * Progression en SSE (GET /v1/jira/sync/jobs/{id}/events) : un événement
+ * « squad » par escouade terminée (bilan compact, sans sprints ni issues), puis
+ * « done » avec le bilan du job. Un abonné tardif reçoit d'abord les événements
+ * déjà émis. Jobs gardés en mémoire jira.sync-jobs.retention-minutes après leur fin.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class JiraSyncJobService {
+
+    private final JiraSyncService syncService;
+    private final JiraProperties jiraProps;
+
+    private final Map<String, SyncJob> jobs = new ConcurrentHashMap<>();
+
+    /** Lance un job (ou renvoie celui en cours). */
+    public synchronized SyncJobResponse startAll() {
+        syncService.assertConfigured();
+        purgeExpired();
+
+        var running = jobs.values().stream().filter(job -> job.status == JobStatus.RUNNING).findFirst();
+        if (running.isPresent()) {
+            log.info("Job sync {} déjà en cours", running.get().id);
+            return running.get().response();
+        }
+
+        var job = new SyncJob("sync-" + UUID.randomUUID().toString().substring(0, 8));
+        jobs.put(job.id, job);
+        Thread.ofVirtual().name("jira-" + job.id).start(() -> run(job));
+        log.info("Job sync {} lancé", job.id);
+        return job.response();
+    }
+
+    public SyncJobResponse get(String jobId) {
+        return find(jobId).response();
+    }
+
+    /** Abonnement SSE : événements déjà émis rejoués, puis au fil de l'eau. */
+    public SseEmitter events(String jobId) {
+        var job = find(jobId);
+        var emitter = new SseEmitter(Duration.ofMinutes(jiraProps.getSyncJobs().getEventsTimeoutMinutes()).toMillis());
+        job.subscribe(emitter);
+        return emitter;
+    }
+
+    // ── Helpers ──
+
+    private void run(SyncJob job) {
+        try {
+            syncService.syncAllSquads(job);
+            job.finish(null);
+        } catch (RuntimeException e) {
+            log.error("Job sync {} en échec: {}", job.id, e.getMessage());
+            job.finish(e.getMessage());
+        }
+    }
+
+    private SyncJob find(String jobId) {
+        var job = jobs.get(jobId);
+        if (job == null) throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Job de sync: " + jobId);
+        return job;
+    }
+
+    private void purgeExpired() {
+        var limit = LocalDateTime.now().minusMinutes(jiraProps.getSyncJobs().getRetentionMinutes());
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(limit));
+    }
+
+    private static SquadSyncSummary summarize(SprintSyncResult r) {
+        var active = r.getActiveSprint();
+        return SquadSyncSummary.builder()
+                .squadId(r.getSquadId())
+                .squadName(r.getSquadName())
+                .boardId(r.getBoardId())
+                .boardName(r.getBoardName())
+                .mode(r.getMode())
+                .activeSprintId(active != null ? active.getJiraSprintId() : null)
+                .activeSprintName(active != null ? active.getName() : null)
+                .activeIssues(active != null ? active.getTotalIssues() : null)
+                .closedSprints(r.getClosedSprints() != null ? r.getClosedSprints().size() : 0)
+                .futureSprints(r.getFutureSprints() != null ? r.getFutureSprints().size() : 0)
+                .changedIssues(r.getChangedIssues())
+                .fetchMs(r.getFetchMs())
+                .writeMs(r.getWriteMs())
+                .error(r.getError())
+                .syncedAt(r.getSyncedAt())
+                .build();
+    }
+
+    // ══════════════════════════════════════════
+    // Job
+    // ══════════════════════════════════════════
+
+    public enum JobStatus { RUNNING, COMPLETED, FAILED }
+
+    /**
+     * État d'un job. Bilans et envois SSE passent par un unique thread d'émission :
+     * ordre des événements garanti, et un client lent ne freine pas la sync.
+     */
+    private static final class SyncJob implements JiraSyncService.SyncProgress {
+
+        private final String id;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final List<SquadSyncSummary> squads = new CopyOnWriteArrayList<>();
+        private final ExecutorService emitter = Executors.newSingleThreadExecutor(Thread.ofVirtual().factory());
+        /** Abonnés : thread d'émission uniquement */
+        private final List<SseEmitter> subscribers = new ArrayList<>();
+        private volatile Integer total;
+        private volatile JobStatus status = JobStatus.RUNNING;
+        private volatile LocalDateTime finishedAt;
+        private volatile String error;
+
+        SyncJob(String id) {
+            this.id = id;
+        }
+
+        @Override
+        public void started(int squads) {
+            total = squads;
+        }
+
+        @Override
+        public void squadDone(SprintSyncResult result) {
+            var summary = summarize(result);
+            emitter.execute(() -> {
+                squads.add(summary);
+                broadcast("squad", summary);
+            });
+        }
+
+        void finish(String failure) {
+            emitter.execute(() -> {
+                error = failure;
+                finishedAt = LocalDateTime.now();
+                status = failure == null ? JobStatus.COMPLETED : JobStatus.FAILED;
+                broadcast("done", response());
+                subscribers.forEach(SseEmitter::complete);
+                subscribers.clear();
+                log.info("Job sync {} {} — {}/{} escouades, {} en erreur", id, status,
+                        squads.size(), total, failedSquads());
+            });
+            emitter.shutdown();
+        }
+
+        void subscribe(SseEmitter sse) {
+            try {
+                emitter.execute(() -> replay(sse));
+            } catch (RejectedExecutionException e) {
+                // Job terminé : attendre le dernier envoi puis rejouer depuis le thread appelant
+                emitter.close();
+                replay(sse);
+            }
+        }
+
+        SyncJobResponse response() {
+            var end = finishedAt;
+            return SyncJobResponse.builder()
+                    .jobId(id)
+                    .status(status.name())
+                    .startedAt(startedAt)
+                    .finishedAt(end)
+                    .durationMs(Duration.between(startedAt, end != null ? end : LocalDateTime.now()).toMillis())
+                    .totalSquads(total)
+                    .completedSquads(squads.size())
+                    .failedSquads(failedSquads())
+                    .error(error)
+                    .squads(List.copyOf(squads))
+                    .build();
+        }
+
+        // ── Helpers ──
+
+        private void replay(SseEmitter sse) {
+            try {
+                for (var summary : squads) sse.send(SseEmitter.event().name("squad").data(summary));
+                if (status == JobStatus.RUNNING) {
+                    subscribers.add(sse);
+                } else {
+                    sse.send(SseEmitter.event().name("done").data(response()));
+                    sse.complete();
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Job sync {} — abonné SSE perdu: {}", id, e.getMessage());
+            }
+        }
+
+        private void broadcast(String name, Object data) {
+            subscribers.removeIf(sse -> {
+                try {
+                    sse.send(SseEmitter.event().name(name).data(data));
+                    return false;
+                } catch (IOException | IllegalStateException e) {
+                    log.debug("Job sync {} — abonné SSE perdu: {}", id, e.getMessage());
+                    return true;
+                }
+            });
+        }
+
+        private int failedSquads() {
+            return (int) squads.stream().filter(s -> s.getError() != null).count();
+        }
+    }
+}
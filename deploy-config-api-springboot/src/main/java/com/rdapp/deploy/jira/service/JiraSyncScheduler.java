@@ -0,0 +1,238 @@
+package com.rdapp.deploy.jira.service;
+
+import com.rdapp.deploy.entity.SprintSync;
+import com.rdapp.deploy.jira.config.JiraProperties;
+import com.rdapp.deploy.repository.SprintSyncRepository;
+import com.rdapp.deploy.repository.SquadRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Scheduler de sync interne (jira.scheduler.enabled), à la place du cron GHA fixe.
+ *
+ * Chaque escouade a sa propre échéance, dans une file de priorité triée par date due.
+ * À échéance : sonde JQL maxResults=0 sur le sprint actif ({@link JiraSyncService#probeChanges}),
+ * sync seulement si quelque chose a changé. Au plus jira.scheduler.max-concurrent
+ * escouades en cours. Avec plusieurs répliques, chaque nœud ne planifie que les escouades
+ * qui lui reviennent (SyncLeadership#owns) : toutes pour le leader, ou sa part de l'anneau
+ * en partitioning — la capacité de sync croît alors avec le nombre de répliques.
+ *
+ * Intervalle suivant = temps d'accumuler target-changes-per-sync changements au rythme
+ * observé (moyenne glissante, changements / heure), raccourci jusqu'à ÷4 à l'approche
+ * de la fin du sprint actif, borné par [min-interval, max-interval]. Une escouade
+ * calme ne coûte qu'une sonde par max-interval.
+ *
+ * Métriques : jira.scheduler.runs{outcome}, jira.scheduler.queue
+ */
+@Component
+@Slf4j
+public final class JiraSyncScheduler {
+
+    /** Poids de la dernière observation dans le rythme de changements */
+    private static final double RATE_ALPHA = 0.3;
+
+    private final JiraSyncService syncService;
+    private final SyncLeadership leadership;
+    private final SquadRepository squadRepo;
+    private final SprintSyncRepository sprintRepo;
+    private final JiraProperties props;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry registry;
+
+    /** Escouades en attente, par échéance ; une escouade en cours n'y est pas */
+    private final PriorityQueue<Slot> queue = new PriorityQueue<>(Comparator.comparing(Slot::nextDue));
+    private final Map<String, Slot> slots = new HashMap<>();
+    private int running;
+
+    public JiraSyncScheduler(JiraSyncService syncService, SyncLeadership leadership, SquadRepository squadRepo,
+                             SprintSyncRepository sprintRepo, JiraProperties props,
+                             TransactionTemplate transactionTemplate, MeterRegistry registry) {
+        this.syncService = syncService;
+        this.leadership = leadership;
+        this.squadRepo = squadRepo;
+        this.sprintRepo = sprintRepo;
+        this.props = props;
+        this.transactionTemplate = transactionTemplate;
+        this.registry = registry;
+        Gauge.builder("jira.scheduler.queue", this, JiraSyncScheduler::queueSize).register(registry);
+    }
+
+    @Scheduled(initialDelay = 30, fixedDelayString = "${jira.scheduler.tick-seconds:15}", timeUnit = TimeUnit.SECONDS)
+    public void scheduledTick() {
+        if (props.getScheduler().isEnabled() && props.isConfigured()) tick();
+    }
+
+    /** Escouades rafraîchies depuis la base, puis lancement des échéances passées. */
+    public void tick() {
+        var squads = transactionTemplate.execute(status -> loadSquads());
+        synchronized (this) {
+            refresh(squads);
+            var now = Instant.now();
+            while (running < Math.max(1, props.getScheduler().getMaxConcurrent())
+                    && !queue.isEmpty() && !queue.peek().nextDue.isAfter(now)) {
+                var slot = queue.poll();
+                running++;
+                Thread.ofVirtual().name("jira-scheduler-" + slot.squadId).start(() -> run(slot));
+            }
+        }
+    }
+
+    public synchronized List<Entry> snapshot() {
+        return slots.values().stream()
+                .sorted(Comparator.comparing(Slot::nextDue))
+                .map(slot -> new Entry(slot.squadId, slot.squadName, slot.nextDue, slot.interval.toMinutes(),
+                        Math.round(slot.changesPerHour * 10) / 10.0, slot.sprintEnd, slot.lastRunAt,
+                        slot.lastOutcome, !queue.contains(slot)))
+                .toList();
+    }
+
+    // ── Helpers ──
+
+    private synchronized int queueSize() {
+        return queue.size();
+    }
+
+    private void run(Slot slot) {
+        String outcome;
+        Integer changes = null;
+        try {
+            var probed = syncService.probeChanges(slot.squadId);
+            if (probed != null && probed == 0) {
+                outcome = "unchanged";
+                changes = 0;
+            } else {
+                var result = syncService.syncSquadSprint(slot.squadId);
+                outcome = "synced";
+                changes = result.getChangedIssues() != null ? result.getChangedIssues() : probed;
+            }
+        } catch (RuntimeException e) {
+            outcome = "failed";
+            log.warn("Scheduler — sync {} en échec: {}", slot.squadName, e.getMessage());
+        }
+        registry.counter("jira.scheduler.runs", "outcome", outcome).increment();
+        reschedule(slot, outcome, changes);
+    }
+
+    private synchronized void reschedule(Slot slot, String outcome, Integer changes) {
+        running--;
+        var now = Instant.now();
+        if (changes != null && slot.lastRunAt != null) {
+            double hours = Math.max(Duration.between(slot.lastRunAt, now).toSeconds(), 60) / 3600.0;
+            slot.changesPerHour = RATE_ALPHA * (changes / hours) + (1 - RATE_ALPHA) * slot.changesPerHour;
+        }
+        if (!"failed".equals(outcome)) slot.lastRunAt = now;
+        slot.lastOutcome = outcome;
+        slot.interval = "failed".equals(outcome)
+                ? clamp(slot.interval.multipliedBy(2).toMinutes())
+                : interval(slot);
+        slot.nextDue = now.plus(slot.interval);
+        log.debug("Scheduler — {} {} (changements={}, {}/h) → prochain dans {} min",
+                slot.squadName, outcome, changes, slot.changesPerHour, slot.interval.toMinutes());
+        if (slots.get(slot.squadId) == slot) queue.add(slot);
+    }
+
+    private Duration interval(Slot slot) {
+        var config = props.getScheduler();
+        double minutes = slot.changesPerHour > 0
+                ? config.getTargetChangesPerSync() * 60 / slot.changesPerHour
+                : config.getMaxIntervalMinutes();
+        if (slot.sprintEnd != null && config.getSprintEndWindowHours() > 0) {
+            double hoursLeft = Duration.between(LocalDateTime.now(), slot.sprintEnd).toMinutes() / 60.0;
+            if (hoursLeft < config.getSprintEndWindowHours()) {
+                minutes *= Math.max(0.25, hoursLeft / config.getSprintEndWindowHours());
+            }
+        }
+        return clamp(Math.round(minutes));
+    }
+
+    private Duration clamp(long minutes) {
+        var config = props.getScheduler();
+        return Duration.ofMinutes(Math.max(config.getMinIntervalMinutes(), Math.min(config.getMaxIntervalMinutes(), minutes)));
+    }
+
+    /** Escouades de ce nœud avec boardId, et fin de leur sprint actif. */
+    private List<Target> loadSquads() {
+        var sprintEnds = sprintRepo.findByState("active").stream()
+                .filter(s -> s.getSquad() != null && s.getEndDate() != null)
+                .collect(Collectors.toMap(s -> s.getSquad().getId(), SprintSync::getEndDate, (a, b) -> a));
+        return squadRepo.findAll().stream()
+                .filter(squad -> squad.getBoardId() != null && !squad.getBoardId().isBlank())
+                .filter(squad -> leadership.owns(squad.getId()))
+                .map(squad -> new Target(squad.getId(), squad.getName(), sprintEnds.get(squad.getId())))
+                .toList();
+    }
+
+    /** Nouvelles escouades (ou reprises d'un autre nœud) dues immédiatement, escouades supprimées ou cédées retirées. */
+    private void refresh(List<Target> squads) {
+        var current = squads.stream().collect(Collectors.toMap(Target::squadId, t -> t));
+        slots.values().removeIf(slot -> {
+            if (current.containsKey(slot.squadId)) return false;
+            queue.remove(slot);
+            return true;
+        });
+        for (var target : squads) {
+            var slot = slots.get(target.squadId());
+            if (slot == null) {
+                slot = new Slot(target.squadId());
+                slot.nextDue = Instant.now();
+                slot.interval = Duration.ofMinutes(props.getScheduler().getMaxIntervalMinutes());
+                slots.put(slot.squadId, slot);
+                queue.add(slot);
+            }
+            slot.squadName = target.squadName();
+            slot.sprintEnd = target.sprintEnd();
+        }
+    }
+
+    // ══════════════════════════════════════════
+    // Types
+    // ══════════════════════════════════════════
+
+    public record Entry(
+            String squadId,
+            String squadName,
+            Instant nextDue,
+            long intervalMinutes,
+            double changesPerHour,
+            LocalDateTime sprintEnd,
+            Instant lastRunAt,
+            String lastOutcome,
+            boolean running
+    ) {}
+
+    private record Target(String squadId, String squadName, LocalDateTime sprintEnd) {}
+
+    private static final class Slot {
+        private final String squadId;
+        private String squadName;
+        private LocalDateTime sprintEnd;
+        private Instant nextDue;
+        private Duration interval;
+        private double changesPerHour;
+        private Instant lastRunAt;
+        private String lastOutcome;
+
+        Slot(String squadId) {
+            this.squadId = squadId;
+        }
+
+        Instant nextDue() {
+            return nextDue;
+        }
+    }
+}
@@ -2,23 +2,41 @@ package com.rdapp.deploy.jira.service;
 
 import com.rdapp.deploy.entity.*;
 import com.rdapp.deploy.jira.client.JiraClient;
+import com.rdapp.deploy.jira.client.SingleFlight;
 import com.rdapp.deploy.jira.config.JiraProperties;
 import com.rdapp.deploy.jira.dto.JiraDtos.*;
+import com.rdapp.deploy.mapper.JiraDateParser;
 import com.rdapp.deploy.repository.AffectVersionRepository;
 import com.rdapp.deploy.repository.SquadRepository;
+import com.rdapp.deploy.service.SprintCacheBus;
 import com.rdapp.deploy.repository.SprintSyncRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service d'orchestration de la synchronisation Jira DC.
@@ -28,6 +46,7 @@ import java.util.List;
  *   2. board → récupérer les sprints (active, closed, future)
  *   3. sprint actif → récupérer les issues
  *   4. Persister localement dans sprint_sync + sprint_issue
+ *      (étapes 1-3 hors transaction, 4 dans une transaction courte)
  *   5. Optionnel : sync des Affect Versions depuis les fix versions Jira
  */
 @Service
@@ -35,12 +54,21 @@ import java.util.List;
 @Slf4j
 public class JiraSyncService {
 
+    /** Format de date accepté par JQL (précision minute, fuseau de l'utilisateur Jira) */
+    private static final DateTimeFormatter JQL_DATE = DateTimeFormatter.ofPattern("yyyy/MM/dd HH:mm");
+
     private final JiraClient jiraClient;
+    private final JiraBoardResolver boardResolver;
+    private final SyncLeadership leadership;
     private final JiraProperties jiraProps;
     private final SprintSyncRepository sprintRepo;
     private final SquadRepository squadRepo;
     private final AffectVersionRepository versionRepo;
-    private final com.rdapp.deploy.service.SprintCacheService sprintCacheService;
+    private final SprintCacheBus cacheBus;
+    private final TransactionTemplate transactionTemplate;
+
+    /** Une seule sync en vol par escouade + board (+ mode complet) */
+    private final SingleFlight<String, SprintSyncResult> squadSyncs = new SingleFlight<>("squad-sync");
 
     // ══════════════════════════════════════════
     // Sync sprint complet pour une escouade
@@ -50,11 +78,52 @@ public class JiraSyncService {
      * Synchronise le sprint actif + historique pour une escouade.
      * Utilise le boardId de l'escouade pour trouver le board Jira.
      */
-    @Transactional
     public SprintSyncResult syncSquadSprint(String squadId) {
+        return syncSquadSprint(squadId, false);
+    }
+
+    /**
+     * Les appels concurrents pour la même escouade et le même board (bouton
+     * « Mise à jour », /sync/squad, /sync/all) partagent une seule sync en vol :
+     * un seul fetch Jira et une seule passe de persistance, résultat commun.
+     * Une sync complète forcée ne rejoint pas une sync incrémentale en cours.
+     * Entre répliques, le verrou d'escouade (SyncLeadership) refuse une sync
+     * déjà en cours sur un autre nœud (409).
+     *
+     * À appeler hors transaction : les appels Jira (retries compris) ne doivent
+     * pas retenir de connexion du pool (voir {@link #doSyncSquadSprint}).
+     */
+    public SprintSyncResult syncSquadSprint(String squadId, boolean forceFull) {
+        var squad = squadRepo.findById(squadId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Escouade: " + squadId));
+        var key = squadId + "|" + squad.getBoardId() + (forceFull ? "|full" : "");
+        return squadSyncs.run(key, () -> leadership.withSquadLock(squadId, () -> doSyncSquadSprint(squadId, forceFull)));
+    }
+
+    /**
+     * Trois phases, seule la dernière écrit :
+     *   1. lecture courte de l'escouade ;
+     *   2. tout Jira hors transaction ({@link #fetch}) — aucune connexion JDBC
+     *      retenue pendant les appels lents, backoffs et Retry-After ;
+     *   3. écriture en une transaction courte ({@link #persist}).
+     *
+     * Sync incrémentale par défaut : une seule recherche JQL
+     * {@code sprint in (...) AND updated >= mark} sur le sprint actif + les 5 derniers
+     * fermés, seules les issues modifiées sont fusionnées.
+     *
+     * Le champ Sprint des issues modifiées place les ajouts et retire les issues
+     * sorties d'un sprint suivi ; une issue sortie de tous les sprints suivis ne
+     * matche plus la JQL et n'est corrigée qu'à la réconciliation.
+     *
+     * Sync complète (une recherche JQL paginée sur tous les sprints suivis) si
+     * {@code forceFull}, sans mark, réconciliation périodique échue, nouveau sprint,
+     * issue inconnue sans champ Sprint ou trop de changements.
+     */
+    private SprintSyncResult doSyncSquadSprint(String squadId, boolean forceFull) {
         assertConfigured();
 
-        var squad = squadRepo.findByIdWithMembers(squadId)
+        // 1. Escouade (lecture courte)
+        var squad = transactionTemplate.execute(status -> squadRepo.findById(squadId))
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Escouade: " + squadId));
 
         if (squad.getBoardId() == null || squad.getBoardId().isBlank()) {
@@ -62,41 +131,130 @@ public class JiraSyncService {
                     "Board ID non configuré pour l'escouade: " + squad.getName());
         }
 
-        // 1. Trouver le board Jira
-        var board = jiraClient.findBoardByName(squad.getBoardId());
-        log.info("Sync — board trouvé: {} (id={})", board.getName(), board.getId());
+        // 2. Jira, hors transaction
+        long t0 = System.nanoTime();
+        var fetched = fetch(squad, forceFull);
+        long fetchMs = (System.nanoTime() - t0) / 1_000_000;
+
+        // 3. Écriture (transaction courte)
+        long t1 = System.nanoTime();
+        var result = transactionTemplate.execute(status -> persist(squadId, squad.getBoardId(), fetched));
+        result.setFetchMs(fetchMs);
+        result.setWriteMs((System.nanoTime() - t1) / 1_000_000);
+        log.info("Sync — squad={} mode={} fetch={}ms écriture={}ms", squad.getName(), result.getMode(),
+                fetchMs, result.getWriteMs());
+
+        // Escouade rafraîchie dans le cache, ici et sur les autres répliques
+        cacheBus.publish(List.of(squadId));
+        return result;
+    }
 
-        // 2. Récupérer le sprint actif
+    /**
+     * Board, sprints et issues depuis Jira. La base n'est lue que par de courtes
+     * transactions (sprints déjà connus, clés d'issues) ; rien n'est écrit.
+     */
+    private Fetched fetch(Squad squad, boolean forceFull) {
+        // Board Jira (résolution persistée sur l'escouade)
+        var board = boardResolver.resolve(squad);
+        log.info("Sync — board: {} (id={})", board.getName(), board.getId());
+
+        // Sprint actif + derniers sprints fermés (max 5) + futurs
         var activeSprint = jiraClient.getActiveSprint(board.getId());
-        SprintSync syncedActive = null;
+        var closedSprints = jiraClient.getClosedSprints(board.getId()).stream().limit(5).toList();
+        var futureSprints = jiraClient.getFutureSprints(board.getId());
 
+        // Sprints fermés résumés par leur sprint report : hors recherche JQL
+        var reports = fetchSprintReports(board, closedSprints, forceFull);
+
+        var tracked = new ArrayList<JiraSprint>();
         if (activeSprint != null) {
             log.info("Sync — sprint actif: {} (id={})", activeSprint.getName(), activeSprint.getId());
-            var issues = jiraClient.getSprintIssues(activeSprint.getId());
-            syncedActive = persistSprint(activeSprint, issues, squad, board);
+            tracked.add(activeSprint);
         } else {
             log.info("Sync — aucun sprint actif pour board {}", board.getName());
         }
+        closedSprints.stream().filter(s -> !reports.containsKey(s.getId())).forEach(tracked::add);
+        var trackedIds = tracked.stream().map(JiraSprint::getId).toList();
+
+        // Incrémental si possible, sinon complet
+        String fullReason = forceFull ? "demandée" : fullSyncReason(squad);
+        if (fullReason == null) {
+            var known = transactionTemplate.execute(status -> knownIssueKeys(trackedIds));
+            fullReason = newSprintReason(tracked, known);
+            if (fullReason == null) {
+                var changes = fetchChangedIssues(squad, tracked);
+                if (changes == null) {
+                    fullReason = "plus de " + jiraProps.getIncrementalMaxChanges() + " issues modifiées";
+                } else if (!placeable(known, changes.values())) {
+                    fullReason = "issue ajoutée à un sprint (champ sprint absent)";
+                } else {
+                    log.info("Sync incrémentale — squad={} issues modifiées={}", squad.getName(), changes.size());
+                    return new Fetched(board, activeSprint, closedSprints, futureSprints, tracked, reports,
+                            null, changes, null);
+                }
+            }
+        }
 
-        // 3. Récupérer les derniers sprints fermés (max 5)
-        var closedSprints = jiraClient.getClosedSprints(board.getId());
-        var syncedClosed = new ArrayList<SprintSync>();
-        for (var closed : closedSprints.stream().limit(5).toList()) {
-            var issues = jiraClient.getSprintIssues(closed.getId());
-            syncedClosed.add(persistSprint(closed, issues, squad, board));
+        log.info("Sync complète — squad={} raison={}", squad.getName(), fullReason);
+        var issues = fetchAllIssues(trackedIds);
+        return new Fetched(board, activeSprint, closedSprints, futureSprints, tracked, reports,
+                fullReason, null, issues);
+    }
+
+    /**
+     * Écriture de tout ce qui a été récupéré. L'escouade est relue : une escouade
+     * supprimée ou dont le board a changé pendant le fetch n'est pas écrasée. Rien
+     * n'est écrit si le verrou d'escouade a été perdu entre-temps (autre réplique).
+     */
+    private SprintSyncResult persist(String squadId, String boardId, Fetched fetched) {
+        leadership.confirmSquadLock(squadId);
+        var squad = squadRepo.findById(squadId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Escouade: " + squadId));
+        if (!Objects.equals(squad.getBoardId(), boardId)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "Board modifié pendant la sync de l'escouade: " + squad.getName());
+        }
+        var board = fetched.board();
+        var synced = new LinkedHashMap<Long, SprintSync>();
+
+        if (fetched.changes() != null) {
+            var existing = sprintRepo.findByJiraSprintIdIn(fetched.tracked().stream().map(JiraSprint::getId).toList())
+                    .stream().collect(Collectors.toMap(SprintSync::getJiraSprintId, Function.identity()));
+            for (var sprint : fetched.tracked()) {
+                var entity = existing.get(sprint.getId());
+                if (entity == null) entity = prepareSprint(sprint, squad, board);
+                synced.put(sprint.getId(), mergeSprint(sprint, entity, fetched.changes(), squad, board));
+            }
+            squad.setJiraSyncMark(maxUpdated(fetched.changes().values(), squad.getJiraSyncMark()));
+        } else {
+            OffsetDateTime mark = null;
+            for (var sprint : fetched.tracked()) {
+                var issues = fetched.issues().getOrDefault(sprint.getId(), List.of());
+                mark = maxUpdated(issues, mark);
+                synced.put(sprint.getId(), persistSprint(sprint, issues, squad, board));
+            }
+            squad.setJiraSyncMark(mark);
+            squad.setJiraFullSyncAt(OffsetDateTime.now());
         }
 
-        // 4. Récupérer les sprints futurs
-        var futureSprints = jiraClient.getFutureSprints(board.getId());
+        // Sprints fermés hors JQL : report reçu, ou déjà résumé (métadonnées seules)
+        for (var sprint : fetched.closed()) {
+            if (!fetched.reports().containsKey(sprint.getId())) continue;
+            var report = fetched.reports().get(sprint.getId());
+            synced.put(sprint.getId(), report != null
+                    ? persistReport(sprint, report, squad, board)
+                    : refreshSprint(sprint, squad, board));
+        }
+
+        var syncedActive = fetched.active() != null ? synced.get(fetched.active().getId()) : null;
+        var syncedClosed = fetched.closed().stream().map(c -> synced.get(c.getId())).toList();
+
+        // Sprints futurs (métadonnées seules)
         var syncedFuture = new ArrayList<SprintSync>();
-        for (var future : futureSprints) {
+        for (var future : fetched.future()) {
             syncedFuture.add(persistSprint(future, List.of(), squad, board));
         }
 
-        // Invalider le cache après la synchronisation
-        log.info("Invalidating sprint cache after sync for squad: {}", squad.getName());
-        sprintCacheService.forceRefresh();
-
         return SprintSyncResult.builder()
                 .squadId(squadId)
                 .squadName(squad.getName())
@@ -105,10 +263,34 @@ public class JiraSyncService {
                 .activeSprint(syncedActive)
                 .closedSprints(syncedClosed)
                 .futureSprints(syncedFuture)
+                .mode(fetched.fullReason() != null ? "full" : "incremental")
+                .changedIssues(fetched.changes() != null ? fetched.changes().size() : null)
                 .syncedAt(LocalDateTime.now())
                 .build();
     }
 
+    /**
+     * Sonde de changement (JiraSyncScheduler) : {@code sprint in (actif) AND updated >= mark}
+     * avec maxResults=0, un seul appel qui ne renvoie que le total.
+     *
+     * Ne couvre que le sprint actif ; les sprints fermés sont rattrapés par la
+     * réconciliation périodique.
+     *
+     * @return issues modifiées depuis le mark, ou null si la sonde ne peut pas conclure
+     *         (jamais synchronisée, réconciliation due, aucun sprint actif connu)
+     */
+    public Integer probeChanges(String squadId) {
+        assertConfigured();
+        var squad = transactionTemplate.execute(status -> squadRepo.findById(squadId)).orElse(null);
+        if (squad == null || fullSyncReason(squad) != null) return null;
+
+        var active = transactionTemplate.execute(status -> sprintRepo.findActiveJiraSprintIds(squadId));
+        if (active.isEmpty()) return null;
+
+        var sprintIds = active.stream().map(String::valueOf).collect(Collectors.joining(","));
+        return jiraClient.countIssues("sprint in (" + sprintIds + ") AND updated >= \"" + jqlSince(squad) + "\"");
+    }
+
     // ══════════════════════════════════════════
     // Sync Affect Versions depuis Jira
     // ══════════════════════════════════════════
@@ -164,37 +346,68 @@ public class JiraSyncService {
 
     /**
      * Synchronise les sprints de toutes les escouades qui ont un boardId.
+     *
+     * Escouades en parallèle sur des virtual threads (jira.sync-concurrency),
+     * chacune avec sa propre écriture courte : un échec n'annule pas les autres, et
+     * l'écriture d'une escouade recouvre les fetchs Jira des suivantes.
+     * Les requêtes Jira restent plafonnées globalement par JiraClient
+     * (jira.max-concurrent-requests). Résultats dans l'ordre des escouades ;
+     * {@code progress} est notifié dès qu'une escouade termine (voir JiraSyncJobService).
      */
-    @Transactional
-    public List<SprintSyncResult> syncAllSquads() {
+    public List<SprintSyncResult> syncAllSquads(SyncProgress progress) {
         assertConfigured();
 
-        var squads = squadRepo.findAllWithMembers();
-        var results = new ArrayList<SprintSyncResult>();
-
-        for (var squad : squads) {
-            if (squad.getBoardId() != null && !squad.getBoardId().isBlank()) {
-                try {
-                    results.add(syncSquadSprint(squad.getId()));
-                } catch (Exception e) {
-                    log.error("Sync failed for squad {}: {}", squad.getName(), e.getMessage());
-                    results.add(SprintSyncResult.builder()
-                            .squadId(squad.getId())
-                            .squadName(squad.getName())
-                            .error(e.getMessage())
-                            .syncedAt(LocalDateTime.now())
-                            .build());
-                }
-            }
+        var squads = squadRepo.findAllWithMembers().stream()
+                .filter(squad -> squad.getBoardId() != null && !squad.getBoardId().isBlank())
+                .toList();
+        progress.started(squads.size());
+        var slots = new Semaphore(Math.max(1, jiraProps.getSyncConcurrency()));
+        long t0 = System.nanoTime();
+
+        List<Future<SprintSyncResult>> futures;
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            futures = squads.stream()
+                    .map(squad -> executor.submit(() -> {
+                        var result = syncSquadIsolated(squad, slots);
+                        progress.squadDone(result);
+                        return result;
+                    }))
+                    .toList();
         }
+        var results = futures.stream().map(Future::resultNow).toList();
 
-        // Invalider le cache après la synchronisation
-        log.info("Invalidating sprint cache after sync");
-        sprintCacheService.forceRefresh();
-
+        long errors = results.stream().filter(r -> r.getError() != null).count();
+        log.info("Sync all — {} escouades en {}ms ({} en erreur)",
+                results.size(), (System.nanoTime() - t0) / 1_000_000, errors);
         return results;
     }
 
+    private SprintSyncResult syncSquadIsolated(Squad squad, Semaphore slots) {
+        try {
+            slots.acquire();
+            try {
+                return syncSquadSprint(squad.getId());
+            } finally {
+                slots.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return failedResult(squad, "Sync interrompue");
+        } catch (Exception e) {
+            log.error("Sync failed for squad {}: {}", squad.getName(), e.getMessage());
+            return failedResult(squad, e.getMessage());
+        }
+    }
+
+    private static SprintSyncResult failedResult(Squad squad, String error) {
+        return SprintSyncResult.builder()
+                .squadId(squad.getId())
+                .squadName(squad.getName())
+                .error(error)
+                .syncedAt(LocalDateTime.now())
+                .build();
+    }
+
     // ══════════════════════════════════════════
     // Lecture des données synchronisées
     // ══════════════════════════════════════════
@@ -214,23 +427,276 @@ public class JiraSyncService {
         return sprintRepo.findBySquadIdOrderBySyncedAtDesc(squadId);
     }
 
+    // ══════════════════════════════════════════
+    // Sync incrémentale
+    // ══════════════════════════════════════════
+
+    /** @return raison d'une sync complète d'après l'escouade, ou null si l'incrémental est possible */
+    private String fullSyncReason(Squad squad) {
+        if (squad.getJiraSyncMark() == null) return "aucun high-water mark";
+        if (squad.getJiraFullSyncAt() == null
+                || squad.getJiraFullSyncAt().isBefore(OffsetDateTime.now().minusHours(jiraProps.getFullReconcileHours()))) {
+            return "réconciliation périodique";
+        }
+        return null;
+    }
+
+    /** @return raison d'une sync complète si un sprint suivi n'est pas encore en base */
+    private static String newSprintReason(List<JiraSprint> tracked, Map<Long, Set<String>> known) {
+        for (var sprint : tracked) {
+            if (!known.containsKey(sprint.getId())) return "nouveau sprint " + sprint.getName();
+        }
+        return null;
+    }
+
+    /**
+     * Sprint report des sprints fermés (jira.closed-sprint-report) : un appel par
+     * sprint pas encore résumé en base, aucun pour ceux déjà résumés (sauf sync
+     * forcée). Un sprint dont le report échoue reste suivi par la recherche JQL.
+     *
+     * @return report par sprint Jira ; valeur null pour un sprint déjà résumé
+     */
+    private Map<Long, SprintReport> fetchSprintReports(JiraBoard board, List<JiraSprint> closed, boolean forceFull) {
+        var reports = new HashMap<Long, SprintReport>();
+        if (!jiraProps.isClosedSprintReport() || closed.isEmpty()) return reports;
+
+        var ids = closed.stream().map(JiraSprint::getId).toList();
+        var reported = forceFull ? Set.<Long>of()
+                : transactionTemplate.execute(status -> sprintRepo.findReportedJiraSprintIds(ids));
+        for (var sprint : closed) {
+            if (reported.contains(sprint.getId())) {
+                reports.put(sprint.getId(), null);
+                continue;
+            }
+            try {
+                var report = jiraClient.getSprintReport(board.getId(), sprint.getId());
+                if (report != null && report.getContents() != null) reports.put(sprint.getId(), report);
+            } catch (ResponseStatusException e) {
+                // JiraCallGovernor traduit tout échec (404/403 greenhopper, corps illisible) en 502/503
+                log.warn("Sprint report indisponible pour {} ({}) — issues via JQL", sprint.getName(), e.getReason());
+            }
+        }
+        return reports;
+    }
+
+    /** Clés des issues en base, par sprint Jira suivi déjà synchronisé. */
+    private Map<Long, Set<String>> knownIssueKeys(Collection<Long> sprintIds) {
+        var known = new HashMap<Long, Set<String>>();
+        if (sprintIds.isEmpty()) return known;
+        for (var sprint : sprintRepo.findByJiraSprintIdIn(sprintIds)) {
+            known.put(sprint.getJiraSprintId(),
+                    sprint.getIssues().stream().map(SprintIssue::getIssueKey).collect(Collectors.toSet()));
+        }
+        return known;
+    }
+
+    /**
+     * Une seule recherche JQL sur l'ensemble des sprints suivis.
+     *
+     * @return issues modifiées depuis le mark (par clé), ou null si trop nombreuses
+     */
+    private Map<String, IssueRow> fetchChangedIssues(Squad squad, List<JiraSprint> tracked) {
+        if (tracked.isEmpty()) return Map.of();
+
+        var sprintIds = tracked.stream().map(s -> String.valueOf(s.getId())).collect(Collectors.joining(","));
+        var jql = "sprint in (" + sprintIds + ") AND updated >= \"" + jqlSince(squad) + "\" ORDER BY updated ASC";
+
+        int limit = jiraProps.getIncrementalMaxChanges();
+        var result = jiraClient.searchIssues(jql, limit);
+        if (result.total() > limit) return null;
+
+        var changes = new LinkedHashMap<String, IssueRow>();
+        for (var issue : result.issues()) changes.put(issue.key(), issue);
+        return changes;
+    }
+
+    /**
+     * Métadonnées du sprint + fusion des issues modifiées (mise à jour en place,
+     * ajout ou retrait selon le champ Sprint), puis recalcul des stats.
+     */
+    private SprintSync mergeSprint(JiraSprint jiraSprint, SprintSync entity, Map<String, IssueRow> changes,
+                                   Squad squad, JiraBoard board) {
+        applySprint(entity, jiraSprint, squad, board);
+        var seen = new HashSet<String>();
+        for (var it = entity.getIssues().iterator(); it.hasNext(); ) {
+            var issue = it.next();
+            var changed = changes.get(issue.getIssueKey());
+            if (changed == null) continue;
+            seen.add(changed.key());
+            if (changed.hasSprintInfo() && !changed.inSprint(jiraSprint.getId())) {
+                issue.setSprintSync(null);
+                it.remove();
+            } else {
+                applyIssue(issue, changed);
+            }
+        }
+        for (var changed : changes.values()) {
+            if (!seen.contains(changed.key()) && changed.inSprint(jiraSprint.getId())) {
+                addIssue(entity, changed);
+            }
+        }
+        updateStats(entity);
+        return sprintRepo.save(entity);
+    }
+
+    /** Chaque issue modifiée est soit déjà connue, soit placable via son champ Sprint. */
+    private static boolean placeable(Map<Long, Set<String>> known, Collection<IssueRow> changes) {
+        return changes.stream().allMatch(c -> c.hasSprintInfo()
+                || known.values().stream().anyMatch(keys -> keys.contains(c.key())));
+    }
+
+    private static OffsetDateTime maxUpdated(Collection<IssueRow> issues, OffsetDateTime current) {
+        var max = current;
+        for (var issue : issues) {
+            var updated = issue.updated();
+            if (updated != null && (max == null || updated.isAfter(max))) max = updated;
+        }
+        return max;
+    }
+
+    /** High-water mark moins le recouvrement, au format JQL. */
+    private String jqlSince(Squad squad) {
+        return squad.getJiraSyncMark()
+                .minusMinutes(jiraProps.getIncrementalOverlapMinutes())
+                .atZoneSameInstant(jqlZone())
+                .format(JQL_DATE);
+    }
+
+    private ZoneId jqlZone() {
+        var zone = jiraProps.getJqlTimeZone();
+        return zone == null || zone.isBlank() ? ZoneId.systemDefault() : ZoneId.of(zone);
+    }
+
     // ══════════════════════════════════════════
     // Persist
     // ══════════════════════════════════════════
 
-    private SprintSync persistSprint(JiraSprint jiraSprint, List<JiraIssue> issues,
-                                      Squad squad, JiraBoard board) {
-        var existing = sprintRepo.findByJiraSprintId(jiraSprint.getId());
-        SprintSync entity;
+    /**
+     * Issues des sprints suivis pour la sync complète, réparties par sprint au fil
+     * des pages : la file bornée de JiraClient.streamIssuesForSprints recouvre le
+     * décodage / la répartition et les pages encore en vol. Rien n'est écrit ici :
+     * les pages de la JQL groupée mêlent les sprints, aucun n'est complet avant la
+     * fin du flux, et l'écriture reste atomique par escouade (mark, verrou).
+     *
+     * Si la 1re page ne porte pas le champ Sprint, repli sur un appel par sprint.
+     */
+    private Map<Long, List<IssueRow>> fetchAllIssues(List<Long> sprintIds) {
+        var bySprint = new LinkedHashMap<Long, List<IssueRow>>();
+        for (var id : sprintIds) bySprint.put(id, new ArrayList<>());
+        if (sprintIds.isEmpty()) return bySprint;
+
+        long t0 = System.nanoTime();
+        int rows = 0, pages = 0;
+        boolean noSprintField = false;
+        try (var stream = jiraClient.streamIssuesForSprints(sprintIds)) {
+            for (List<IssueRow> page; (page = stream.next()) != null; ) {
+                if (pages++ == 0 && !page.isEmpty() && page.stream().noneMatch(IssueRow::hasSprintInfo)) {
+                    noSprintField = true;
+                    break;
+                }
+                for (var row : page) {
+                    if (row.sprintIds() == null) continue;
+                    for (long sprintId : row.sprintIds()) {
+                        var issues = bySprint.get(sprintId);
+                        if (issues != null) issues.add(row);
+                    }
+                }
+                rows += page.size();
+            }
+        }
+        // Hors du try : pipeline fermé (pages en vol abandonnées) avant les appels de repli
+        if (noSprintField) {
+            log.warn("Champ sprint {} absent des résultats JQL — repli sur un appel par sprint",
+                    jiraProps.getSprintField());
+            bySprint.replaceAll((id, issues) -> jiraClient.getSprintIssues(id));
+            return bySprint;
+        }
+        log.debug("Sync complète — sprints={} {} issues / {} pages en {}ms",
+                sprintIds, rows, pages, (System.nanoTime() - t0) / 1_000_000);
+        return bySprint;
+    }
 
-        if (existing.isPresent()) {
-            entity = existing.get();
+    /** Sprint existant vidé de ses issues et de son résumé, ou nouveau ; métadonnées à jour, entité managée. */
+    private SprintSync prepareSprint(JiraSprint jiraSprint, Squad squad, JiraBoard board) {
+        var entity = sprintRepo.findByJiraSprintId(jiraSprint.getId()).orElse(null);
+        if (entity != null) {
             entity.clearIssues();
+            entity.clearReport();
         } else {
             entity = new SprintSync();
             entity.setJiraSprintId(jiraSprint.getId());
         }
+        applySprint(entity, jiraSprint, squad, board);
+        return sprintRepo.save(entity);
+    }
+
+    private SprintSync persistSprint(JiraSprint jiraSprint, List<IssueRow> issues,
+                                      Squad squad, JiraBoard board) {
+        var entity = prepareSprint(jiraSprint, squad, board);
+        for (var issue : issues) addIssue(entity, issue);
+        updateStats(entity);
+        return sprintRepo.save(entity);
+    }
+
+    /**
+     * Sprint fermé depuis son sprint report : issues terminées + non terminées, stats
+     * recalculées dessus, et résumé (retirées, ajoutées en cours, terminées ailleurs).
+     */
+    private SprintSync persistReport(JiraSprint jiraSprint, SprintReport report, Squad squad, JiraBoard board) {
+        var contents = report.getContents();
+        var entity = prepareSprint(jiraSprint, squad, board);
+        for (var issue : contents.getCompletedIssues()) addIssue(entity, reportRow(issue, true));
+        for (var issue : contents.getIssuesNotCompletedInCurrentSprint()) addIssue(entity, reportRow(issue, false));
+        updateStats(entity);
+
+        entity.setPuntedIssues(contents.getPuntedIssues().size());
+        entity.setPuntedStoryPoints(contents.getPuntedIssuesEstimateSum() != null
+                ? contents.getPuntedIssuesEstimateSum().getValue() : null);
+        entity.setAddedIssues(contents.getIssueKeysAddedDuringSprint().size());
+        entity.setCompletedElsewhereIssues(contents.getIssuesCompletedInAnotherSprint().size());
+        entity.setReportSyncedAt(OffsetDateTime.now());
+        log.debug("Sprint report — {} : {} terminées, {} non terminées, {} retirées, {} ajoutées",
+                jiraSprint.getName(), entity.getDoneIssues(), entity.getTotalIssues() - entity.getDoneIssues(),
+                entity.getPuntedIssues(), entity.getAddedIssues());
+        return sprintRepo.save(entity);
+    }
 
+    /** Sprint fermé déjà résumé : métadonnées seules, issues et résumé conservés. */
+    private SprintSync refreshSprint(JiraSprint jiraSprint, Squad squad, JiraBoard board) {
+        var entity = sprintRepo.findByJiraSprintId(jiraSprint.getId())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.CONFLICT,
+                        "Sprint supprimé pendant la sync: " + jiraSprint.getName()));
+        applySprint(entity, jiraSprint, squad, board);
+        return sprintRepo.save(entity);
+    }
+
+    /** Issue du sprint report ; ni versions ni dates (absentes du report). */
+    private static IssueRow reportRow(SprintReportIssue issue, boolean done) {
+        var estimate = issue.getCurrentEstimateStatistic() != null ? issue.getCurrentEstimateStatistic()
+                : issue.getEstimateStatistic();
+        var category = issue.getStatus() != null && issue.getStatus().getStatusCategory() != null
+                ? issue.getStatus().getStatusCategory().getKey() : null;
+        return new IssueRow(
+                issue.getKey(),
+                issue.getSummary(),
+                issue.getTypeName(),
+                issue.getStatusName(),
+                done ? "done" : category,
+                issue.getPriorityName(),
+                estimate != null && estimate.getStatFieldValue() != null ? estimate.getStatFieldValue().getValue() : null,
+                issue.getAssigneeName(),
+                issue.getAssignee(),
+                null, null, null, null, null, null);
+    }
+
+    static SprintIssue addIssue(SprintSync entity, IssueRow issue) {
+        var issueEntity = new SprintIssue();
+        applyIssue(issueEntity, issue);
+        entity.addIssue(issueEntity);
+        return issueEntity;
+    }
+
+    private void applySprint(SprintSync entity, JiraSprint jiraSprint, Squad squad, JiraBoard board) {
         entity.setSquad(squad);
         entity.setName(jiraSprint.getName());
         entity.setState(jiraSprint.getState() != null ? jiraSprint.getState().toLowerCase() : "unknown");
@@ -240,58 +706,44 @@ public class JiraSyncService {
         entity.setCompleteDate(parseDateTime(jiraSprint.getCompleteDate()));
         entity.setBoardId(board.getId());
         entity.setProjectKey(board.getLocation() != null ? board.getLocation().getProjectKey() : null);
+    }
+
+    static void applyIssue(SprintIssue target, IssueRow issue) {
+        target.setIssueKey(issue.key());
+        target.setSummary(issue.summary());
+        target.setIssueType(issue.issueType());
+        target.setStatusName(issue.statusName());
+        target.setStatusCategory(issue.isDone() ? "done" : issue.statusCategory());
+        target.setPriority(issue.priority());
+        target.setStoryPoints(issue.storyPoints() != null && issue.storyPoints() > 0 ? issue.storyPoints() : null);
+        target.setAssigneeName(issue.assigneeName());
+        target.setAssigneeUsername(issue.assigneeUsername());
+        target.setFixVersion(issue.fixVersion());
+        target.setAffectVersion(issue.affectVersion());
+        target.setCreatedAt(issue.created());
+        target.setUpdatedAt(issue.updated());
+        target.setResolutionDate(issue.resolutionDate());
+    }
 
-        // Stats
-        int totalIssues = issues.size();
+    /** Stats recalculées depuis les issues persistées du sprint. */
+    static void updateStats(SprintSync entity) {
         int doneIssues = 0;
         double totalSp = 0;
         double doneSp = 0;
 
-        for (var issue : issues) {
-            var fields = issue.getFields();
-            if (fields == null) continue;
-
-            boolean isDone = fields.getStatus() != null
-                    && fields.getStatus().getStatusCategory() != null
-                    && "done".equalsIgnoreCase(fields.getStatus().getStatusCategory().getKey());
-
-            double sp = fields.getStoryPoints() != null ? fields.getStoryPoints() : 0;
+        for (var issue : entity.getIssues()) {
+            double sp = issue.getStoryPoints() != null ? issue.getStoryPoints() : 0;
             totalSp += sp;
-            if (isDone) {
+            if ("done".equals(issue.getStatusCategory())) {
                 doneIssues++;
                 doneSp += sp;
             }
-
-            // Persist issue
-            var issueEntity = SprintIssue.builder()
-                    .issueKey(issue.getKey())
-                    .summary(fields.getSummary())
-                    .issueType(fields.getIssuetype() != null ? fields.getIssuetype().getName() : null)
-                    .statusName(fields.getStatus() != null ? fields.getStatus().getName() : null)
-                    .statusCategory(isDone ? "done"
-                            : fields.getStatus() != null && fields.getStatus().getStatusCategory() != null
-                            ? fields.getStatus().getStatusCategory().getKey() : null)
-                    .priority(fields.getPriority() != null ? fields.getPriority().getName() : null)
-                    .storyPoints(sp > 0 ? sp : null)
-                    .assigneeName(fields.getAssignee() != null ? fields.getAssignee().getDisplayName() : null)
-                    .assigneeUsername(fields.getAssignee() != null ? fields.getAssignee().getName() : null)
-                    .fixVersion(fields.getFixVersions() != null && !fields.getFixVersions().isEmpty()
-                            ? fields.getFixVersions().getFirst().getName() : null)
-                    .affectVersion(fields.getVersions() != null && !fields.getVersions().isEmpty()
-                            ? fields.getVersions().getFirst().getName() : null)
-                    .createdAt(fields.getCreated())
-                    .updatedAt(fields.getUpdated())
-                    .resolutionDate(fields.getResolutiondate())
-                    .build();
-            entity.addIssue(issueEntity);
         }
 
-        entity.setTotalIssues(totalIssues);
+        entity.setTotalIssues(entity.getIssues().size());
         entity.setDoneIssues(doneIssues);
         entity.setTotalStoryPoints(totalSp);
         entity.setDoneStoryPoints(doneSp);
-
-        return sprintRepo.save(entity);
     }
 
     // ══════════════════════════════════════════
@@ -310,26 +762,14 @@ public class JiraSyncService {
     }
 
     private LocalDateTime parseDateTime(String iso) {
-        if (iso == null || iso.isBlank()) return null;
-        try {
-            return OffsetDateTime.parse(iso).toLocalDateTime();
-        } catch (Exception e) {
-            log.debug("Failed to parse datetime: {}", iso);
-            return null;
-        }
+        return JiraDateParser.parseLocalDateTime(iso);
     }
 
     private LocalDate parseDate(String dateStr) {
-        if (dateStr == null || dateStr.isBlank()) return null;
-        try {
-            return LocalDate.parse(dateStr);
-        } catch (Exception e) {
-            log.debug("Failed to parse date: {}", dateStr);
-            return null;
-        }
+        return JiraDateParser.parseDate(dateStr);
     }
 
-    private void assertConfigured() {
+    void assertConfigured() {
         if (!jiraProps.isConfigured()) {
             throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
                     "Jira non configuré. Définir JIRA_PAT_TOKEN ou JIRA_USERNAME/JIRA_PASSWORD.");
@@ -340,6 +780,29 @@ public class JiraSyncService {
     // Result DTOs internes
     // ══════════════════════════════════════════
 
+    /** Progression de {@link #syncAllSquads}, notifiée depuis les threads de sync. */
+    public interface SyncProgress {
+        void started(int squads);
+
+        void squadDone(SprintSyncResult result);
+    }
+
+    /**
+     * Données Jira d'une sync, récupérées hors transaction : changes (incrémental) ou
+     * issues (complète) pour les sprints suivis ; reports pour les sprints fermés hors JQL.
+     */
+    private record Fetched(
+            JiraBoard board,
+            JiraSprint active,
+            List<JiraSprint> closed,
+            List<JiraSprint> future,
+            List<JiraSprint> tracked,
+            Map<Long, SprintReport> reports,
+            String fullReason,
+            Map<String, IssueRow> changes,
+            Map<Long, List<IssueRow>> issues
+    ) {}
+
     @lombok.Getter @lombok.Setter @lombok.Builder @lombok.NoArgsConstructor @lombok.AllArgsConstructor
     public static class SprintSyncResult {
         private String squadId;
@@ -349,6 +812,13 @@ public class JiraSyncService {
         private SprintSync activeSprint;
         private List<SprintSync> closedSprints;
         private List<SprintSync> futureSprints;
+        /** full | incremental */
+        private String mode;
+        /** Issues modifiées fusionnées (sync incrémentale) */
+        private Integer changedIssues;
+        /** Durées des phases Jira (hors transaction) et écriture */
+        private Long fetchMs;
+        private Long writeMs;
         private String error;
         private LocalDateTime syncedAt;
     }
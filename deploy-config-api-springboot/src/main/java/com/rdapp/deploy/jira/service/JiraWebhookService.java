@@ -0,0 +1,393 @@
+package com.rdapp.deploy.jira.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rdapp.deploy.entity.SprintIssue;
+import com.rdapp.deploy.entity.SprintSync;
+import com.rdapp.deploy.entity.Squad;
+import com.rdapp.deploy.jira.client.JiraIssueDecoder;
+import com.rdapp.deploy.jira.config.JiraProperties;
+import com.rdapp.deploy.jira.dto.JiraDtos.IssueRow;
+import com.rdapp.deploy.jira.dto.JiraDtos.JiraSprint;
+import com.rdapp.deploy.mapper.JiraDateParser;
+import com.rdapp.deploy.mapper.SprintMapper;
+import com.rdapp.deploy.model.SprintTicket;
+import com.rdapp.deploy.repository.SprintIssueRepository;
+import com.rdapp.deploy.repository.SprintSyncRepository;
+import com.rdapp.deploy.repository.SquadRepository;
+import com.rdapp.deploy.service.SprintCacheBus;
+import com.rdapp.deploy.service.SprintCacheService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Webhooks Jira DC (POST /v1/jira/webhook) : deltas appliqués depuis la charge
+ * de l'événement, sans appel Jira.
+ *
+ *   jira:issue_created / jira:issue_updated → issue mise à jour, ajoutée ou retirée
+ *                                             des sprints locaux selon son champ Sprint
+ *   jira:issue_deleted                      → issue retirée de tous les sprints locaux
+ *   sprint_started / sprint_closed          → état et dates du sprint ; un sprint démarré
+ *                                             déclenche une sync complète de l'escouade
+ *
+ * Sans jira.webhook.secret, l'endpoint est refusé (404) : le secret est obligatoire.
+ *
+ * Les rafales sont coalescées : seul le dernier état de chaque issue / sprint reçu
+ * pendant jira.webhook.coalesce-millis est appliqué, par transactions de
+ * jira.webhook.batch-size issues, puis reporté en place dans la vue globale en cache.
+ * La sync périodique reste la réconciliation (événement perdu, issue hors sprint suivi).
+ *
+ * Métriques : jira.webhook.events{event}, jira.webhook.applied{kind}
+ */
+@Service
+@Slf4j
+public class JiraWebhookService {
+
+    private final JiraIssueDecoder issueDecoder;
+    private final ObjectMapper objectMapper;
+    private final JiraProperties jiraProps;
+    private final SprintSyncRepository sprintRepo;
+    private final SprintIssueRepository issueRepo;
+    private final SquadRepository squadRepo;
+    private final SprintCacheService sprintCacheService;
+    private final SprintCacheBus cacheBus;
+    private final SprintMapper sprintMapper;
+    private final JiraSyncService syncService;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry registry;
+
+    private final ConcurrentHashMap<String, IssueDelta> pendingIssues = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, SprintDelta> pendingSprints = new ConcurrentHashMap<>();
+
+    /** Syncs complètes après démarrage de sprint, au plus jira.sync-concurrency à la fois */
+    private final ExecutorService sprintSyncs;
+    /** Escouade en attente ou en cours de sync → nouvelle sync demandée pendant celle-ci */
+    private final ConcurrentHashMap<String, Boolean> sprintSyncRequests = new ConcurrentHashMap<>();
+
+    public JiraWebhookService(JiraIssueDecoder issueDecoder, ObjectMapper objectMapper, JiraProperties jiraProps,
+                              SprintSyncRepository sprintRepo, SprintIssueRepository issueRepo,
+                              SquadRepository squadRepo, SprintCacheService sprintCacheService, SprintCacheBus cacheBus,
+                              SprintMapper sprintMapper, JiraSyncService syncService,
+                              TransactionTemplate transactionTemplate, MeterRegistry registry) {
+        this.issueDecoder = issueDecoder;
+        this.objectMapper = objectMapper;
+        this.jiraProps = jiraProps;
+        this.sprintRepo = sprintRepo;
+        this.issueRepo = issueRepo;
+        this.squadRepo = squadRepo;
+        this.sprintCacheService = sprintCacheService;
+        this.cacheBus = cacheBus;
+        this.sprintMapper = sprintMapper;
+        this.syncService = syncService;
+        this.transactionTemplate = transactionTemplate;
+        this.registry = registry;
+        this.sprintSyncs = Executors.newFixedThreadPool(Math.max(1, jiraProps.getSyncConcurrency()),
+                Thread.ofVirtual().name("jira-webhook-sync-", 0).factory());
+        var webhook = jiraProps.getWebhook();
+        if (webhook.isEnabled() && !hasSecret(webhook.getSecret())) {
+            log.warn("Webhook Jira sans secret (jira.webhook.secret) — appels refusés");
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        sprintSyncs.shutdownNow();
+    }
+
+    // ══════════════════════════════════════════
+    // Réception
+    // ══════════════════════════════════════════
+
+    /**
+     * Met l'événement en attente d'application (prochaine fenêtre de coalescence).
+     *
+     * @throws ResponseStatusException 404 webhook désactivé ou sans secret, 401 secret invalide, 400 charge illisible
+     */
+    public void accept(String secret, JsonNode payload) {
+        var webhook = jiraProps.getWebhook();
+        if (!webhook.isEnabled()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Webhook Jira désactivé");
+        }
+        if (!hasSecret(webhook.getSecret())) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Webhook Jira désactivé : jira.webhook.secret non configuré");
+        }
+        if (!matches(webhook.getSecret(), secret)) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Secret webhook Jira invalide");
+        }
+
+        var event = payload.path("webhookEvent").asText("");
+        registry.counter("jira.webhook.events", "event", event.isEmpty() ? "unknown" : event).increment();
+        switch (event) {
+            case "jira:issue_created", "jira:issue_updated" -> queueIssue(payload, false);
+            case "jira:issue_deleted" -> queueIssue(payload, true);
+            case "sprint_started", "sprint_closed" -> queueSprint(payload, "sprint_started".equals(event));
+            default -> log.debug("Webhook Jira ignoré : {}", event);
+        }
+    }
+
+    // ══════════════════════════════════════════
+    // Application (coalescée)
+    // ══════════════════════════════════════════
+
+    @Scheduled(initialDelayString = "${jira.webhook.coalesce-millis:1000}",
+            fixedDelayString = "${jira.webhook.coalesce-millis:1000}")
+    public void flush() {
+        if (!pendingSprints.isEmpty()) applySprints(drain(pendingSprints));
+        if (!pendingIssues.isEmpty()) applyIssues(drain(pendingIssues));
+    }
+
+    private void applyIssues(Map<String, IssueDelta> deltas) {
+        var batch = new LinkedHashMap<String, IssueDelta>();
+        for (var entry : deltas.entrySet()) {
+            batch.put(entry.getKey(), entry.getValue());
+            if (batch.size() >= Math.max(1, jiraProps.getWebhook().getBatchSize())) {
+                applyIssueBatch(batch);
+                batch = new LinkedHashMap<>();
+            }
+        }
+        if (!batch.isEmpty()) applyIssueBatch(batch);
+    }
+
+    /** Une transaction par lot ; un lot en échec est abandonné (rattrapé à la prochaine sync). */
+    private void applyIssueBatch(Map<String, IssueDelta> batch) {
+        try {
+            var tickets = transactionTemplate.execute(status -> applyIssueDeltas(batch));
+            sprintCacheService.applyTicketChanges(tickets.upserts(), tickets.removals());
+            cacheBus.announce(tickets.squadIds());
+            registry.counter("jira.webhook.applied", "kind", "issue").increment(batch.size());
+            log.debug("Webhook Jira — {} issues appliquées", batch.size());
+        } catch (RuntimeException e) {
+            log.error("Webhook Jira — échec sur {} issues ({}) : {}", batch.size(), batch.keySet(), e.getMessage());
+        }
+    }
+
+    private TicketChanges applyIssueDeltas(Map<String, IssueDelta> batch) {
+        var rowsByKey = issueRepo.findByIssueKeyInWithSprint(batch.keySet()).stream()
+                .collect(Collectors.groupingBy(SprintIssue::getIssueKey));
+        var sprintIds = new HashSet<Long>();
+        for (var delta : batch.values()) {
+            if (delta.deleted() || !delta.row().hasSprintInfo()) continue;
+            for (long id : delta.row().sprintIds()) sprintIds.add(id);
+        }
+        Map<Long, SprintSync> sprints = sprintIds.isEmpty() ? Map.of() : sprintRepo.findByJiraSprintIdIn(sprintIds)
+                .stream().collect(Collectors.toMap(SprintSync::getJiraSprintId, Function.identity()));
+
+        var touched = new LinkedHashSet<SprintSync>();
+        var upserts = new LinkedHashMap<String, SprintTicket>();
+        var removals = new HashSet<String>();
+        for (var entry : batch.entrySet()) {
+            var delta = entry.getValue();
+            var row = delta.row();
+            SprintIssue active = null;
+            var present = new HashSet<Long>();
+
+            for (var issue : rowsByKey.getOrDefault(entry.getKey(), List.of())) {
+                var sprint = issue.getSprintSync();
+                if (delta.deleted() || (row.hasSprintInfo() && !row.inSprint(sprint.getJiraSprintId()))) {
+                    sprint.getIssues().remove(issue);
+                    issue.setSprintSync(null);
+                } else {
+                    JiraSyncService.applyIssue(issue, row);
+                    present.add(sprint.getJiraSprintId());
+                    if ("active".equals(sprint.getState())) active = issue;
+                }
+                touched.add(sprint);
+            }
+
+            if (!delta.deleted() && row.hasSprintInfo()) {
+                for (long id : row.sprintIds()) {
+                    var sprint = sprints.get(id);
+                    if (sprint == null || !present.add(id)) continue;
+                    // Persist explicite : la collection du sprint peut être encore non chargée
+                    var added = issueRepo.save(JiraSyncService.addIssue(sprint, row));
+                    touched.add(sprint);
+                    if ("active".equals(sprint.getState())) active = added;
+                }
+            }
+
+            if (active != null) upserts.put(entry.getKey(), sprintMapper.toSprintTicket(active));
+            else removals.add(entry.getKey());
+        }
+
+        var squadIds = new HashSet<String>();
+        for (var sprint : touched) {
+            JiraSyncService.updateStats(sprint);
+            sprintRepo.save(sprint);
+            if ("active".equals(sprint.getState()) && sprint.getSquad() != null) squadIds.add(sprint.getSquad().getId());
+        }
+        return new TicketChanges(upserts, removals, squadIds);
+    }
+
+    /**
+     * Métadonnées des sprints connus localement ; un sprint démarré change le
+     * périmètre suivi (ses issues n'étaient pas synchronisées) : sync complète des
+     * escouades du board, hors du thread de coalescence ({@link #requestFullSync}).
+     */
+    private void applySprints(Map<Long, SprintDelta> deltas) {
+        List<String> squadIds;
+        try {
+            squadIds = transactionTemplate.execute(status -> applySprintDeltas(deltas));
+        } catch (RuntimeException e) {
+            log.error("Webhook Jira — échec sur les sprints {} : {}", deltas.keySet(), e.getMessage());
+            return;
+        }
+        registry.counter("jira.webhook.applied", "kind", "sprint").increment(deltas.size());
+        cacheBus.publishAll();
+
+        squadIds.forEach(this::requestFullSync);
+    }
+
+    /**
+     * Une seule sync par escouade en attente ou en cours : un événement reçu pendant
+     * la sync en demande une seule autre, à sa fin (la première a pu lire Jira avant
+     * le démarrage du sprint).
+     */
+    private void requestFullSync(String squadId) {
+        var queued = new boolean[1];
+        sprintSyncRequests.compute(squadId, (id, rerun) -> {
+            queued[0] = rerun == null;
+            return !queued[0];
+        });
+        if (queued[0]) {
+            sprintSyncs.execute(() -> runFullSync(squadId));
+        } else {
+            log.debug("Webhook Jira — sync de {} déjà demandée", squadId);
+        }
+    }
+
+    private void runFullSync(String squadId) {
+        do {
+            try {
+                syncService.syncSquadSprint(squadId, true);
+            } catch (RuntimeException e) {
+                log.warn("Webhook Jira — sync après démarrage de sprint en échec pour {} : {}", squadId, e.getMessage());
+            }
+        } while (!sprintSyncRequests.remove(squadId, false) && sprintSyncRequests.replace(squadId, true, false));
+    }
+
+    private List<String> applySprintDeltas(Map<Long, SprintDelta> deltas) {
+        var local = sprintRepo.findByJiraSprintIdIn(deltas.keySet()).stream()
+                .collect(Collectors.toMap(SprintSync::getJiraSprintId, Function.identity()));
+        var startedBoards = new LinkedHashSet<Long>();
+        for (var delta : deltas.values()) {
+            var sprint = delta.sprint();
+            var entity = local.get(sprint.getId());
+            if (entity != null) {
+                if (sprint.getName() != null) entity.setName(sprint.getName());
+                if (sprint.getState() != null) entity.setState(sprint.getState().toLowerCase());
+                if (sprint.getGoal() != null) entity.setGoal(sprint.getGoal());
+                if (sprint.getStartDate() != null) entity.setStartDate(JiraDateParser.parseLocalDateTime(sprint.getStartDate()));
+                if (sprint.getEndDate() != null) entity.setEndDate(JiraDateParser.parseLocalDateTime(sprint.getEndDate()));
+                if (sprint.getCompleteDate() != null) entity.setCompleteDate(JiraDateParser.parseLocalDateTime(sprint.getCompleteDate()));
+                sprintRepo.save(entity);
+            }
+            if (delta.started()) {
+                long boardId = sprint.getOriginBoardId() != 0 ? sprint.getOriginBoardId()
+                        : entity != null && entity.getBoardId() != null ? entity.getBoardId() : 0;
+                if (boardId != 0) startedBoards.add(boardId);
+            }
+            log.info("Webhook Jira — sprint {} ({}) → {}{}", sprint.getId(), sprint.getName(), sprint.getState(),
+                    entity == null ? " (inconnu localement)" : "");
+        }
+
+        var squadIds = new ArrayList<String>();
+        for (var boardId : startedBoards) {
+            squadRepo.findByJiraBoardId(boardId).stream().map(Squad::getId).forEach(squadIds::add);
+        }
+        return squadIds;
+    }
+
+    // ── Helpers ──
+
+    private void queueIssue(JsonNode payload, boolean deleted) {
+        var node = payload.get("issue");
+        if (node == null || !node.isObject()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Webhook Jira : champ issue absent");
+        }
+        IssueRow row;
+        try (var parser = objectMapper.treeAsTokens(node)) {
+            parser.nextToken();
+            row = issueDecoder.readIssue(parser);
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Webhook Jira : issue illisible: " + e.getMessage());
+        }
+        if (row == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Webhook Jira : issue sans clé");
+        }
+        pendingIssues.merge(row.key(), new IssueDelta(row, deleted), IssueDelta::latest);
+    }
+
+    private void queueSprint(JsonNode payload, boolean started) {
+        var node = payload.get("sprint");
+        if (node == null || !node.isObject() || !node.hasNonNull("id")) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Webhook Jira : champ sprint absent");
+        }
+        JiraSprint sprint;
+        try {
+            sprint = objectMapper.treeToValue(node, JiraSprint.class);
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Webhook Jira : sprint illisible: " + e.getMessage());
+        }
+        pendingSprints.merge(sprint.getId(), new SprintDelta(sprint, started),
+                (previous, next) -> new SprintDelta(next.sprint(), previous.started() || next.started()));
+    }
+
+    private static <K, V> Map<K, V> drain(ConcurrentHashMap<K, V> pending) {
+        var drained = new LinkedHashMap<K, V>();
+        for (var key : pending.keySet()) {
+            var value = pending.remove(key);
+            if (value != null) drained.put(key, value);
+        }
+        return drained;
+    }
+
+    private static boolean hasSecret(String secret) {
+        return secret != null && !secret.isBlank();
+    }
+
+    private static boolean matches(String expected, String actual) {
+        return actual != null && MessageDigest.isEqual(
+                expected.getBytes(StandardCharsets.UTF_8), actual.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // ══════════════════════════════════════════
+    // Types
+    // ══════════════════════════════════════════
+
+    private record IssueDelta(IssueRow row, boolean deleted) {
+        /** Suppression définitive ; sinon l'état le plus récent (updated), à défaut le dernier reçu. */
+        static IssueDelta latest(IssueDelta previous, IssueDelta next) {
+            if (previous.deleted()) return previous;
+            if (next.deleted()) return next;
+            var before = previous.row().updated();
+            var after = next.row().updated();
+            return before != null && after != null && after.isBefore(before) ? previous : next;
+        }
+    }
+
+    private record SprintDelta(JiraSprint sprint, boolean started) {}
+
+    private record TicketChanges(Map<String, SprintTicket> upserts, Set<String> removals, Set<String> squadIds) {}
+}
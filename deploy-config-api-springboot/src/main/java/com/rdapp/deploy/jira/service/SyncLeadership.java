@@ -0,0 +1,238 @@
+package com.rdapp.deploy.jira.service;
+
+import com.rdapp.deploy.jira.config.JiraProperties;
+import com.rdapp.deploy.repository.SyncLockRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Coordination des syncs entre répliques (jira.cluster.enabled), via les verrous à
+ * bail de sync_lock.
+ *
+ * Leader : un seul nœud détient « sync-leader » et exécute les syncs planifiées
+ * (JiraSyncScheduler). Bail renouvelé toutes les jira.cluster.renew-seconds ; les
+ * autres nœuds candidatent au même rythme et prennent la relève à expiration.
+ *
+ * Partitioning (jira.cluster.partitioning) : chaque nœud tient aussi un heartbeat
+ * « node:{id} » au même rythme ; les nœuds vivants forment un anneau de hachage
+ * cohérent (jira.cluster.virtual-nodes points par nœud) et chacun ne planifie que les
+ * escouades qui lui reviennent ({@link #owns}). Un nœud qui arrive ou disparaît ne
+ * déplace que sa part ; les autres la reprennent au renouvellement suivant l'expiration.
+ *
+ * Escouade : une sync (fetch + écriture) détient « squad:{id} » ; un autre nœud
+ * qui tente la même escouade reçoit 409 au lieu d'écrire en parallèle (y compris
+ * pendant un rééquilibrage, où deux nœuds peuvent brièvement s'en croire responsables).
+ * Le bail est prolongé tout au long de la sync (tiers de jira.cluster.squad-lease-seconds)
+ * et confirmé dans la transaction d'écriture ({@link #confirmSquadLock}) : une sync dont
+ * le bail a expiré ou été repris n'écrit rien.
+ *
+ * Désactivé (une seule réplique) : toujours leader, aucun verrou pris.
+ *
+ * Métriques : jira.cluster.leader, jira.cluster.members
+ */
+@Component
+@Slf4j
+public final class SyncLeadership {
+
+    private static final String LEADER_LOCK = "sync-leader";
+    private static final String NODE_PREFIX = "node:";
+    private static final String SQUAD_PREFIX = "squad:";
+
+    private final SyncLockRepository lockRepo;
+    private final JiraProperties.Cluster config;
+    private final String nodeId;
+    private volatile boolean leader;
+    private volatile Ring ring = new Ring(List.of(), 0);
+
+    public SyncLeadership(SyncLockRepository lockRepo, JiraProperties props, MeterRegistry registry) {
+        this.lockRepo = lockRepo;
+        this.config = props.getCluster();
+        this.nodeId = config.getNodeId() == null || config.getNodeId().isBlank() ? defaultNodeId() : config.getNodeId();
+        Gauge.builder("jira.cluster.leader", this, l -> l.isLeader() ? 1 : 0).register(registry);
+        Gauge.builder("jira.cluster.members", this, l -> l.ring.members.size()).register(registry);
+        if (config.isEnabled()) log.info("Cluster — nœud {}", nodeId);
+    }
+
+    /** Prise ou renouvellement du bail de leader, heartbeat et membres vivants. */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${jira.cluster.renew-seconds:10}", timeUnit = TimeUnit.SECONDS)
+    public void renew() {
+        if (!config.isEnabled()) return;
+        var lease = Duration.ofSeconds(config.getLeaseSeconds());
+        boolean now;
+        List<String> members = List.of();
+        try {
+            now = lockRepo.tryAcquire(LEADER_LOCK, nodeId, lease);
+            if (config.isPartitioning() && lockRepo.tryAcquire(NODE_PREFIX + nodeId, nodeId, lease)) {
+                members = lockRepo.liveOwners(NODE_PREFIX);
+            }
+        } catch (RuntimeException e) {
+            // Base injoignable : impossible de garantir l'exclusivité
+            log.warn("Cluster — renouvellement du bail impossible: {}", e.getMessage());
+            now = false;
+        }
+        if (now != leader) log.info("Cluster — nœud {} {}", nodeId, now ? "devient leader" : "n'est plus leader");
+        leader = now;
+        if (!members.equals(ring.members)) {
+            ring = new Ring(members, config.getVirtualNodes());
+            if (config.isPartitioning()) log.info("Cluster — membres {} : escouades réparties", members);
+        }
+    }
+
+    public boolean isLeader() {
+        return !config.isEnabled() || leader;
+    }
+
+    /**
+     * Ce nœud doit-il planifier la sync de l'escouade : toujours sans cluster, selon
+     * l'anneau en partitioning, sinon s'il est leader. Sans heartbeat valide, aucune.
+     */
+    public boolean owns(String squadId) {
+        if (!config.isEnabled()) return true;
+        if (!config.isPartitioning()) return leader;
+        return nodeId.equals(ring.owner(squadId));
+    }
+
+    /** Ce nœud, le leader actuel (bail non expiré) et les membres de l'anneau. */
+    public State state() {
+        return new State(config.isEnabled(), nodeId, isLeader(),
+                config.isEnabled() ? lockRepo.owner(LEADER_LOCK) : nodeId,
+                config.isPartitioning(), ring.members);
+    }
+
+    /**
+     * Exécute {@code work} sous le verrou de l'escouade. À appeler hors transaction.
+     *
+     * @throws ResponseStatusException 409 si un autre nœud synchronise déjà l'escouade
+     */
+    public <T> T withSquadLock(String squadId, Supplier<T> work) {
+        if (!config.isEnabled()) return work.get();
+        var name = SQUAD_PREFIX + squadId;
+        var lease = Duration.ofSeconds(config.getSquadLeaseSeconds());
+        if (!lockRepo.tryAcquire(name, nodeId, lease)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "Sync de l'escouade en cours sur un autre nœud (" + lockRepo.owner(name) + ")");
+        }
+        var renewer = Thread.ofVirtual().name("squad-lease-" + squadId).start(() -> renewWhileRunning(name, lease));
+        try {
+            return work.get();
+        } finally {
+            renewer.interrupt();
+            lockRepo.release(name, nodeId);
+        }
+    }
+
+    /**
+     * À appeler dans la transaction d'écriture d'une sync : prolonge le bail de
+     * l'escouade dans cette transaction, la ligne reste verrouillée jusqu'au commit.
+     *
+     * @throws ResponseStatusException 409 si le bail a expiré ou été repris par un autre nœud
+     */
+    public void confirmSquadLock(String squadId) {
+        if (!config.isEnabled()) return;
+        var name = SQUAD_PREFIX + squadId;
+        if (!lockRepo.renew(name, nodeId, Duration.ofSeconds(config.getSquadLeaseSeconds()))) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "Bail de sync de l'escouade perdu (" + lockRepo.owner(name) + ") — écriture abandonnée");
+        }
+    }
+
+    @PreDestroy
+    void resign() {
+        if (!config.isEnabled()) return;
+        try {
+            // Heartbeat retiré : les autres nœuds reprennent sa part sans attendre l'expiration
+            if (config.isPartitioning()) lockRepo.release(NODE_PREFIX + nodeId, nodeId);
+            if (leader) {
+                leader = false;
+                lockRepo.release(LEADER_LOCK, nodeId);
+                log.info("Cluster — nœud {} relâche le leadership", nodeId);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Cluster — bail non relâché (expirera): {}", e.getMessage());
+        }
+    }
+
+    // ── Helpers ──
+
+    /** Prolonge le bail d'escouade jusqu'à interruption (fin de la sync) ou perte du bail. */
+    private void renewWhileRunning(String name, Duration lease) {
+        var every = lease.dividedBy(3);
+        while (true) {
+            try {
+                Thread.sleep(every);
+                if (!lockRepo.renew(name, nodeId, lease)) {
+                    if (!Thread.currentThread().isInterrupted()) log.warn("Cluster — bail {} perdu pendant la sync", name);
+                    return;
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                // Réessayé au tour suivant ; l'écriture confirmera le bail (confirmSquadLock)
+                log.warn("Cluster — prolongation du bail {} impossible: {}", name, e.getMessage());
+            }
+        }
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "unknown";
+        }
+        return host + "-" + ProcessHandle.current().pid();
+    }
+
+    public record State(boolean enabled, String nodeId, boolean leader, String currentLeader,
+                        boolean partitioning, List<String> members) {}
+
+    /**
+     * Anneau de hachage cohérent : chaque membre y place {@code virtualNodes} points,
+     * une escouade revient au premier point qui suit le hachage de son id.
+     */
+    static final class Ring {
+
+        private final List<String> members;
+        private final TreeMap<Long, String> points = new TreeMap<>();
+
+        Ring(List<String> members, int virtualNodes) {
+            this.members = List.copyOf(members);
+            for (var member : members) {
+                for (int i = 0; i < Math.max(1, virtualNodes); i++) points.put(hash(member + "#" + i), member);
+            }
+        }
+
+        String owner(String key) {
+            if (points.isEmpty()) return null;
+            var point = points.ceilingEntry(hash(key));
+            return point != null ? point.getValue() : points.firstEntry().getValue();
+        }
+
+        private static long hash(String value) {
+            try {
+                var digest = MessageDigest.getInstance("MD5").digest(value.getBytes(StandardCharsets.UTF_8));
+                return ByteBuffer.wrap(digest).getLong();
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
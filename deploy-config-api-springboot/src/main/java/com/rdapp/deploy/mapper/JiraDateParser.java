@@ -0,0 +1,120 @@
+package com.rdapp.deploy.mapper;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.OffsetDateTime;
+import java.time.Year;
+import java.time.ZoneOffset;
+
+/**
+ * Parsing des dates Jira sans exception ni regex.
+ *
+ * Formats acceptés :
+ *   2024-01-15T10:30:00.000+0000   (REST API v2 : created, updated, resolutiondate)
+ *   2024-01-15T10:30:00.000Z       (Agile API : startDate, endDate, completeDate)
+ *   2024-01-15T10:30:00+01:00      (offset avec ':' et/ou sans millisecondes)
+ *   2024-01-15                     (releaseDate des versions)
+ *
+ * Toute valeur invalide ou vide → {@code null}.
+ */
+public final class JiraDateParser {
+
+    private JiraDateParser() {}
+
+    /**
+     * Date-heure avec offset. Une date seule est interprétée à minuit UTC.
+     */
+    public static OffsetDateTime parseDateTime(String s) {
+        if (s == null) return null;
+        int len = s.length();
+        if (len < 10) return null;
+
+        int year = digits(s, 0, 4);
+        int month = digits(s, 5, 2);
+        int day = digits(s, 8, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || s.charAt(4) != '-' || s.charAt(7) != '-') return null;
+        if (day > Month.of(month).length(Year.isLeap(year))) return null;
+
+        if (len == 10) return OffsetDateTime.of(year, month, day, 0, 0, 0, 0, ZoneOffset.UTC);
+        if (len < 19 || (s.charAt(10) != 'T' && s.charAt(10) != ' ')) return null;
+
+        int hour = digits(s, 11, 2);
+        int minute = digits(s, 14, 2);
+        int second = digits(s, 17, 2);
+        if (hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59
+                || s.charAt(13) != ':' || s.charAt(16) != ':') return null;
+
+        // Fraction de seconde optionnelle (1 à 9 chiffres)
+        int pos = 19;
+        int nanos = 0;
+        if (pos < len && s.charAt(pos) == '.') {
+            int start = ++pos;
+            while (pos < len && isDigit(s.charAt(pos)) && pos - start < 9) {
+                nanos = nanos * 10 + (s.charAt(pos) - '0');
+                pos++;
+            }
+            if (pos == start) return null;
+            while (pos < len && isDigit(s.charAt(pos))) pos++;   // au-delà de la nanoseconde : ignoré
+            for (int k = pos - start; k < 9; k++) nanos *= 10;
+        }
+
+        var offset = parseOffset(s, pos);
+        if (offset == null) return null;
+        return OffsetDateTime.of(year, month, day, hour, minute, second, nanos, offset);
+    }
+
+    /**
+     * Date-heure locale (heure murale de l'offset d'origine), pour les colonnes TIMESTAMP.
+     */
+    public static LocalDateTime parseLocalDateTime(String s) {
+        var odt = parseDateTime(s);
+        return odt != null ? odt.toLocalDateTime() : null;
+    }
+
+    /**
+     * Date seule ; accepte aussi un préfixe date d'une date-heure.
+     */
+    public static LocalDate parseDate(String s) {
+        var odt = parseDateTime(s);
+        return odt != null ? odt.toLocalDate() : null;
+    }
+
+    // ── Helpers ──
+
+    /** Offset en fin de chaîne : absent (UTC), Z, ±HH, ±HHMM ou ±HH:MM. */
+    private static ZoneOffset parseOffset(String s, int pos) {
+        int len = s.length();
+        if (pos == len) return ZoneOffset.UTC;
+        char c = s.charAt(pos);
+        if (c == 'Z' && pos + 1 == len) return ZoneOffset.UTC;
+        if (c != '+' && c != '-') return null;
+
+        int hours = digits(s, pos + 1, 2);
+        int minutes = 0;
+        int rest = len - (pos + 3);
+        if (rest == 2) minutes = digits(s, pos + 3, 2);
+        else if (rest == 3 && s.charAt(pos + 3) == ':') minutes = digits(s, pos + 4, 2);
+        else if (rest != 0) return null;
+
+        if (hours < 0 || hours > 18 || minutes < 0 || minutes > 59 || (hours == 18 && minutes > 0)) return null;
+        int total = hours * 3600 + minutes * 60;
+        return ZoneOffset.ofTotalSeconds(c == '-' ? -total : total);
+    }
+
+    /** Entier positif sur {@code count} chiffres à partir de {@code from}, sinon -1. */
+    private static int digits(String s, int from, int count) {
+        if (from + count > s.length()) return -1;
+        int value = 0;
+        for (int k = from; k < from + count; k++) {
+            char c = s.charAt(k);
+            if (!isDigit(c)) return -1;
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
@@ -8,12 +8,18 @@ import com.rdapp.deploy.model.SprintInfo;
 import com.rdapp.deploy.model.SprintTicket;
 import org.springframework.stereotype.Component;
 
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
 /**
  * Mapper pour convertir les entités Sprint en modèles de réponse API.
  */
 @Component
 public class SprintMapper {
 
+    /** completedDate : heure UTC sans offset, ex. 2025-01-22T14:30:00 (cf. SPRINT_API_README) */
+    private static final DateTimeFormatter COMPLETED_DATE = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
     /**
      * Convertit une entité SprintSync en SprintInfo.
      */
@@ -63,7 +69,8 @@ public class SprintMapper {
         // Champs spécifiques selon le statut
         if ("done".equalsIgnoreCase(issue.getStatusCategory())) {
             ticket.setVersion(issue.getFixVersion());
-            ticket.setCompletedDate(issue.getResolutionDate());
+            ticket.setCompletedDate(issue.getResolutionDate() != null ?
+                issue.getResolutionDate().withOffsetSameInstant(ZoneOffset.UTC).format(COMPLETED_DATE) : null);
         }
 
         // Affect Version - disponible pour tous les tickets
@@ -0,0 +1,79 @@
+package com.rdapp.deploy.migration;
+
+import com.rdapp.deploy.mapper.JiraDateParser;
+import liquibase.change.custom.CustomTaskChange;
+import liquibase.database.Database;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.CustomChangeException;
+import liquibase.exception.ValidationErrors;
+import liquibase.resource.ResourceAccessor;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+
+/**
+ * Backfill du changeset 8 : recopie created_at / updated_at / resolution_date
+ * (VARCHAR au format Jira) vers les nouvelles colonnes *_ts typées.
+ *
+ * Le parsing passe par {@link JiraDateParser} (mêmes règles que l'ingest) ;
+ * les valeurs illisibles deviennent NULL au lieu de faire échouer la migration.
+ */
+public class SprintIssueTimestampBackfill implements CustomTaskChange {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private int updated;
+
+    @Override
+    public void execute(Database database) throws CustomChangeException {
+        var con = ((JdbcConnection) database.getConnection()).getUnderlyingConnection();
+        try (var select = con.prepareStatement(
+                     "SELECT id, created_at, updated_at, resolution_date FROM sprint_issue");
+             var update = con.prepareStatement(
+                     "UPDATE sprint_issue SET created_at_ts = ?, updated_at_ts = ?, resolution_date_ts = ? WHERE id = ?");
+             var rs = select.executeQuery()) {
+
+            int pending = 0;
+            while (rs.next()) {
+                setTimestamp(update, 1, rs.getString(2));
+                setTimestamp(update, 2, rs.getString(3));
+                setTimestamp(update, 3, rs.getString(4));
+                update.setLong(4, rs.getLong(1));
+                update.addBatch();
+                updated++;
+                if (++pending == BATCH_SIZE) {
+                    update.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) update.executeBatch();
+        } catch (SQLException e) {
+            throw new CustomChangeException("Backfill sprint_issue timestamps échoué", e);
+        }
+    }
+
+    private static void setTimestamp(PreparedStatement ps, int index, String raw) throws SQLException {
+        var value = JiraDateParser.parseDateTime(raw);
+        if (value != null) ps.setObject(index, value);
+        else ps.setNull(index, Types.TIMESTAMP_WITH_TIMEZONE);
+    }
+
+    @Override
+    public String getConfirmationMessage() {
+        return "sprint_issue : " + updated + " lignes backfillées";
+    }
+
+    @Override
+    public void setUp() {
+    }
+
+    @Override
+    public void setFileOpener(ResourceAccessor resourceAccessor) {
+    }
+
+    @Override
+    public ValidationErrors validate(Database database) {
+        return new ValidationErrors();
+    }
+}
@@ -0,0 +1,55 @@
+package com.rdapp.deploy.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Invalidations de cache entre répliques.
+ *
+ * PostgreSQL : pg_notify sur un canal, aucune écriture. Autres bases (H2) : une ligne
+ * par invalidation dans cache_invalidation, lue par curseur sur l'id et purgée après
+ * cache.invalidation.retention-minutes.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CacheInvalidationRepository {
+
+    private static final String NOTIFY = "SELECT pg_notify(?, ?)";
+    private static final String INSERT = "INSERT INTO cache_invalidation (origin, squad_ids, published_at) VALUES (?, ?, ?)";
+    private static final String AFTER = "SELECT id, origin, squad_ids, published_at FROM cache_invalidation WHERE id > ? ORDER BY id";
+    private static final String LAST_ID = "SELECT COALESCE(MAX(id), 0) FROM cache_invalidation";
+    private static final String PURGE = "DELETE FROM cache_invalidation WHERE published_at < ?";
+
+    private final JdbcTemplate jdbc;
+
+    /** PostgreSQL : livré aux sessions en LISTEN au commit de la transaction courante. */
+    public void notify(String channel, String payload) {
+        jdbc.query(NOTIFY, (ResultSetExtractor<Void>) rs -> null, channel, payload);
+    }
+
+    public void insert(String origin, String squadIds, OffsetDateTime publishedAt) {
+        jdbc.update(INSERT, origin, squadIds, publishedAt);
+    }
+
+    /** Invalidations publiées après {@code lastId}, dans l'ordre. */
+    public List<Row> findAfter(long lastId) {
+        return jdbc.query(AFTER, (rs, i) -> new Row(rs.getLong("id"), rs.getString("origin"),
+                rs.getString("squad_ids"), rs.getObject("published_at", OffsetDateTime.class)), lastId);
+    }
+
+    public long lastId() {
+        Long id = jdbc.queryForObject(LAST_ID, Long.class);
+        return id != null ? id : 0;
+    }
+
+    public int purgeBefore(OffsetDateTime limit) {
+        return jdbc.update(PURGE, limit);
+    }
+
+    public record Row(long id, String origin, String squadIds, OffsetDateTime publishedAt) {}
+}
@@ -0,0 +1,206 @@
+package com.rdapp.deploy.repository;
+
+import com.rdapp.deploy.entity.SprintIssue;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Écriture en masse des issues d'un sprint (remplacement complet).
+ *
+ * PostgreSQL (prod) :
+ *   1. COPY sprint_issue_stage FROM STDIN (CSV) — table temporaire de session
+ *   2. Une seule instruction set-based : DELETE des anciennes issues + INSERT depuis le stage
+ *
+ * Autres bases (H2 dev) : DELETE + INSERT JDBC batchés.
+ *
+ * S'exécute dans la transaction courante (connexion partagée avec JPA) :
+ * l'appelant doit avoir flushé le SprintSync parent avant l'appel.
+ */
+@Repository
+@Slf4j
+public class SprintIssueBulkWriter {
+
+    private static final int JDBC_BATCH_SIZE = 500;
+
+    private static final String COLUMNS = "sprint_sync_id, issue_key, summary, issue_type, status_name, "
+            + "status_category, priority, story_points, assignee_name, assignee_username, fix_version, "
+            + "affect_version, created_at, updated_at, resolution_date";
+
+    private static final String CREATE_STAGE = """
+            CREATE TEMP TABLE IF NOT EXISTS sprint_issue_stage (
+                sprint_sync_id    BIGINT,
+                issue_key         VARCHAR(30),
+                summary           VARCHAR(500),
+                issue_type        VARCHAR(30),
+                status_name       VARCHAR(50),
+                status_category   VARCHAR(20),
+                priority          VARCHAR(20),
+                story_points      DOUBLE PRECISION,
+                assignee_name     VARCHAR(100),
+                assignee_username VARCHAR(50),
+                fix_version       VARCHAR(50),
+                affect_version    VARCHAR(50),
+                created_at        TIMESTAMP WITH TIME ZONE,
+                updated_at        TIMESTAMP WITH TIME ZONE,
+                resolution_date   TIMESTAMP WITH TIME ZONE
+            ) ON COMMIT DELETE ROWS""";
+
+    private static final String MERGE_FROM_STAGE = "WITH purged AS (DELETE FROM sprint_issue WHERE sprint_sync_id = ?) "
+            + "INSERT INTO sprint_issue (" + COLUMNS + ") SELECT " + COLUMNS + " FROM sprint_issue_stage";
+
+    private final JdbcTemplate jdbc;
+    private volatile Boolean postgres;
+
+    public SprintIssueBulkWriter(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    /**
+     * Remplace toutes les issues du sprint {@code sprintSyncId} par {@code issues}.
+     *
+     * @return nombre d'issues écrites
+     */
+    public int replaceIssues(long sprintSyncId, List<SprintIssue> issues) {
+        Integer written = jdbc.execute((ConnectionCallback<Integer>) con -> isPostgres(con)
+                ? copyAndMerge(con, sprintSyncId, issues)
+                : batchInsert(con, sprintSyncId, issues));
+        log.debug("Bulk write — sprintSyncId={} issues={}", sprintSyncId, written);
+        return written != null ? written : 0;
+    }
+
+    // ══════════════════════════════════════════
+    // PostgreSQL : COPY + merge
+    // ══════════════════════════════════════════
+
+    private int copyAndMerge(Connection con, long sprintSyncId, List<SprintIssue> issues) throws SQLException {
+        try (var st = con.createStatement()) {
+            st.execute(CREATE_STAGE);
+            st.execute("TRUNCATE sprint_issue_stage");
+        }
+
+        var copyIn = con.unwrap(PGConnection.class).getCopyAPI()
+                .copyIn("COPY sprint_issue_stage (" + COLUMNS + ") FROM STDIN WITH (FORMAT csv)");
+        try {
+            var line = new StringBuilder(256);
+            for (var i : issues) {
+                line.setLength(0);
+                csvRow(line, sprintSyncId, i);
+                var bytes = line.toString().getBytes(StandardCharsets.UTF_8);
+                copyIn.writeToCopy(bytes, 0, bytes.length);
+            }
+            copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) copyIn.cancelCopy();
+        }
+
+        try (var ps = con.prepareStatement(MERGE_FROM_STAGE)) {
+            ps.setLong(1, sprintSyncId);
+            return ps.executeUpdate();
+        }
+    }
+
+    /** Ligne CSV dans l'ordre de COLUMNS, terminée par \n. */
+    static void csvRow(StringBuilder line, long sprintSyncId, SprintIssue i) {
+        line.append(sprintSyncId);
+        csv(line, i.getIssueKey());
+        csv(line, i.getSummary());
+        csv(line, i.getIssueType());
+        csv(line, i.getStatusName());
+        csv(line, i.getStatusCategory());
+        csv(line, i.getPriority());
+        line.append(',');
+        if (i.getStoryPoints() != null) line.append(i.getStoryPoints());
+        csv(line, i.getAssigneeName());
+        csv(line, i.getAssigneeUsername());
+        csv(line, i.getFixVersion());
+        csv(line, i.getAffectVersion());
+        csv(line, i.getCreatedAt());
+        csv(line, i.getUpdatedAt());
+        csv(line, i.getResolutionDate());
+        line.append('\n');
+    }
+
+    /** Champ CSV : null → vide non quoté (NULL pour COPY), sinon quoté avec "" échappés. */
+    private static void csv(StringBuilder line, String value) {
+        line.append(',');
+        if (value == null) return;
+        line.append('"');
+        for (int k = 0; k < value.length(); k++) {
+            char c = value.charAt(k);
+            if (c == '"') line.append('"');
+            line.append(c);
+        }
+        line.append('"');
+    }
+
+    /** Timestamp CSV : ISO-8601 avec secondes et offset, accepté tel quel par timestamptz. */
+    private static void csv(StringBuilder line, OffsetDateTime value) {
+        line.append(',');
+        if (value != null) line.append(value.format(DateTimeFormatter.ISO_OFFSET_DATE_TIME));
+    }
+
+    // ══════════════════════════════════════════
+    // Fallback : DELETE + INSERT batchés
+    // ══════════════════════════════════════════
+
+    private int batchInsert(Connection con, long sprintSyncId, List<SprintIssue> issues) throws SQLException {
+        try (var ps = con.prepareStatement("DELETE FROM sprint_issue WHERE sprint_sync_id = ?")) {
+            ps.setLong(1, sprintSyncId);
+            ps.executeUpdate();
+        }
+
+        int written = 0;
+        try (var ps = con.prepareStatement("INSERT INTO sprint_issue (" + COLUMNS + ") "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (var i : issues) {
+                ps.setLong(1, sprintSyncId);
+                ps.setString(2, i.getIssueKey());
+                ps.setString(3, i.getSummary());
+                ps.setString(4, i.getIssueType());
+                ps.setString(5, i.getStatusName());
+                ps.setString(6, i.getStatusCategory());
+                ps.setString(7, i.getPriority());
+                if (i.getStoryPoints() != null) ps.setDouble(8, i.getStoryPoints());
+                else ps.setNull(8, Types.DOUBLE);
+                ps.setString(9, i.getAssigneeName());
+                ps.setString(10, i.getAssigneeUsername());
+                ps.setString(11, i.getFixVersion());
+                ps.setString(12, i.getAffectVersion());
+                setTimestamp(ps, 13, i.getCreatedAt());
+                setTimestamp(ps, 14, i.getUpdatedAt());
+                setTimestamp(ps, 15, i.getResolutionDate());
+                ps.addBatch();
+                if (++written % JDBC_BATCH_SIZE == 0) ps.executeBatch();
+            }
+            if (written % JDBC_BATCH_SIZE != 0) ps.executeBatch();
+        }
+        return written;
+    }
+
+    // ── Helpers ──
+
+    private static void setTimestamp(PreparedStatement ps, int index, OffsetDateTime value) throws SQLException {
+        if (value != null) ps.setObject(index, value);
+        else ps.setNull(index, Types.TIMESTAMP_WITH_TIMEZONE);
+    }
+
+    private boolean isPostgres(Connection con) throws SQLException {
+        if (postgres == null) {
+            postgres = con.isWrapperFor(PGConnection.class);
+            log.info("Bulk writer — mode {}", postgres ? "COPY (PostgreSQL)" : "JDBC batch");
+        }
+        return postgres;
+    }
+}
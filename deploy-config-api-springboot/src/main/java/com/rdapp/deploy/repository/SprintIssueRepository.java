@@ -0,0 +1,27 @@
+package com.rdapp.deploy.repository;
+
+import com.rdapp.deploy.entity.SprintIssue;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Requêtes par plage de dates — index idx_sprint_issue_updated_at / idx_sprint_issue_resolution_date.
+ */
+@Repository
+public interface SprintIssueRepository extends JpaRepository<SprintIssue, Long> {
+
+    /** Issues mises à jour depuis {@code since} (ex: dernières 24h). */
+    List<SprintIssue> findByUpdatedAtGreaterThanEqualOrderByUpdatedAtDesc(OffsetDateTime since);
+
+    /** Lignes d'une issue dans tous ses sprints locaux (webhook), sprint et escouade chargés. */
+    @Query("SELECT i FROM SprintIssue i JOIN FETCH i.sprintSync s LEFT JOIN FETCH s.squad WHERE i.issueKey IN :keys")
+    List<SprintIssue> findByIssueKeyInWithSprint(Collection<String> keys);
+
+    /** Issues résolues dans [from, to[ (ex: cette semaine). */
+    List<SprintIssue> findByResolutionDateGreaterThanEqualAndResolutionDateLessThan(OffsetDateTime from, OffsetDateTime to);
+}
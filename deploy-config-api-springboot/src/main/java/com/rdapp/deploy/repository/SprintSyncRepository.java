@@ -5,8 +5,10 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface SprintSyncRepository extends JpaRepository<SprintSync, Long> {
@@ -16,18 +18,38 @@ public interface SprintSyncRepository extends JpaRepository<SprintSync, Long> {
     @Query("SELECT s FROM SprintSync s LEFT JOIN FETCH s.issues WHERE s.jiraSprintId = :jiraSprintId")
     Optional<SprintSync> findByJiraSprintIdWithIssues(Long jiraSprintId);
 
+    @Query("SELECT s FROM SprintSync s LEFT JOIN FETCH s.squad WHERE s.jiraSprintId IN :jiraSprintIds")
+    List<SprintSync> findByJiraSprintIdIn(Collection<Long> jiraSprintIds);
+
+    /** Sprints déjà résumés par leur sprint report */
+    @Query("SELECT s.jiraSprintId FROM SprintSync s WHERE s.jiraSprintId IN :jiraSprintIds AND s.reportSyncedAt IS NOT NULL")
+    Set<Long> findReportedJiraSprintIds(Collection<Long> jiraSprintIds);
+
     List<SprintSync> findBySquadIdOrderBySyncedAtDesc(String squadId);
 
     @Query("SELECT s FROM SprintSync s LEFT JOIN FETCH s.issues WHERE s.squad.id = :squadId AND s.state = 'active'")
     Optional<SprintSync> findActiveBySquadId(String squadId);
 
+    @Query("SELECT s.jiraSprintId FROM SprintSync s WHERE s.squad.id = :squadId AND s.state = 'active'")
+    List<Long> findActiveJiraSprintIds(String squadId);
+
     @Query("SELECT s FROM SprintSync s WHERE s.squad.id = :squadId AND s.state = 'closed' ORDER BY s.completeDate DESC")
     List<SprintSync> findClosedBySquadId(String squadId);
 
     List<SprintSync> findByBoardId(Long boardId);
 
+    /** Sprints actifs sans leurs issues */
+    List<SprintSync> findByState(String state);
+
     void deleteByJiraSprintId(Long jiraSprintId);
 
     @Query("SELECT s FROM SprintSync s LEFT JOIN FETCH s.squad LEFT JOIN FETCH s.issues WHERE s.state = 'active' ORDER BY s.startDate DESC")
     List<SprintSync> findAllActiveSprintsWithIssues();
+
+    /** Sprints actifs des escouades données, avec leurs issues (rafraîchissement partiel du cache) */
+    @Query("SELECT s FROM SprintSync s LEFT JOIN FETCH s.squad LEFT JOIN FETCH s.issues WHERE s.state = 'active' AND s.squad.id IN :squadIds")
+    List<SprintSync> findActiveSprintsWithIssuesBySquadIds(Collection<String> squadIds);
+
+    /** Sprint principal de la vue globale (le plus récent des sprints actifs) */
+    Optional<SprintSync> findFirstByStateOrderByStartDateDesc(String state);
 }
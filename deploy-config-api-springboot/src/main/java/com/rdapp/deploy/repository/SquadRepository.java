@@ -18,4 +18,6 @@ public interface SquadRepository extends JpaRepository<Squad, String> {
     Optional<Squad> findByIdWithMembers(String id);
 
     boolean existsByBoardId(String boardId);
+
+    List<Squad> findByJiraBoardId(Long jiraBoardId);
 }
@@ -0,0 +1,79 @@
+package com.rdapp.deploy.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Verrous à bail (table sync_lock), partagés par toutes les répliques.
+ *
+ * Un verrou appartient à son owner jusqu'à expires_at ; passé ce délai n'importe quel
+ * nœud peut le prendre. Prise et renouvellement en une seule instruction (UPDATE
+ * conditionnel, sinon INSERT sur la clé primaire) : SQL portable H2 / PostgreSQL,
+ * sans connexion retenue entre deux appels. Chaque appel est autocommit, sauf s'il
+ * rejoint la transaction en cours ({@link #renew} avant une écriture).
+ *
+ * Dates et expirations calculées par l'horloge de la base (CURRENT_TIMESTAMP) : un
+ * décalage d'horloge entre répliques ne raccourcit ni ne prolonge un bail.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SyncLockRepository {
+
+    private static final String EXPIRES = "CURRENT_TIMESTAMP + CAST(? AS INTEGER) * INTERVAL '1' SECOND";
+    private static final String TAKE = "UPDATE sync_lock SET owner = ?, acquired_at = CURRENT_TIMESTAMP, expires_at = " + EXPIRES
+            + " WHERE name = ? AND (owner = ? OR expires_at < CURRENT_TIMESTAMP)";
+    private static final String RENEW = "UPDATE sync_lock SET expires_at = " + EXPIRES
+            + " WHERE name = ? AND owner = ? AND expires_at >= CURRENT_TIMESTAMP";
+    private static final String INSERT = "INSERT INTO sync_lock (name, owner, acquired_at, expires_at) "
+            + "VALUES (?, ?, CURRENT_TIMESTAMP, " + EXPIRES + ")";
+    private static final String RELEASE = "DELETE FROM sync_lock WHERE name = ? AND owner = ?";
+    private static final String OWNER = "SELECT owner FROM sync_lock WHERE name = ? AND expires_at >= CURRENT_TIMESTAMP";
+    private static final String LIVE_OWNERS = "SELECT owner FROM sync_lock "
+            + "WHERE name LIKE ? AND expires_at >= CURRENT_TIMESTAMP ORDER BY owner";
+
+    private final JdbcTemplate jdbc;
+
+    /**
+     * Prend ou renouvelle le verrou pour {@code lease}.
+     *
+     * @return true si {@code owner} le détient désormais
+     */
+    public boolean tryAcquire(String name, String owner, Duration lease) {
+        if (jdbc.update(TAKE, owner, lease.toSeconds(), name, owner) == 1) return true;
+        try {
+            return jdbc.update(INSERT, name, owner, lease.toSeconds()) == 1;
+        } catch (DuplicateKeyException e) {
+            // Détenu et non expiré (ou pris entre l'UPDATE et l'INSERT)
+            return false;
+        }
+    }
+
+    /**
+     * Prolonge un bail encore détenu par {@code owner}, sans reprendre un verrou expiré
+     * ou relâché entre-temps.
+     *
+     * @return false si le bail est perdu
+     */
+    public boolean renew(String name, String owner, Duration lease) {
+        return jdbc.update(RENEW, lease.toSeconds(), name, owner) == 1;
+    }
+
+    public void release(String name, String owner) {
+        jdbc.update(RELEASE, name, owner);
+    }
+
+    /** Détenteur actuel (bail non expiré), ou null. */
+    public String owner(String name) {
+        return jdbc.query(OWNER, rs -> rs.next() ? rs.getString(1) : null, name);
+    }
+
+    /** Détenteurs des verrous non expirés dont le nom commence par {@code prefix}. */
+    public List<String> liveOwners(String prefix) {
+        return jdbc.queryForList(LIVE_OWNERS, String.class, prefix + "%");
+    }
+}
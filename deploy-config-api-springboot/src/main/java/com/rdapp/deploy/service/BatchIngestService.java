@@ -2,11 +2,15 @@ package com.rdapp.deploy.service;
 
 import com.rdapp.deploy.dto.BatchIngestDto.*;
 import com.rdapp.deploy.entity.*;
+import com.rdapp.deploy.mapper.JiraDateParser;
 import com.rdapp.deploy.repository.AffectVersionRepository;
+import com.rdapp.deploy.repository.SprintIssueBulkWriter;
 import com.rdapp.deploy.repository.SquadRepository;
 import com.rdapp.deploy.repository.SprintSyncRepository;
-import lombok.RequiredArgsConstructor;
+import com.rdapp.deploy.service.IngestMetrics.Phase;
+import com.rdapp.deploy.service.IngestMetrics.PhaseTimer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -14,9 +18,9 @@ import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Service d'ingestion des données envoyées par GitHub Actions.
@@ -25,15 +29,40 @@ import java.util.List;
  *   GHA → GET /v1/squads                  (récupère la config)
  *   GHA → appels Jira DC                  (récupère sprints + issues)
  *   GHA → POST /v1/batch/ingest           (envoie les résultats ici)
+ *
+ * Chaque ingest est chronométré par phase (lookup, diff, flush) via {@link IngestMetrics}.
+ *
+ * Les sprints volumineux (≥ ingest.bulk-threshold issues, ex: backfill historique)
+ * passent par {@link SprintIssueBulkWriter} : COPY + merge set-based en prod
+ * PostgreSQL, INSERT JDBC batchés sur H2.
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class BatchIngestService {
 
     private final SprintSyncRepository sprintRepo;
     private final SquadRepository squadRepo;
     private final AffectVersionRepository versionRepo;
+    private final IngestMetrics metrics;
+    private final SprintIssueBulkWriter bulkWriter;
+    private final SprintCacheBus cacheBus;
+    private final int bulkThreshold;
+
+    public BatchIngestService(SprintSyncRepository sprintRepo,
+                              SquadRepository squadRepo,
+                              AffectVersionRepository versionRepo,
+                              IngestMetrics metrics,
+                              SprintIssueBulkWriter bulkWriter,
+                              SprintCacheBus cacheBus,
+                              @Value("${ingest.bulk-threshold:500}") int bulkThreshold) {
+        this.sprintRepo = sprintRepo;
+        this.squadRepo = squadRepo;
+        this.versionRepo = versionRepo;
+        this.metrics = metrics;
+        this.bulkWriter = bulkWriter;
+        this.cacheBus = cacheBus;
+        this.bulkThreshold = bulkThreshold;
+    }
 
     // ══════════════════════════════════════════
     // Ingest une escouade
@@ -41,7 +70,8 @@ public class BatchIngestService {
 
     @Transactional
     public IngestResponse ingestSquad(IngestPayload payload) {
-        var squad = squadRepo.findById(payload.getSquadId())
+        var timer = metrics.start();
+        var squad = timer.time(Phase.LOOKUP, () -> squadRepo.findById(payload.getSquadId()))
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
                         "Escouade non trouvée: " + payload.getSquadId()));
 
@@ -50,7 +80,7 @@ public class BatchIngestService {
 
         // Sprint actif
         if (payload.getActiveSprint() != null) {
-            int issues = persistSprint(payload.getActiveSprint(), squad, payload.getBoardId(), payload.getProjectKey());
+            int issues = persistSprint(payload.getActiveSprint(), squad, payload.getBoardId(), payload.getProjectKey(), timer);
             sprintsSaved++;
             issuesSaved += issues;
         }
@@ -58,7 +88,7 @@ public class BatchIngestService {
         // Sprints fermés
         if (payload.getClosedSprints() != null) {
             for (var closed : payload.getClosedSprints()) {
-                issuesSaved += persistSprint(closed, squad, payload.getBoardId(), payload.getProjectKey());
+                issuesSaved += persistSprint(closed, squad, payload.getBoardId(), payload.getProjectKey(), timer);
                 sprintsSaved++;
             }
         }
@@ -66,7 +96,7 @@ public class BatchIngestService {
         // Sprints futurs
         if (payload.getFutureSprints() != null) {
             for (var future : payload.getFutureSprints()) {
-                persistSprint(future, squad, payload.getBoardId(), payload.getProjectKey());
+                persistSprint(future, squad, payload.getBoardId(), payload.getProjectKey(), timer);
                 sprintsSaved++;
             }
         }
@@ -74,11 +104,18 @@ public class BatchIngestService {
         // Versions
         int versionsSaved = 0;
         if (payload.getVersions() != null) {
-            versionsSaved = ingestVersions(payload.getVersions());
+            versionsSaved = ingestVersions(payload.getVersions(), timer);
         }
 
-        log.info("Ingest — squad={} sprints={} issues={} versions={} runId={}",
-                squad.getName(), sprintsSaved, issuesSaved, versionsSaved, payload.getRunId());
+        // Flush explicite : le coût SQL est mesuré ici plutôt qu'au commit
+        timer.run(Phase.FLUSH, sprintRepo::flush);
+        // Cache rafraîchi au commit (regroupé pour un ingest bulk)
+        cacheBus.publish(List.of(squad.getId()));
+        long durationMs = timer.stop(squad.getId(), sprintsSaved, issuesSaved, versionsSaved);
+
+        log.info("Ingest — squad={} sprints={} issues={} versions={} runId={} durationMs={} (lookup={} diff={} flush={})",
+                squad.getName(), sprintsSaved, issuesSaved, versionsSaved, payload.getRunId(), durationMs,
+                timer.millis(Phase.LOOKUP), timer.millis(Phase.DIFF), timer.millis(Phase.FLUSH));
 
         return IngestResponse.builder()
                 .squadId(payload.getSquadId())
@@ -109,6 +146,7 @@ public class BatchIngestService {
                 totalVersions += result.getVersionsSaved();
             } catch (Exception e) {
                 errors.add(squadPayload.getSquadId() + ": " + e.getMessage());
+                metrics.recordFailure(squadPayload.getSquadId());
                 log.error("Ingest failed for squad {}: {}", squadPayload.getSquadId(), e.getMessage());
             }
         }
@@ -128,13 +166,39 @@ public class BatchIngestService {
     // Persist sprint + issues
     // ══════════════════════════════════════════
 
-    private int persistSprint(SprintIngest data, Squad squad, Long boardId, String projectKey) {
-        var existing = sprintRepo.findByJiraSprintId(data.getJiraSprintId());
+    private int persistSprint(SprintIngest data, Squad squad, Long boardId, String projectKey, PhaseTimer timer) {
+        var existing = timer.time(Phase.LOOKUP, () -> sprintRepo.findByJiraSprintId(data.getJiraSprintId()));
+        boolean bulk = data.getIssues() != null && data.getIssues().size() >= bulkThreshold;
+        var issues = new ArrayList<SprintIssue>();
+        var entity = timer.time(Phase.DIFF, () -> applySprint(data, existing, squad, boardId, projectKey, issues));
+
+        if (!bulk) {
+            entity.clearIssues();
+            issues.forEach(entity::addIssue);
+            timer.run(Phase.FLUSH, () -> sprintRepo.save(entity));
+            return entity.getTotalIssues();
+        }
+
+        // Fast path : en-tête via JPA, issues via COPY / JDBC batch
+        timer.run(Phase.FLUSH, () -> {
+            var saved = sprintRepo.saveAndFlush(entity);
+            bulkWriter.replaceIssues(saved.getId(), issues);
+        });
+        return entity.getTotalIssues();
+    }
+
+    /**
+     * Applique les champs du sprint et calcule les stats. Les issues sont
+     * construites dans {@code issues} sans être rattachées à l'entité : le
+     * chemin bulk les remplace en SQL sans charger l'ancienne collection.
+     */
+    private SprintSync applySprint(SprintIngest data, Optional<SprintSync> existing,
+                                   Squad squad, Long boardId, String projectKey,
+                                   List<SprintIssue> issues) {
         SprintSync entity;
 
         if (existing.isPresent()) {
             entity = existing.get();
-            entity.clearIssues();
         } else {
             entity = new SprintSync();
             entity.setJiraSprintId(data.getJiraSprintId());
@@ -161,7 +225,7 @@ public class BatchIngestService {
                 totalIssues++;
                 if (isDone) { doneIssues++; doneSp += sp; }
 
-                entity.addIssue(SprintIssue.builder()
+                issues.add(SprintIssue.builder()
                         .issueKey(issue.getKey())
                         .summary(issue.getSummary())
                         .issueType(issue.getIssueType())
@@ -172,9 +236,9 @@ public class BatchIngestService {
                         .assigneeName(issue.getAssigneeName())
                         .assigneeUsername(issue.getAssigneeUsername())
                         .fixVersion(issue.getFixVersion())
-                        .createdAt(issue.getCreated())
-                        .updatedAt(issue.getUpdated())
-                        .resolutionDate(issue.getResolutionDate())
+                        .createdAt(JiraDateParser.parseDateTime(issue.getCreated()))
+                        .updatedAt(JiraDateParser.parseDateTime(issue.getUpdated()))
+                        .resolutionDate(JiraDateParser.parseDateTime(issue.getResolutionDate()))
                         .build());
             }
         }
@@ -183,16 +247,14 @@ public class BatchIngestService {
         entity.setDoneIssues(doneIssues);
         entity.setTotalStoryPoints(totalSp);
         entity.setDoneStoryPoints(doneSp);
-
-        sprintRepo.save(entity);
-        return totalIssues;
+        return entity;
     }
 
     // ══════════════════════════════════════════
     // Persist versions
     // ══════════════════════════════════════════
 
-    private int ingestVersions(List<VersionIngest> versions) {
+    private int ingestVersions(List<VersionIngest> versions, PhaseTimer timer) {
         int saved = 0;
         for (var v : versions) {
             var id = "jira-" + v.getJiraId();
@@ -200,23 +262,25 @@ public class BatchIngestService {
                     : v.isReleased() ? VersionStatus.RELEASED
                     : VersionStatus.IN_PROGRESS;
 
-            var existing = versionRepo.findById(id);
-            if (existing.isPresent()) {
-                var entity = existing.get();
-                entity.setName(v.getName());
-                entity.setDescription(v.getDescription());
-                entity.setStatus(status);
-                entity.setReleaseDate(parseDate(v.getReleaseDate()));
-                versionRepo.save(entity);
-            } else {
-                versionRepo.save(AffectVersion.builder()
+            var existing = timer.time(Phase.LOOKUP, () -> versionRepo.findById(id));
+            var entity = timer.time(Phase.DIFF, () -> {
+                if (existing.isPresent()) {
+                    var e = existing.get();
+                    e.setName(v.getName());
+                    e.setDescription(v.getDescription());
+                    e.setStatus(status);
+                    e.setReleaseDate(parseDate(v.getReleaseDate()));
+                    return e;
+                }
+                return AffectVersion.builder()
                         .id(id)
                         .name(v.getName())
                         .description(v.getDescription())
                         .status(status)
                         .releaseDate(parseDate(v.getReleaseDate()))
-                        .build());
-            }
+                        .build();
+            });
+            timer.run(Phase.FLUSH, () -> versionRepo.save(entity));
             saved++;
         }
         return saved;
@@ -225,14 +289,10 @@ public class BatchIngestService {
     // ── Helpers ──
 
     private LocalDateTime parseDateTime(String iso) {
-        if (iso == null || iso.isBlank()) return null;
-        try { return OffsetDateTime.parse(iso).toLocalDateTime(); }
-        catch (Exception e) { return null; }
+        return JiraDateParser.parseLocalDateTime(iso);
     }
 
     private LocalDate parseDate(String d) {
-        if (d == null || d.isBlank()) return null;
-        try { return LocalDate.parse(d); }
-        catch (Exception e) { return null; }
+        return JiraDateParser.parseDate(d);
     }
 }
@@ -0,0 +1,210 @@
+package com.rdapp.deploy.service;
+
+import com.rdapp.deploy.config.IngestAdmissionException;
+import com.rdapp.deploy.config.IngestAdmissionProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admission control des ingests batch.
+ *
+ * Pour chaque appelant (token / X-GHA-Actor) :
+ *   1. Token bucket  → requestsPerMinute (+ burst), sinon 429 avec Retry-After = délai du prochain jeton
+ *   2. Sémaphore     → maxConcurrentPerCaller ingests simultanés
+ * Puis sémaphore global → maxConcurrent ingests simultanés.
+ *
+ * Si aucun slot n'est libre, la requête attend dans une file bornée (maxQueue,
+ * queueTimeoutMs) ; file pleine ou attente expirée → 429.
+ *
+ * L'état d'un appelant sans requête depuis callerIdleMinutes (bucket plein, aucun
+ * slot pris) est oublié. Tag caller des métriques : appelants identifiés seulement par
+ * leur IP regroupés sous « anonymous », au-delà de maxTaggedCallers valeurs → « other ».
+ *
+ * Métriques : ingest.admission.{admitted,rejected,wait,in.flight,queued,callers}
+ */
+@Service
+@Slf4j
+public class IngestAdmissionService {
+
+    private final IngestAdmissionProperties props;
+    private final MeterRegistry registry;
+    private final Semaphore global;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Map<String, CallerState> callers = new ConcurrentHashMap<>();
+    private final Set<String> taggedCallers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong nextEviction = new AtomicLong(System.nanoTime());
+    private final Timer waitTimer;
+
+    public IngestAdmissionService(IngestAdmissionProperties props, MeterRegistry registry) {
+        this.props = props;
+        this.registry = registry;
+        this.global = new Semaphore(props.getMaxConcurrent(), true);
+        this.waitTimer = Timer.builder("ingest.admission.wait").register(registry);
+        Gauge.builder("ingest.admission.in.flight", inFlight, AtomicInteger::get).register(registry);
+        Gauge.builder("ingest.admission.queued", queued, AtomicInteger::get).register(registry);
+        Gauge.builder("ingest.admission.callers", callers, Map::size).register(registry);
+    }
+
+    /**
+     * Réserve un slot d'ingest pour {@code caller}.
+     *
+     * @throws IngestAdmissionException 429 si le débit, la file ou l'attente sont dépassés
+     */
+    public Permit acquire(String caller) {
+        long now = System.nanoTime();
+        evictIdleCallers(now);
+        var state = callers.compute(caller, (c, existing) -> {
+            var current = existing != null ? existing : new CallerState();
+            current.lastUsed = now;
+            return current;
+        });
+
+        long waitNanos = state.bucket.tryConsume();
+        if (waitNanos > 0) {
+            throw reject(caller, "rate", "Débit d'ingest dépassé pour " + caller,
+                    Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1));
+        }
+
+        // Chemin rapide : slots libres immédiatement
+        if (state.slots.tryAcquire()) {
+            if (global.tryAcquire()) return admit(caller, state, 0);
+            state.slots.release();
+        }
+
+        if (queued.incrementAndGet() > props.getMaxQueue()) {
+            queued.decrementAndGet();
+            throw reject(caller, "queue-full", "File d'ingest pleine", props.getRetryAfterSeconds());
+        }
+
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(props.getQueueTimeoutMs());
+        boolean callerSlot = false;
+        try {
+            callerSlot = state.slots.tryAcquire(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            if (callerSlot && global.tryAcquire(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                return admit(caller, state, System.nanoTime() - start);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            queued.decrementAndGet();
+        }
+
+        if (callerSlot) state.slots.release();
+        waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        throw reject(caller, "timeout", "Aucun slot d'ingest disponible", props.getRetryAfterSeconds());
+    }
+
+    // ── Helpers ──
+
+    private Permit admit(String caller, CallerState state, long waitedNanos) {
+        waitTimer.record(waitedNanos, TimeUnit.NANOSECONDS);
+        inFlight.incrementAndGet();
+        registry.counter("ingest.admission.admitted", "caller", callerTag(caller)).increment();
+        return new Permit(state);
+    }
+
+    private IngestAdmissionException reject(String caller, String reason, String message, long retryAfter) {
+        registry.counter("ingest.admission.rejected", "caller", callerTag(caller), "reason", reason).increment();
+        log.warn("Ingest refusé — caller={} reason={} retryAfter={}s", caller, reason, retryAfter);
+        return new IngestAdmissionException(message, retryAfter);
+    }
+
+    /** Cardinalité bornée : l'en-tête X-GHA-Actor et l'IP sont fournis par le client. */
+    private String callerTag(String caller) {
+        if (caller.startsWith("ip:")) return "anonymous";
+        if (taggedCallers.contains(caller)) return caller;
+        if (taggedCallers.size() < props.getMaxTaggedCallers() && taggedCallers.add(caller)) return caller;
+        return "other";
+    }
+
+    /** Au plus une passe par callerIdleMinutes, depuis le chemin d'admission. */
+    private void evictIdleCallers(long now) {
+        long idle = TimeUnit.MINUTES.toNanos(props.getCallerIdleMinutes());
+        long next = nextEviction.get();
+        if (now - next < 0 || !nextEviction.compareAndSet(next, now + idle)) return;
+        long idleBefore = now - idle;
+        for (var caller : callers.keySet()) {
+            callers.computeIfPresent(caller, (c, state) -> state.idleSince(idleBefore) ? null : state);
+        }
+    }
+
+    // ══════════════════════════════════════════
+    // Permit / état par appelant
+    // ══════════════════════════════════════════
+
+    /**
+     * Slot d'ingest réservé ; à libérer en fin de requête.
+     */
+    public final class Permit implements AutoCloseable {
+
+        private final CallerState state;
+        private boolean released;
+
+        private Permit(CallerState state) {
+            this.state = state;
+        }
+
+        @Override
+        public synchronized void close() {
+            if (released) return;
+            released = true;
+            inFlight.decrementAndGet();
+            global.release();
+            state.slots.release();
+        }
+    }
+
+    private final class CallerState {
+        final Semaphore slots = new Semaphore(props.getMaxConcurrentPerCaller(), true);
+        final TokenBucket bucket = new TokenBucket(props.getBurst(), props.getRequestsPerMinute());
+        /** Dernière requête (System.nanoTime), mis à jour sous le verrou de la map */
+        long lastUsed;
+
+        /** Sans requête depuis {@code before} et sans ingest en cours : rien à retenir. */
+        boolean idleSince(long before) {
+            return lastUsed - before < 0 && slots.availablePermits() == props.getMaxConcurrentPerCaller();
+        }
+    }
+
+    /**
+     * Token bucket simple : {@code capacity} jetons, rechargé à {@code perMinute} jetons/min.
+     */
+    private static final class TokenBucket {
+
+        private final double capacity;
+        private final double tokensPerNano;
+        private double tokens;
+        private long lastRefill = System.nanoTime();
+
+        TokenBucket(int capacity, int perMinute) {
+            this.capacity = Math.max(1, capacity);
+            this.tokensPerNano = Math.max(1, perMinute) / (double) TimeUnit.MINUTES.toNanos(1);
+            this.tokens = this.capacity;
+        }
+
+        /** @return 0 si un jeton a été consommé, sinon le délai (ns) avant le prochain jeton */
+        synchronized long tryConsume() {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+            lastRefill = now;
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) / tokensPerNano);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.rdapp.deploy.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Métriques Micrometer de l'ingestion batch (GHA → POST /v1/batch/ingest).
+ *
+ * Exposées via actuator (/actuator/metrics) :
+ *   ingest.phase           Timer   {phase, squad}  deserialize | lookup | diff | flush
+ *   ingest.rows            Counter {kind, squad}   sprints | issues | versions
+ *   ingest.rows.per.second Gauge   {squad}         débit du dernier ingest
+ *   ingest.payload.size    Summary {endpoint}      taille du body reçu (bytes)
+ *   ingest.failures        Counter {squad}
+ *
+ * Le tag squad ne prend que des ids d'escouades résolues en base (cardinalité
+ * bornée par la table squad) : un squadId inconnu ou mal saisi par le client est
+ * compté sous "unknown", et un ingest refusé en 404 ne publie aucun timer.
+ */
+@Component
+public class IngestMetrics {
+
+    public enum Phase {
+        DESERIALIZE, LOOKUP, DIFF, FLUSH;
+
+        String tag() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private final MeterRegistry registry;
+
+    /** Débit du dernier ingest par escouade (bits d'un double). */
+    private final Map<String, AtomicLong> rowsPerSecond = new ConcurrentHashMap<>();
+    /** Escouades vues avec succès par un ingest : seules valeurs du tag squad */
+    private final Set<String> resolvedSquads = ConcurrentHashMap.newKeySet();
+
+    public IngestMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Démarre le chronométrage d'un ingest d'escouade ; rien n'est publié avant
+     * {@link PhaseTimer#stop}, appelé une fois l'escouade résolue.
+     */
+    public PhaseTimer start() {
+        return new PhaseTimer();
+    }
+
+    /** Mesuré avant la résolution de l'escouade : "unknown" pour un id jamais résolu. */
+    public void recordDeserialize(String squadId, long nanos) {
+        phaseTimer(Phase.DESERIALIZE, squadTag(squadId)).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /** Body bulk (toutes les escouades) : tag squad "bulk". */
+    public void recordBulkDeserialize(long nanos) {
+        phaseTimer(Phase.DESERIALIZE, "bulk").record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordPayloadSize(String endpoint, long bytes) {
+        DistributionSummary.builder("ingest.payload.size")
+                .baseUnit("bytes")
+                .tag("endpoint", endpoint)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(bytes);
+    }
+
+    public void recordFailure(String squadId) {
+        Counter.builder("ingest.failures")
+                .tag("squad", squadTag(squadId))
+                .register(registry)
+                .increment();
+    }
+
+    // ── Helpers ──
+
+    private Timer phaseTimer(Phase phase, String squad) {
+        return Timer.builder("ingest.phase")
+                .tag("phase", phase.tag())
+                .tag("squad", squad)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private void updateRate(String squad, double rate) {
+        rowsPerSecond.computeIfAbsent(squad, s -> {
+            var holder = new AtomicLong();
+            Gauge.builder("ingest.rows.per.second", holder, h -> Double.longBitsToDouble(h.get()))
+                    .tag("squad", s)
+                    .register(registry);
+            return holder;
+        }).set(Double.doubleToLongBits(rate));
+    }
+
+    private String squadTag(String squadId) {
+        return squadId != null && resolvedSquads.contains(squadId) ? squadId : "unknown";
+    }
+
+    // ══════════════════════════════════════════
+    // Chronomètre par phase (un ingest d'escouade)
+    // ══════════════════════════════════════════
+
+    /**
+     * Cumule le temps passé dans chaque phase pendant un ingest, puis publie
+     * un seul échantillon par phase à la fin. Non thread-safe : un par ingest.
+     */
+    public final class PhaseTimer {
+
+        private final long startedAt = System.nanoTime();
+        private final long[] nanos = new long[Phase.values().length];
+
+        private PhaseTimer() {}
+
+        public <T> T time(Phase phase, Supplier<T> call) {
+            long t0 = System.nanoTime();
+            try {
+                return call.get();
+            } finally {
+                nanos[phase.ordinal()] += System.nanoTime() - t0;
+            }
+        }
+
+        public void run(Phase phase, Runnable call) {
+            time(phase, () -> {
+                call.run();
+                return null;
+            });
+        }
+
+        /**
+         * Publie les timers de phase, les compteurs de lignes et le débit.
+         *
+         * @param squad id de l'escouade résolue en base
+         * @return durée totale de l'ingest en millisecondes
+         */
+        public long stop(String squad, int sprints, int issues, int versions) {
+            long elapsed = System.nanoTime() - startedAt;
+            resolvedSquads.add(squad);
+
+            for (var phase : Phase.values()) {
+                if (phase != Phase.DESERIALIZE) {
+                    phaseTimer(phase, squad).record(nanos[phase.ordinal()], TimeUnit.NANOSECONDS);
+                }
+            }
+
+            registry.counter("ingest.rows", "kind", "sprints", "squad", squad).increment(sprints);
+            registry.counter("ingest.rows", "kind", "issues", "squad", squad).increment(issues);
+            registry.counter("ingest.rows", "kind", "versions", "squad", squad).increment(versions);
+
+            double seconds = elapsed / 1_000_000_000.0;
+            int rows = sprints + issues + versions;
+            updateRate(squad, seconds > 0 ? rows / seconds : 0);
+
+            return TimeUnit.NANOSECONDS.toMillis(elapsed);
+        }
+
+        public long millis(Phase phase) {
+            return TimeUnit.NANOSECONDS.toMillis(nanos[phase.ordinal()]);
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package com.rdapp.deploy.service;
+
+import com.rdapp.deploy.config.CacheInvalidationProperties;
+import com.rdapp.deploy.repository.CacheInvalidationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Invalidation du cache sprint entre répliques (cache.invalidation.enabled).
+ *
+ * Après le commit d'une sync ou d'un ingest, les escouades touchées sont rafraîchies
+ * dans la vue locale ({@link SprintCacheService#refreshSquads}) puis publiées aux autres
+ * répliques, qui reconstruisent seulement ces escouades. Liste vide = vue entière.
+ *
+ * Transport : NOTIFY sur PostgreSQL (écoute LISTEN sur une connexion dédiée, hors pool
+ * Hikari), sinon (H2) table cache_invalidation lue toutes les poll-interval-ms. Une
+ * réplique ignore ses propres publications ; après une coupure de l'écoute, la vue
+ * locale est invalidée en entier (publications manquées).
+ *
+ * Métriques : sprint.cache.invalidation.published{mode}, .received{mode},
+ * .lag{mode} (publication → application, horloges des répliques supposées synchronisées)
+ */
+@Service
+@Slf4j
+public class SprintCacheBus {
+
+    /** Marge sous la limite de 8000 octets d'un payload NOTIFY */
+    private static final int MAX_PAYLOAD = 7000;
+
+    private final SprintCacheService cacheService;
+    private final CacheInvalidationRepository repo;
+    private final CacheInvalidationProperties config;
+    private final DataSource dataSource;
+    private final DataSourceProperties dataSourceProps;
+    private final TransactionTemplate requiresNew;
+    private final MeterRegistry registry;
+    private final String origin = UUID.randomUUID().toString().substring(0, 8);
+
+    private volatile String mode;
+    private volatile boolean running;
+    private long cursor;
+
+    public SprintCacheBus(SprintCacheService cacheService, CacheInvalidationRepository repo,
+                          CacheInvalidationProperties config, DataSource dataSource,
+                          DataSourceProperties dataSourceProps, PlatformTransactionManager transactionManager,
+                          MeterRegistry registry) {
+        this.cacheService = cacheService;
+        this.repo = repo;
+        this.config = config;
+        this.dataSource = dataSource;
+        this.dataSourceProps = dataSourceProps;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.registry = registry;
+    }
+
+    // ══════════════════════════════════════════
+    // Publication
+    // ══════════════════════════════════════════
+
+    /**
+     * Escouades modifiées : vue locale rafraîchie et autres répliques prévenues, au
+     * commit de la transaction courante (immédiatement hors transaction). Les appels
+     * d'une même transaction sont regroupés en une seule publication.
+     */
+    public void publish(Collection<String> squadIds) {
+        if (squadIds.isEmpty()) return;
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            dispatch(Set.copyOf(squadIds), true);
+            return;
+        }
+        var pending = TransactionSynchronizationManager.getSynchronizations().stream()
+                .filter(Pending.class::isInstance).map(Pending.class::cast).findFirst()
+                .orElseGet(() -> {
+                    var created = new Pending();
+                    TransactionSynchronizationManager.registerSynchronization(created);
+                    return created;
+                });
+        pending.squadIds.addAll(squadIds);
+    }
+
+    /** Vue entière invalidée, ici et sur les autres répliques. */
+    public void publishAll() {
+        dispatch(Set.of(), true);
+    }
+
+    /** Autres répliques seulement : la vue locale a déjà été mise à jour en place (webhook). */
+    public void announce(Collection<String> squadIds) {
+        if (!squadIds.isEmpty()) dispatch(Set.copyOf(squadIds), false);
+    }
+
+    // ══════════════════════════════════════════
+    // Réception
+    // ══════════════════════════════════════════
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!config.isEnabled()) return;
+        mode = resolveMode();
+        running = true;
+        if ("notify".equals(mode)) {
+            Thread.ofPlatform().daemon().name("sprint-cache-listen").start(this::listen);
+        } else {
+            synchronized (this) {
+                cursor = repo.lastId();
+            }
+        }
+        log.info("Cache bus — réplique {} en mode {}", origin, mode);
+    }
+
+    @Scheduled(fixedDelayString = "${cache.invalidation.poll-interval-ms:1000}")
+    public synchronized void poll() {
+        if (!running || !"poll".equals(mode)) return;
+        try {
+            for (var row : repo.findAfter(cursor)) {
+                cursor = row.id();
+                var squadIds = row.squadIds() == null || row.squadIds().isEmpty()
+                        ? List.<String>of() : Arrays.asList(row.squadIds().split(","));
+                receive(row.origin(), squadIds, row.publishedAt().toInstant().toEpochMilli());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Cache bus — lecture des invalidations impossible: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+    }
+
+    // ── Helpers ──
+
+    /** Hors de la transaction d'origine : celle-ci est déjà validée (afterCommit). */
+    private void dispatch(Set<String> squadIds, boolean local) {
+        requiresNew.executeWithoutResult(status -> {
+            if (local) refreshLocal(squadIds);
+            if (running) send(squadIds);
+        });
+    }
+
+    private void refreshLocal(Set<String> squadIds) {
+        try {
+            cacheService.refreshSquads(squadIds);
+        } catch (RuntimeException e) {
+            log.warn("Cache bus — rafraîchissement partiel impossible, vue invalidée: {}", e.getMessage());
+            cacheService.forceRefresh();
+        }
+    }
+
+    private void send(Set<String> squadIds) {
+        var ids = String.join(",", squadIds);
+        try {
+            if ("notify".equals(mode)) {
+                var now = System.currentTimeMillis();
+                repo.notify(config.getChannel(), origin + "|" + now + "|" + (ids.length() > MAX_PAYLOAD ? "" : ids));
+            } else {
+                var now = OffsetDateTime.now();
+                repo.insert(origin, ids.length() > 4000 ? null : ids, now);
+                repo.purgeBefore(now.minusMinutes(config.getRetentionMinutes()));
+            }
+            registry.counter("sprint.cache.invalidation.published", "mode", mode).increment();
+            log.debug("Cache bus — publié {}", squadIds.isEmpty() ? "(vue entière)" : squadIds);
+        } catch (RuntimeException e) {
+            // Les autres répliques restent sur leur vue jusqu'à la prochaine publication
+            log.warn("Cache bus — publication impossible: {}", e.getMessage());
+        }
+    }
+
+    private void receive(String from, List<String> squadIds, long publishedAt) {
+        if (origin.equals(from)) return;
+        var lag = Math.max(0, System.currentTimeMillis() - publishedAt);
+        Timer.builder("sprint.cache.invalidation.lag")
+                .tag("mode", mode)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry)
+                .record(lag, TimeUnit.MILLISECONDS);
+        registry.counter("sprint.cache.invalidation.received", "mode", mode).increment();
+        log.debug("Cache bus — reçu de {} {} ({} ms)", from, squadIds.isEmpty() ? "(vue entière)" : squadIds, lag);
+        refreshLocal(Set.copyOf(squadIds));
+    }
+
+    /** Boucle d'écoute LISTEN, reconnectée après cache.invalidation.reconnect-delay-ms. */
+    private void listen() {
+        boolean reconnect = false;
+        while (running) {
+            try (Connection con = DriverManager.getConnection(dataSourceProps.determineUrl(),
+                    dataSourceProps.determineUsername(), dataSourceProps.determinePassword())) {
+                try (var st = con.createStatement()) {
+                    st.execute("LISTEN " + config.getChannel());
+                }
+                if (reconnect) {
+                    log.info("Cache bus — écoute rétablie, vue invalidée");
+                    cacheService.forceRefresh();
+                }
+                reconnect = true;
+                var pg = con.unwrap(PGConnection.class);
+                while (running) {
+                    var notifications = pg.getNotifications(1000);
+                    if (notifications == null) continue;
+                    for (var n : notifications) {
+                        var parts = n.getParameter().split("\\|", 3);
+                        if (parts.length < 3) continue;
+                        receive(parts[0], parts[2].isEmpty() ? List.of() : Arrays.asList(parts[2].split(",")),
+                                Long.parseLong(parts[1]));
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running) return;
+                log.warn("Cache bus — écoute {} interrompue: {}", config.getChannel(), e.getMessage());
+                try {
+                    Thread.sleep(Duration.ofMillis(config.getReconnectDelayMs()));
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private String resolveMode() {
+        if (!"auto".equals(config.getMode())) return config.getMode();
+        try (var con = dataSource.getConnection()) {
+            return con.isWrapperFor(PGConnection.class) ? "notify" : "poll";
+        } catch (SQLException e) {
+            log.warn("Cache bus — détection de la base impossible, mode poll: {}", e.getMessage());
+            return "poll";
+        }
+    }
+
+    /** Escouades modifiées par la transaction en cours, publiées à son commit. */
+    private final class Pending implements TransactionSynchronization {
+
+        private final Set<String> squadIds = new LinkedHashSet<>();
+
+        @Override
+        public void afterCommit() {
+            dispatch(squadIds, true);
+        }
+    }
+}
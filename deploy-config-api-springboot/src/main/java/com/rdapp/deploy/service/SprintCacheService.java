@@ -8,17 +8,22 @@ import com.rdapp.deploy.entity.VersionStatus;
 import com.rdapp.deploy.mapper.SprintMapper;
 import com.rdapp.deploy.model.AffectVersionInfo;
 import com.rdapp.deploy.model.SprintGlobalResponse;
+import com.rdapp.deploy.model.SprintInfo;
 import com.rdapp.deploy.model.SprintTicket;
 import com.rdapp.deploy.repository.AffectVersionRepository;
 import com.rdapp.deploy.repository.SprintSyncRepository;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.time.ZoneId;
 import java.util.*;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,18 +34,23 @@ public class SprintCacheService {
     private final AffectVersionRepository affectVersionRepository;
     private final SprintMapper sprintMapper;
 
+    private final CacheManager cacheManager;
+
     public SprintCacheService(
             SprintSyncRepository sprintSyncRepository,
             AffectVersionRepository affectVersionRepository,
-            SprintMapper sprintMapper) {
+            SprintMapper sprintMapper,
+            CacheManager cacheManager) {
         this.sprintSyncRepository = sprintSyncRepository;
         this.affectVersionRepository = affectVersionRepository;
         this.sprintMapper = sprintMapper;
+        this.cacheManager = cacheManager;
     }
 
     /**
      * Récupère les sprints actifs avec cache.
-     * Le cache est invalidé par forceRefresh() ou automatiquement après le sync Jira.
+     * Le cache est invalidé par forceRefresh(), ou rafraîchi par escouade après une sync
+     * ou un ingest (SprintCacheBus, propagé aux autres répliques).
      */
     @Cacheable(value = "globalSprint", key = "'current'")
     @Transactional(readOnly = true)
@@ -73,6 +83,70 @@ public class SprintCacheService {
         log.info("Cache cleared - next call will fetch fresh data");
     }
 
+    /**
+     * Mise à jour en place de la vue en cache (webhook Jira) : tickets remplacés ou
+     * retirés par clé, points recalculés. Sans effet si la vue n'est pas en cache ;
+     * invalidée si un ticket appartient à une escouade absente de la vue.
+     */
+    public synchronized void applyTicketChanges(Map<String, SprintTicket> upserts, Set<String> removals) {
+        Cache cache = cacheManager.getCache("globalSprint");
+        SprintGlobalResponse current = cache != null ? cache.get("current", SprintGlobalResponse.class) : null;
+        if (current == null || current.getSprint() == null) return;
+
+        for (SprintTicket ticket : upserts.values()) {
+            if (ticket.getSquad() != null && !current.getSquads().containsKey(ticket.getSquad())) {
+                log.info("Cache cleared - ticket {} from squad outside the cached view", ticket.getTicket());
+                cache.evict("current");
+                return;
+            }
+        }
+
+        Set<String> replaced = new HashSet<>(removals);
+        replaced.addAll(upserts.keySet());
+        cache.put("current", withTickets(current, current.getSprint(),
+                ticket -> !replaced.contains(ticket.getTicket()), upserts.values()));
+        log.debug("Cache patched - {} tickets upserted, {} removed", upserts.size(), removals.size());
+    }
+
+    /**
+     * Reconstruit dans la vue en cache les tickets des escouades données, depuis leurs
+     * sprints actifs en base (après sync ou ingest, ou sur invalidation d'une autre
+     * réplique). Sans effet si la vue n'est pas en cache ; invalidée si la liste est vide,
+     * si une escouade entre dans la vue ou en sort, ou si le sprint principal a changé.
+     */
+    @Transactional(readOnly = true)
+    public synchronized void refreshSquads(Collection<String> squadIds) {
+        Cache cache = cacheManager.getCache("globalSprint");
+        SprintGlobalResponse current = cache != null ? cache.get("current", SprintGlobalResponse.class) : null;
+        if (current == null) return;
+
+        SprintSync mainSprint = sprintSyncRepository.findFirstByStateOrderByStartDateDesc("active").orElse(null);
+        if (squadIds.isEmpty() || current.getSprint() == null || mainSprint == null
+                || !Objects.equals(mainSprint.getName(), current.getSprint().getName())) {
+            log.info("Cache cleared - full rebuild on next call");
+            cache.evict("current");
+            return;
+        }
+
+        List<SprintSync> sprints = sprintSyncRepository.findActiveSprintsWithIssuesBySquadIds(squadIds);
+        Set<String> active = sprints.stream().map(s -> s.getSquad().getId()).collect(Collectors.toSet());
+        for (String squadId : squadIds) {
+            if (active.contains(squadId) != current.getSquads().containsKey(squadId)) {
+                log.info("Cache cleared - squad {} joined or left the cached view", squadId);
+                cache.evict("current");
+                return;
+            }
+        }
+
+        List<SprintTicket> tickets = sprints.stream()
+                .flatMap(sprint -> sprint.getIssues().stream())
+                .map(sprintMapper::toSprintTicket)
+                .collect(Collectors.toList());
+        cache.put("current", withTickets(current, sprintMapper.toSprintInfo(mainSprint),
+                ticket -> ticket.getSquad() == null || !squadIds.contains(ticket.getSquad()), tickets));
+        log.debug("Cache patched - squads {} rebuilt ({} tickets)", squadIds, tickets.size());
+    }
+
     /**
      * Récupère toutes les versions actives (non archivées).
      */
@@ -158,6 +232,46 @@ public class SprintCacheService {
         return response;
     }
 
+    /**
+     * Nouvelle instance de la vue : tickets conservés selon {@code keep} plus
+     * {@code added}, points recalculés. La vue en cours de sérialisation n'est pas modifiée.
+     */
+    private static SprintGlobalResponse withTickets(SprintGlobalResponse current, SprintInfo sprint,
+                                                    Predicate<SprintTicket> keep, Collection<SprintTicket> added) {
+        List<SprintTicket> notStarted = new ArrayList<>();
+        List<SprintTicket> inProgress = new ArrayList<>();
+        List<SprintTicket> done = new ArrayList<>();
+        for (List<SprintTicket> list : List.of(current.getNotStarted(), current.getInProgress(), current.getDone())) {
+            for (SprintTicket ticket : list) {
+                if (keep.test(ticket)) bucket(ticket, notStarted, inProgress, done).add(ticket);
+            }
+        }
+        for (SprintTicket ticket : added) bucket(ticket, notStarted, inProgress, done).add(ticket);
+
+        SprintGlobalResponse patched = new SprintGlobalResponse();
+        patched.setSprint(sprint);
+        patched.setSquads(current.getSquads());
+        patched.setVersions(current.getVersions());
+        patched.setLastSync(Instant.now());
+        patched.setNotStarted(notStarted);
+        patched.setInProgress(inProgress);
+        patched.setDone(done);
+        patched.setTotalPoints(points(notStarted) + points(inProgress) + points(done));
+        patched.setDonePoints(points(done));
+        return patched;
+    }
+
+    private static List<SprintTicket> bucket(SprintTicket ticket, List<SprintTicket> notStarted,
+                                             List<SprintTicket> inProgress, List<SprintTicket> done) {
+        if (ticket.getStatus() == SprintTicket.Status.DONE) return done;
+        if (ticket.getStatus() == SprintTicket.Status.IN_PROGRESS) return inProgress;
+        return notStarted;
+    }
+
+    private static double points(List<SprintTicket> tickets) {
+        return tickets.stream().mapToDouble(t -> t.getStoryPoints() != null ? t.getStoryPoints() : 0).sum();
+    }
+
     private SprintGlobalResponse createEmptyResponse() {
         SprintGlobalResponse response = new SprintGlobalResponse();
         response.setNotStarted(Collections.emptyList());
@@ -5,12 +5,14 @@ import com.rdapp.deploy.entity.Squad;
 import com.rdapp.deploy.entity.SquadMember;
 import com.rdapp.deploy.repository.SquadMemberRepository;
 import com.rdapp.deploy.repository.SquadRepository;
+import com.rdapp.deploy.jira.service.JiraBoardResolver;
 import com.rdapp.deploy.jira.service.JiraSyncService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
@@ -26,7 +28,9 @@ public class SquadService {
     private final SquadRepository squadRepo;
     private final SquadMemberRepository memberRepo;
     private final JiraSyncService jiraSyncService;
+    private final JiraBoardResolver boardResolver;
     private final GitHubDispatchService ghDispatch;
+    private final TransactionTemplate transactionTemplate;
 
     // ══════════════════════════════════════════
     // Squads
@@ -44,30 +48,40 @@ public class SquadService {
         return toResponse(getOrThrow(id));
     }
 
-    @Transactional
+    /** Hors transaction : le board est résolu après le commit, comme dans {@link #syncBoard}. */
     public SquadDto.Response create(SquadDto.Create dto) {
-        var squad = Squad.builder()
-                .id("sq-" + UUID.randomUUID().toString().substring(0, 8))
-                .name(dto.getName())
-                .color(dto.getColor())
-                .boardId(dto.getBoardId())
-                .members(new ArrayList<>())
-                .build();
+        var squad = transactionTemplate.execute(status -> {
+            var entity = Squad.builder()
+                    .id("sq-" + UUID.randomUUID().toString().substring(0, 8))
+                    .name(dto.getName())
+                    .color(dto.getColor())
+                    .boardId(dto.getBoardId())
+                    .members(new ArrayList<>())
+                    .build();
 
-        if (dto.getMembers() != null) {
-            dto.getMembers().forEach(m -> squad.addMember(toMemberEntity(m)));
-        }
+            if (dto.getMembers() != null) {
+                dto.getMembers().forEach(m -> entity.addMember(toMemberEntity(m)));
+            }
+            return squadRepo.save(entity);
+        });
+        boardResolver.refresh(squad);
 
-        return toResponse(squadRepo.save(squad));
+        return toResponse(squad);
     }
 
-    @Transactional
+    /** Hors transaction : un nouveau boardId est résolu après le commit, comme dans {@link #syncBoard}. */
     public SquadDto.Response update(String id, SquadDto.Update dto) {
-        var squad = getOrThrow(id);
-        if (dto.getName() != null)    squad.setName(dto.getName());
-        if (dto.getColor() != null)   squad.setColor(dto.getColor());
-        if (dto.getBoardId() != null)  squad.setBoardId(dto.getBoardId());
-        return toResponse(squadRepo.save(squad));
+        var squad = transactionTemplate.execute(status -> {
+            var entity = getOrThrow(id);
+            if (dto.getName() != null)    entity.setName(dto.getName());
+            if (dto.getColor() != null)   entity.setColor(dto.getColor());
+            if (dto.getBoardId() != null) entity.changeBoardId(dto.getBoardId());
+            return squadRepo.save(entity);
+        });
+        // Jamais recherché (nouveau boardId : changeBoardId a effacé la résolution)
+        if (squad.getJiraBoardResolvedAt() == null) boardResolver.refresh(squad);
+
+        return toResponse(squad);
     }
 
     @Transactional
@@ -124,11 +138,19 @@ public class SquadService {
     // Board Sync
     // ══════════════════════════════════════════
 
-    @Transactional
+    /**
+     * Hors transaction : seul l'enregistrement du boardId est transactionnel ;
+     * la résolution du board, le dispatch GHA et la sync Jira ne retiennent pas
+     * de connexion JDBC pendant les appels HTTP.
+     */
     public SquadDto.BoardSyncResponse syncBoard(String squadId, SquadDto.BoardSyncRequest request) {
-        var squad = getOrThrow(squadId);
-        squad.setBoardId(request.getBoardId());
-        squadRepo.save(squad);
+        var squad = transactionTemplate.execute(status -> {
+            var entity = getOrThrow(squadId);
+            entity.changeBoardId(request.getBoardId());
+            return squadRepo.save(entity);
+        });
+        // Jamais recherché (nouveau boardId : changeBoardId a effacé la résolution)
+        if (squad.getJiraBoardResolvedAt() == null) boardResolver.refresh(squad);
 
         log.info("Board sync — squad={} boardId={}", squad.getName(), request.getBoardId());
 
@@ -181,6 +203,10 @@ public class SquadService {
                 .name(s.getName())
                 .color(s.getColor())
                 .boardId(s.getBoardId())
+                .jiraBoardId(s.getJiraBoardId())
+                .jiraBoardName(s.getJiraBoardName())
+                .jiraBoardType(s.getJiraBoardType())
+                .jiraProjectKey(s.getJiraProjectKey())
                 .members(s.getMembers().stream().map(this::toMemberResponse).toList())
                 .createdAt(s.getCreatedAt())
                 .updatedAt(s.getUpdatedAt())
@@ -0,0 +1,45 @@
+package com.rdapp.deploy.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Clé d'appelant : le token prime sur l'en-tête X-GHA-Actor, choisi par le client.
+ */
+class IngestAdmissionInterceptorTest {
+
+    @Test
+    void rotatingTheActorHeaderKeepsTheTokenBucket() {
+        var first = request("Bearer secret", "alice");
+        var second = request("Bearer secret", "bob");
+
+        assertThat(IngestAdmissionInterceptor.callerKey(first))
+                .startsWith("token:")
+                .isEqualTo(IngestAdmissionInterceptor.callerKey(second));
+    }
+
+    @Test
+    void distinctTokensGetDistinctKeys() {
+        assertThat(IngestAdmissionInterceptor.callerKey(request("Bearer a", null)))
+                .isNotEqualTo(IngestAdmissionInterceptor.callerKey(request("Bearer b", null)));
+    }
+
+    @Test
+    void actorThenIpWithoutToken() {
+        assertThat(IngestAdmissionInterceptor.callerKey(request(null, "alice"))).isEqualTo("actor:alice");
+        assertThat(IngestAdmissionInterceptor.callerKey(request("Basic xyz", " "))).isEqualTo("ip:10.0.0.7");
+    }
+
+    // ── Helpers ──
+
+    private static MockHttpServletRequest request(String authorization, String actor) {
+        var request = new MockHttpServletRequest("POST", "/api/v1/ingest");
+        request.setRemoteAddr("10.0.0.7");
+        if (authorization != null) request.addHeader(HttpHeaders.AUTHORIZATION, authorization);
+        if (actor != null) request.addHeader("X-GHA-Actor", actor);
+        return request;
+    }
+}
@@ -0,0 +1,70 @@
+package com.rdapp.deploy.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rdapp.deploy.dto.BatchIngestDto.IngestPayload;
+import com.rdapp.deploy.service.IngestMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.http.MockHttpInputMessage;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Phase deserialize : taille réelle du body lue depuis le message enveloppé, aucun
+ * état résiduel quand le parsing échoue.
+ */
+class IngestRequestBodyAdviceTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final IngestRequestBodyAdvice advice = new IngestRequestBodyAdvice(new IngestMetrics(registry));
+    private final MappingJackson2HttpMessageConverter converter = new MappingJackson2HttpMessageConverter(new ObjectMapper());
+
+    @Test
+    void recordsPayloadSizeAndDeserializeTime() throws Exception {
+        var json = "{\"squadId\":\"sq-1\",\"runId\":\"r-1\"}";
+
+        var body = read(json);
+
+        assertThat(body.getSquadId()).isEqualTo("sq-1");
+        assertThat(registry.get("ingest.payload.size").tag("endpoint", "ingest").summary().totalAmount())
+                .isEqualTo(json.getBytes(StandardCharsets.UTF_8).length);
+        assertThat(registry.get("ingest.phase").tags("phase", "deserialize", "squad", "unknown").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void malformedBodyLeavesNothingForTheNextRequest() throws Exception {
+        assertThatThrownBy(() -> read("{\"squadId\":")).isInstanceOf(Exception.class);
+        assertThat(registry.find("ingest.payload.size").meters()).isEmpty();
+
+        var json = "{\"squadId\":\"sq-2\"}";
+        read(json);
+
+        // Seul le second body est compté, pas le reste du premier
+        assertThat(registry.get("ingest.payload.size").tag("endpoint", "ingest").summary().totalAmount())
+                .isEqualTo(json.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    @Test
+    void messagesNotWrappedByTheAdviceAreIgnored() {
+        var body = new IngestPayload();
+
+        assertThat(advice.afterBodyRead(body, new MockHttpInputMessage(new byte[0]), null, IngestPayload.class,
+                MappingJackson2HttpMessageConverter.class)).isSameAs(body);
+        assertThat(registry.getMeters()).isEmpty();
+    }
+
+    // ── Helpers ──
+
+    private IngestPayload read(String json) throws Exception {
+        var message = advice.beforeBodyRead(new MockHttpInputMessage(json.getBytes(StandardCharsets.UTF_8)), null,
+                IngestPayload.class, MappingJackson2HttpMessageConverter.class);
+        var body = converter.read(IngestPayload.class, message);
+        return (IngestPayload) advice.afterBodyRead(body, message, null, IngestPayload.class,
+                MappingJackson2HttpMessageConverter.class);
+    }
+}
@@ -0,0 +1,101 @@
+package com.rdapp.deploy.jira.client;
+
+import com.rdapp.deploy.jira.dto.JiraDtos.IssueRow;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * File bornée producteur / consommateur : ordre, fin de flux, erreur relancée,
+ * fetchers interrompus à la fermeture.
+ */
+class IssuePageStreamTest {
+
+    @Test
+    void pagesThenEndOfStream() {
+        try (var stream = new IssuePageStream(2)) {
+            stream.start(() -> {
+                stream.publish(page("A-1", "A-2"));
+                stream.publish(page("A-3"));
+            });
+
+            assertThat(stream.next()).extracting(IssueRow::key).containsExactly("A-1", "A-2");
+            assertThat(stream.next()).extracting(IssueRow::key).containsExactly("A-3");
+            assertThat(stream.next()).isNull();
+            assertThat(stream.next()).isNull();
+        }
+    }
+
+    @Test
+    void producerErrorIsRethrownAfterPublishedPages() {
+        try (var stream = new IssuePageStream(2)) {
+            stream.start(() -> {
+                stream.publish(page("A-1"));
+                throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "Jira KO");
+            });
+
+            assertThat(stream.next()).hasSize(1);
+            assertThatThrownBy(stream::next)
+                    .isInstanceOfSatisfying(ResponseStatusException.class,
+                            e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_GATEWAY));
+            assertThat(stream.next()).isNull();
+        }
+    }
+
+    @Test
+    void forkRunsWorkersAndRethrowsTheirError() {
+        var ran = new AtomicInteger();
+        try (var stream = new IssuePageStream(8)) {
+            stream.start(() -> stream.fork(3, () -> stream.publish(page("W-" + ran.incrementAndGet()))));
+
+            int pages = 0;
+            while (stream.next() != null) pages++;
+            assertThat(pages).isEqualTo(3);
+        }
+
+        try (var stream = new IssuePageStream(8)) {
+            stream.start(() -> stream.fork(2, () -> {
+                throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "page KO");
+            }));
+
+            assertThatThrownBy(stream::next).hasMessageContaining("page KO");
+        }
+    }
+
+    @Test
+    void closeStopsBlockedProducers() throws InterruptedException {
+        var stopped = new CountDownLatch(1);
+        var stream = new IssuePageStream(1);
+        stream.start(() -> {
+            try {
+                for (int i = 0; ; i++) stream.publish(page("P-" + i));
+            } finally {
+                stopped.countDown();
+            }
+        });
+
+        assertThat(stream.next()).isNotNull();
+        stream.close();
+
+        assertThat(stopped.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(stream.next()).isNull();
+    }
+
+    // ── Helpers ──
+
+    private static List<IssueRow> page(String... keys) {
+        return Arrays.stream(keys)
+                .map(key -> new IssueRow(key, null, null, null, null, null, null, null, null, null, null,
+                        null, null, null, new long[0]))
+                .toList();
+    }
+}
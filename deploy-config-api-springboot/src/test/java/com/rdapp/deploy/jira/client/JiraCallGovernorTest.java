@@ -0,0 +1,233 @@
+package com.rdapp.deploy.jira.client;
+
+import com.rdapp.deploy.jira.client.JiraCallGovernor.BreakerState;
+import com.rdapp.deploy.jira.config.JiraProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Machine à états du circuit breaker (closed → open → half-open → closed/open),
+ * politique de retry et budget de requêtes.
+ */
+class JiraCallGovernorTest {
+
+    private static final long OPEN_MS = 200;
+
+    private final JiraProperties props = new JiraProperties();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        props.setMaxRetries(1);
+        props.setRetryDelayMs(1);
+        props.getGovernor().setFailureThreshold(2);
+        props.getGovernor().setOpenDurationMs(OPEN_MS);
+    }
+
+    @Test
+    void opensAfterConsecutiveFailuresAndFailsFast() {
+        var governor = new JiraCallGovernor(props, registry);
+
+        assertStatus(() -> governor.execute(this::unavailable), HttpStatus.BAD_GATEWAY);
+        assertThat(governor.breakerState()).isEqualTo(BreakerState.CLOSED);
+        assertStatus(() -> governor.execute(this::unavailable), HttpStatus.BAD_GATEWAY);
+        assertThat(governor.breakerState()).isEqualTo(BreakerState.OPEN);
+
+        assertStatus(() -> governor.execute(this::ok), HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(calls).hasValue(2);
+        assertThat(transitions("open")).isEqualTo(1);
+    }
+
+    @Test
+    void successResetsTheFailureCount() {
+        var governor = new JiraCallGovernor(props, registry);
+
+        assertStatus(() -> governor.execute(this::unavailable), HttpStatus.BAD_GATEWAY);
+        governor.execute(this::ok);
+        assertStatus(() -> governor.execute(this::unavailable), HttpStatus.BAD_GATEWAY);
+
+        assertThat(governor.breakerState()).isEqualTo(BreakerState.CLOSED);
+    }
+
+    @Test
+    void halfOpenTrialSuccessClosesTheCircuit() throws InterruptedException {
+        var governor = open();
+
+        Thread.sleep(OPEN_MS + 50);
+        assertThat(governor.breakerState()).isEqualTo(BreakerState.HALF_OPEN);
+
+        assertThat(governor.execute(this::ok)).isEqualTo("ok");
+        assertThat(governor.breakerState()).isEqualTo(BreakerState.CLOSED);
+        assertThat(transitions("half_open")).isEqualTo(1);
+        assertThat(transitions("closed")).isEqualTo(1);
+    }
+
+    @Test
+    void halfOpenTrialFailureReopensTheCircuit() throws InterruptedException {
+        var governor = open();
+
+        Thread.sleep(OPEN_MS + 50);
+        assertStatus(() -> governor.execute(this::unavailable), HttpStatus.BAD_GATEWAY);
+
+        assertThat(governor.breakerState()).isEqualTo(BreakerState.OPEN);
+        assertStatus(() -> governor.execute(this::ok), HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(transitions("open")).isEqualTo(2);
+    }
+
+    @Test
+    void halfOpenAdmitsASingleTrial() throws InterruptedException {
+        var governor = open();
+        Thread.sleep(OPEN_MS + 50);
+
+        var nested = governor.execute(() -> {
+            // Appel concurrent pendant l'essai : refusé sans atteindre Jira
+            assertStatus(() -> governor.execute(this::ok), HttpStatus.SERVICE_UNAVAILABLE);
+            return ok();
+        });
+
+        assertThat(nested).isEqualTo("ok");
+        assertThat(governor.breakerState()).isEqualTo(BreakerState.CLOSED);
+    }
+
+    @Test
+    void nonRetryableServerErrorsOpenTheCircuit() {
+        props.setMaxRetries(3);
+        var governor = new JiraCallGovernor(props, registry);
+
+        for (int i = 0; i < props.getGovernor().getFailureThreshold(); i++) {
+            assertStatus(() -> governor.execute(() -> fail(HttpStatus.INTERNAL_SERVER_ERROR)), HttpStatus.BAD_GATEWAY);
+        }
+
+        // 500 non rejoué (un appel par execute) mais compté comme échec
+        assertThat(calls).hasValue(2);
+        assertThat(governor.breakerState()).isEqualTo(BreakerState.OPEN);
+    }
+
+    @Test
+    void serverErrorOnHalfOpenTrialReopensTheCircuit() throws InterruptedException {
+        var governor = open();
+
+        Thread.sleep(OPEN_MS + 50);
+        assertStatus(() -> governor.execute(() -> fail(HttpStatus.INTERNAL_SERVER_ERROR)), HttpStatus.BAD_GATEWAY);
+
+        assertThat(governor.breakerState()).isEqualTo(BreakerState.OPEN);
+        assertThat(transitions("closed")).isZero();
+    }
+
+    @Test
+    void clientErrorOnHalfOpenTrialClosesTheCircuit() throws InterruptedException {
+        var governor = open();
+
+        Thread.sleep(OPEN_MS + 50);
+        assertStatus(() -> governor.execute(() -> fail(HttpStatus.NOT_FOUND)), HttpStatus.BAD_GATEWAY);
+
+        // Jira répond : disponible
+        assertThat(governor.breakerState()).isEqualTo(BreakerState.CLOSED);
+    }
+
+    @Test
+    void throttlingAndClientErrorsDoNotOpenTheCircuit() {
+        var governor = new JiraCallGovernor(props, registry);
+
+        for (int i = 0; i < 3; i++) {
+            assertStatus(() -> governor.execute(() -> fail(HttpStatus.TOO_MANY_REQUESTS)), HttpStatus.BAD_GATEWAY);
+            assertStatus(() -> governor.execute(() -> fail(HttpStatus.NOT_FOUND)), HttpStatus.BAD_GATEWAY);
+        }
+
+        assertThat(governor.breakerState()).isEqualTo(BreakerState.CLOSED);
+    }
+
+    @Test
+    void retryableErrorsAreRetriedButClientErrorsAreNot() {
+        props.setMaxRetries(3);
+        var governor = new JiraCallGovernor(props, registry);
+
+        assertThat(governor.execute(() -> calls.get() == 0 ? unavailable() : ok())).isEqualTo("ok");
+        assertThat(calls).hasValue(2);
+
+        calls.set(0);
+        assertStatus(() -> governor.execute(() -> fail(HttpStatus.BAD_REQUEST)), HttpStatus.BAD_GATEWAY);
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void retryAfterBeyondMaxBackoffGivesUp() {
+        props.setMaxRetries(3);
+        props.getGovernor().setMaxBackoffMs(1000);
+        var governor = new JiraCallGovernor(props, registry);
+
+        assertStatus(() -> governor.execute(() -> {
+            calls.incrementAndGet();
+            var headers = new HttpHeaders();
+            headers.set(HttpHeaders.RETRY_AFTER, "60");
+            throw HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "throttled", headers,
+                    new byte[0], StandardCharsets.UTF_8);
+        }), HttpStatus.BAD_GATEWAY);
+
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void exhaustedBudgetIsRejected() {
+        props.getGovernor().setRequestsPerMinute(1);
+        props.getGovernor().setBudgetWaitMs(0);
+        var governor = new JiraCallGovernor(props, registry);
+
+        governor.execute(this::ok);
+
+        assertStatus(() -> governor.execute(this::ok), HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(calls).hasValue(1);
+    }
+
+    // ── Helpers ──
+
+    private JiraCallGovernor open() {
+        var governor = new JiraCallGovernor(props, registry);
+        for (int i = 0; i < props.getGovernor().getFailureThreshold(); i++) {
+            assertStatus(() -> governor.execute(this::unavailable), HttpStatus.BAD_GATEWAY);
+        }
+        assertThat(governor.breakerState()).isEqualTo(BreakerState.OPEN);
+        return governor;
+    }
+
+    private String ok() {
+        calls.incrementAndGet();
+        return "ok";
+    }
+
+    private String unavailable() {
+        return fail(HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    private String fail(HttpStatus status) {
+        calls.incrementAndGet();
+        if (status.is5xxServerError()) throw HttpServerErrorException.create(status, status.getReasonPhrase(),
+                HttpHeaders.EMPTY, new byte[0], StandardCharsets.UTF_8);
+        throw HttpClientErrorException.create(status, status.getReasonPhrase(), HttpHeaders.EMPTY,
+                new byte[0], StandardCharsets.UTF_8);
+    }
+
+    private static void assertStatus(Runnable call, HttpStatus status) {
+        assertThatThrownBy(call::run)
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(status));
+    }
+
+    private double transitions(String to) {
+        var counter = registry.find("jira.breaker.transitions").tag("to", to).counter();
+        return counter == null ? 0 : counter.count();
+    }
+}
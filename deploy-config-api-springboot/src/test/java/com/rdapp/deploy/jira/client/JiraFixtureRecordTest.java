@@ -0,0 +1,60 @@
+package com.rdapp.deploy.jira.client;
+
+import com.rdapp.deploy.dto.SquadDto;
+import com.rdapp.deploy.jira.service.JiraSyncService;
+import com.rdapp.deploy.jira.service.JiraSyncService.SprintSyncResult;
+import com.rdapp.deploy.service.SquadService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Enregistrement de fixtures depuis le Jira réel, rejouées ensuite par le stub de test.
+ * Ignoré sans -Djira.record.boards :
+ *
+ *   mvn test -Dtest=JiraFixtureRecordTest -Djira.record.boards="Board A,Board B" \
+ *            -Djira.base-url=https://jira… -Djira.pat-token=… -Djira.stub.record-dir=fixtures/jira
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "jira.record.boards", matches = ".+")
+@TestPropertySource(properties = {"spring.liquibase.contexts=prod", "jira.http-cache.enabled=false"})
+class JiraFixtureRecordTest {
+
+    @Autowired
+    private SquadService squadService;
+    @Autowired
+    private JiraSyncService syncService;
+
+    @Test
+    void recordBoards() throws Exception {
+        for (var board : System.getProperty("jira.record.boards").split(",")) {
+            var dto = new SquadDto.Create();
+            dto.setName(board.trim());
+            dto.setColor("#336699");
+            dto.setBoardId(board.trim());
+            dto.setMembers(List.of());
+            squadService.create(dto);
+        }
+
+        var results = syncService.syncAllSquads(new JiraSyncService.SyncProgress() {
+            @Override
+            public void started(int squads) {}
+
+            @Override
+            public void squadDone(SprintSyncResult result) {}
+        });
+
+        assertThat(results).extracting(SprintSyncResult::getError).containsOnlyNulls();
+        try (var files = Files.list(Path.of(System.getProperty("jira.stub.record-dir")))) {
+            assertThat(files.filter(f -> f.toString().endsWith(".json"))).isNotEmpty();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.rdapp.deploy.jira.client;
+
+import com.rdapp.deploy.jira.config.JiraProperties;
+import com.rdapp.deploy.jira.stub.JiraStubProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Enregistre les réponses GET 200 du Jira réel comme fixtures (jira.stub.record-dir),
+ * rejouables ensuite hors réseau par le stub de test (profil jira-stub, jira.stub.fixtures-dir).
+ * Branché sur le RestClient Jira comme intercepteur « jiraClientInterceptor » (JiraClientConfig).
+ *
+ * Placé avant JiraResponseCache : les réponses servies depuis le cache HTTP
+ * (304 revalidé) sont enregistrées avec leur corps complet.
+ * Sans record-dir, simple passage.
+ */
+@Component
+@Qualifier("jiraClientInterceptor")
+@Slf4j
+public class JiraFixtureRecorder implements ClientHttpRequestInterceptor {
+
+    private final Path dir;
+    private final String basePath;
+
+    public JiraFixtureRecorder(JiraProperties props, JiraStubProperties stub) {
+        var recordDir = stub.getRecordDir();
+        this.dir = recordDir == null || recordDir.isBlank() ? null : Path.of(recordDir);
+        var base = props.getBaseUrl() != null ? URI.create(props.getBaseUrl()).getPath() : null;
+        this.basePath = base == null || base.equals("/") ? "" : base.replaceAll("/+$", "");
+        if (dir != null) log.info("Jira fixtures — enregistrement dans {}", dir.toAbsolutePath());
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        var response = execution.execute(request, body);
+        if (dir == null || request.getMethod() != HttpMethod.GET || response.getStatusCode().value() != 200) {
+            return response;
+        }
+
+        byte[] bytes;
+        try (response) {
+            bytes = response.getBody().readAllBytes();
+        }
+        var contentType = response.getHeaders().getFirst(HttpHeaders.CONTENT_TYPE);
+        record(request.getURI(), bytes);
+        return new JiraResponseCache.CachedResponse(bytes, contentType);
+    }
+
+    // ── Helpers ──
+
+    private synchronized void record(URI uri, byte[] bytes) {
+        var path = uri.getPath();
+        if (path.startsWith(basePath)) path = path.substring(basePath.length());
+        var key = JiraFixtures.key(path, decodedParams(uri));
+        var file = JiraFixtures.fileName(key);
+        try {
+            Files.createDirectories(dir);
+            var tmp = dir.resolve(file + ".tmp");
+            Files.write(tmp, bytes);
+            var target = dir.resolve(file);
+            boolean known = Files.exists(target);
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            if (!known) {
+                Files.writeString(dir.resolve(JiraFixtures.INDEX_FILE), file + "\t" + key + "\n",
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+        } catch (IOException e) {
+            log.warn("Jira fixtures — écriture impossible pour {}: {}", key, e.getMessage());
+        }
+    }
+
+    private static Map<String, List<String>> decodedParams(URI uri) {
+        var params = new LinkedHashMap<String, List<String>>();
+        UriComponentsBuilder.fromUri(uri).build().getQueryParams().forEach((name, values) -> {
+            var decoded = new ArrayList<String>(values.size());
+            for (var value : values) decoded.add(value == null ? "" : URLDecoder.decode(value, StandardCharsets.UTF_8));
+            params.put(URLDecoder.decode(name, StandardCharsets.UTF_8), decoded);
+        });
+        return params;
+    }
+}
@@ -0,0 +1,46 @@
+package com.rdapp.deploy.jira.client;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Nommage des fixtures Jira, partagé entre l'enregistrement (JiraFixtureRecorder)
+ * et le rejeu (stub jira-stub).
+ *
+ * Clé = chemin relatif à la base Jira + paramètres décodés triés par nom,
+ * ex. {@code /rest/agile/1.0/sprint/42/issue?fields=summary&maxResults=50&startAt=0}.
+ * Fichier = 16 premiers caractères hexa du SHA-256 de la clé + ".json" ;
+ * {@link #INDEX_FILE} liste les clés en clair.
+ */
+public final class JiraFixtures {
+
+    public static final String INDEX_FILE = "index.tsv";
+
+    private JiraFixtures() {}
+
+    public static String key(String path, Map<String, List<String>> params) {
+        var key = new StringBuilder(path);
+        char sep = '?';
+        for (var param : new TreeMap<>(params).entrySet()) {
+            for (var value : param.getValue()) {
+                key.append(sep).append(param.getKey()).append('=').append(value);
+                sep = '&';
+            }
+        }
+        return key.toString();
+    }
+
+    public static String fileName(String key) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 8) + ".json";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.rdapp.deploy.jira.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.rdapp.deploy.jira.config.JiraProperties;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Décodage streaming des pages d'issues : champs mappés, champs inconnus sautés,
+ * champ Sprint sous ses deux formes, libellés internés.
+ */
+class JiraIssueDecoderTest {
+
+    private static final String SPRINT = "customfield_10004";
+
+    private final JiraIssueDecoder decoder = new JiraIssueDecoder(new JiraProperties());
+
+    @Test
+    void decodesMappedFieldsAndSkipsTheRest() throws Exception {
+        var page = decoder.decode(json("""
+                {"expand":"names","startAt":0,"maxResults":50,"total":7,"issues":[{
+                  "id":"1001","self":"http://jira/issue/1001","key":"PROJ-1",
+                  "fields":{
+                    "summary":"Ajout du login",
+                    "issuetype":{"id":"1","name":"Story","iconUrl":"x"},
+                    "status":{"name":"Done","statusCategory":{"id":3,"key":"done","colorName":"green"}},
+                    "priority":{"name":"High"},
+                    "assignee":{"name":"jdoe","displayName":"John Doe","avatarUrls":{"48x48":"a"}},
+                    "customfield_10016":5.0,
+                    "fixVersions":[{"name":"v2.5.0"},{"name":"v2.6.0"}],
+                    "versions":[{"name":"v2.4.0"}],
+                    "created":"2024-01-10T09:00:00.000+0000",
+                    "updated":"2024-01-15T10:30:00.000+0100",
+                    "resolutiondate":"2024-01-15T10:00:00.000+0000",
+                    "labels":["a",{"nested":[1,2]}],
+                    "customfield_10004":[{"id":12,"name":"Sprint 12","state":"closed"},{"id":13,"name":"Sprint 13"}]
+                  }}]}
+                """));
+
+        assertThat(page.total()).isEqualTo(7);
+        assertThat(page.issues()).hasSize(1);
+        var row = page.issues().get(0);
+        assertThat(row.key()).isEqualTo("PROJ-1");
+        assertThat(row.summary()).isEqualTo("Ajout du login");
+        assertThat(row.issueType()).isEqualTo("Story");
+        assertThat(row.statusName()).isEqualTo("Done");
+        assertThat(row.statusCategory()).isEqualTo("done");
+        assertThat(row.isDone()).isTrue();
+        assertThat(row.priority()).isEqualTo("High");
+        assertThat(row.assigneeName()).isEqualTo("John Doe");
+        assertThat(row.assigneeUsername()).isEqualTo("jdoe");
+        assertThat(row.storyPoints()).isEqualTo(5.0);
+        assertThat(row.fixVersion()).isEqualTo("v2.5.0");
+        assertThat(row.affectVersion()).isEqualTo("v2.4.0");
+        assertThat(row.created()).isEqualTo(OffsetDateTime.parse("2024-01-10T09:00:00Z"));
+        assertThat(row.updated()).isEqualTo(OffsetDateTime.parse("2024-01-15T10:30:00+01:00"));
+        assertThat(row.resolutionDate()).isEqualTo(OffsetDateTime.parse("2024-01-15T10:00:00Z"));
+        assertThat(row.sprintIds()).containsExactly(12L, 13L);
+        assertThat(row.inSprint(13)).isTrue();
+    }
+
+    @Test
+    void legacySprintStringsAreParsed() throws Exception {
+        var page = decoder.decode(json("""
+                {"total":1,"issues":[{"key":"PROJ-2","fields":{"customfield_10004":[
+                  "com.atlassian.greenhopper.service.sprint.Sprint@1a2b[rapidViewId=3,id=42,state=ACTIVE,name=S42]",
+                  "com.atlassian.greenhopper.service.sprint.Sprint@3c4d[id=43,rapidViewId=3,state=FUTURE]",
+                  "sans identifiant"
+                ]}}]}
+                """));
+
+        assertThat(page.issues().get(0).sprintIds()).containsExactly(42L, 43L);
+    }
+
+    @Test
+    void missingSprintFieldIsNullAndEmptyFieldIsNoSprint() throws Exception {
+        var page = decoder.decode(json("""
+                {"total":2,"issues":[
+                  {"key":"PROJ-3","fields":{"summary":"sans champ sprint","priority":null,"assignee":null}},
+                  {"key":"PROJ-4","fields":{"customfield_10004":null}}
+                ]}
+                """));
+
+        var withoutField = page.issues().get(0);
+        assertThat(withoutField.hasSprintInfo()).isFalse();
+        assertThat(withoutField.priority()).isNull();
+        assertThat(withoutField.assigneeName()).isNull();
+        var noSprint = page.issues().get(1);
+        assertThat(noSprint.hasSprintInfo()).isTrue();
+        assertThat(noSprint.sprintIds()).isEmpty();
+    }
+
+    @Test
+    void issuesWithoutKeyAreDropped() throws Exception {
+        var page = decoder.decode(json("""
+                {"issues":[{"fields":{"summary":"orpheline"}},{"key":"PROJ-5","fields":{}}],"total":2}
+                """));
+
+        assertThat(page.issues()).extracting("key").containsExactly("PROJ-5");
+    }
+
+    @Test
+    void labelsAreInternedAcrossPages() throws Exception {
+        var body = """
+                {"total":1,"issues":[{"key":"PROJ-6","fields":{"status":{"name":"In Progress"}}}]}
+                """;
+
+        var first = decoder.decode(json(body)).issues().get(0).statusName();
+        var second = decoder.decode(json(body)).issues().get(0).statusName();
+
+        assertThat(second).isEqualTo("In Progress").isSameAs(first);
+    }
+
+    @Test
+    void singleIssueFromWebhookPayload() throws Exception {
+        try (var p = new JsonFactory().createParser("""
+                {"key":"PROJ-7","fields":{"summary":"webhook","status":{"name":"To Do"}}}
+                """)) {
+            p.nextToken();
+            var row = decoder.readIssue(p);
+
+            assertThat(row.key()).isEqualTo("PROJ-7");
+            assertThat(row.statusName()).isEqualTo("To Do");
+            assertThat(row.hasSprintInfo()).isFalse();
+        }
+    }
+
+    @Test
+    void nonObjectPageIsRejected() {
+        assertThatThrownBy(() -> decoder.decode(json("[]"))).isInstanceOf(JsonParseException.class);
+    }
+
+    @Test
+    void fieldsParameterListsTheSprintField() {
+        assertThat(decoder.fields().split(",")).contains("summary", "status", "resolutiondate", SPRINT,
+                JiraIssueDecoder.STORY_POINTS_FIELD);
+    }
+
+    // ── Helpers ──
+
+    private static ByteArrayInputStream json(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,194 @@
+package com.rdapp.deploy.jira.client;
+
+import com.rdapp.deploy.jira.config.JiraProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cache HTTP conditionnel : index écrit au flush (pas à chaque store), rechargé au
+ * démarrage, miss compté pour les seuls 200 téléchargés, éviction LRU, blobs partagés.
+ */
+class JiraResponseCacheTest {
+
+    private static final URI BOARD = URI.create("http://jira/rest/agile/1.0/board/42");
+
+    @TempDir
+    Path dir;
+
+    private final JiraProperties props = new JiraProperties();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final List<HttpHeaders> sent = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        props.getHttpCache().setDir(dir.toString());
+    }
+
+    @Test
+    void indexIsWrittenOnFlushAndReloaded() throws Exception {
+        var cache = new JiraResponseCache(props, registry);
+        var body = read(cache.intercept(get(), new byte[0], (req, b) -> ok("{\"id\":42}", "\"v1\"")));
+
+        assertThat(body).isEqualTo("{\"id\":42}");
+        assertThat(dir.resolve("index.json")).doesNotExist();
+        cache.flush();
+        assertThat(dir.resolve("index.json")).exists();
+
+        // Redémarrage : GET conditionnel, 304 servi depuis le disque
+        var restarted = new JiraResponseCache(props, registry);
+        var request = get();
+        var cached = read(restarted.intercept(request, new byte[0], (req, b) -> {
+            sent.add(req.getHeaders());
+            return new MockClientHttpResponse(new byte[0], HttpStatus.NOT_MODIFIED);
+        }));
+
+        assertThat(cached).isEqualTo("{\"id\":42}");
+        assertThat(sent.get(0).getIfNoneMatch()).containsExactly("\"v1\"");
+        assertThat(count("hit")).isEqualTo(1);
+        assertThat(count("miss")).isEqualTo(1);
+    }
+
+    @Test
+    void errorResponsesAreNotCountedAsMisses() throws Exception {
+        var cache = new JiraResponseCache(props, registry);
+
+        var response = cache.intercept(get(), new byte[0],
+                (req, b) -> new MockClientHttpResponse(new byte[0], HttpStatus.NOT_FOUND));
+
+        assertThat(response.getStatusCode().value()).isEqualTo(404);
+        assertThat(count("miss")).isZero();
+        assertThat(count("store")).isZero();
+    }
+
+    @Test
+    void responsesWithoutValidatorAreCountedButNotStored() throws Exception {
+        var cache = new JiraResponseCache(props, registry);
+
+        cache.intercept(get(), new byte[0], (req, b) -> ok("{}", null));
+        cache.flush();
+
+        assertThat(count("miss")).isEqualTo(1);
+        assertThat(count("store")).isZero();
+        assertThat(dir.resolve("index.json")).doesNotExist();
+    }
+
+    @Test
+    void leastRecentlyUsedEntryIsEvicted() throws Exception {
+        props.getHttpCache().setMaxSizeMb(1);
+        var cache = new JiraResponseCache(props, registry);
+        var a = body('a');
+        var b = body('b');
+
+        fetch(cache, "/1", a);
+        fetch(cache, "/2", b);
+        revalidate(cache, "/1");            // /1 redevient le plus récent
+        fetch(cache, "/3", body('c'));      // 1,2 Mo > 1 Mo : /2 évincé
+
+        assertThat(blob(a)).exists();
+        assertThat(blob(b)).doesNotExist();
+        assertThat(sentValidator(cache, "/2")).isNull();
+        assertThat(sentValidator(cache, "/1")).isEqualTo("\"/1\"");
+    }
+
+    @Test
+    void sharedBlobIsKeptWhileReferenced() throws Exception {
+        props.getHttpCache().setMaxSizeMb(1);
+        var cache = new JiraResponseCache(props, registry);
+        var shared = body('s');
+
+        fetch(cache, "/1", shared);
+        fetch(cache, "/2", shared);         // même contenu : un seul blob
+        fetch(cache, "/3", body('c'));      // /1 évincé, blob encore référencé par /2
+
+        assertThat(blob(shared)).exists();
+        assertThat(read(revalidate(cache, "/2"))).hasSize(shared.length);
+
+        fetch(cache, "/4", body('d'));      // /3 évincé, /2 vient d'être relu
+        assertThat(blob(shared)).exists();
+        fetch(cache, "/5", body('e'));      // /2 évincé à son tour : blob supprimé
+        assertThat(blob(shared)).doesNotExist();
+    }
+
+    // ── Helpers ──
+
+    private static MockClientHttpRequest get() {
+        return new MockClientHttpRequest(HttpMethod.GET, BOARD);
+    }
+
+    private static MockClientHttpRequest get(String path) {
+        return new MockClientHttpRequest(HttpMethod.GET, URI.create(BOARD + path));
+    }
+
+    /** 200 avec ETag = chemin. */
+    private static void fetch(JiraResponseCache cache, String path, byte[] body) throws Exception {
+        read(cache.intercept(get(path), new byte[0], (req, b) -> {
+            var response = new MockClientHttpResponse(body, HttpStatus.OK);
+            response.getHeaders().setETag("\"" + path + "\"");
+            return response;
+        }));
+    }
+
+    /** 304 : corps servi depuis le store. */
+    private static ClientHttpResponse revalidate(JiraResponseCache cache, String path) throws Exception {
+        return cache.intercept(get(path), new byte[0],
+                (req, b) -> new MockClientHttpResponse(new byte[0], HttpStatus.NOT_MODIFIED));
+    }
+
+    /** If-None-Match envoyé pour ce chemin, ou null si l'entrée n'est plus en cache. */
+    private static String sentValidator(JiraResponseCache cache, String path) throws Exception {
+        var request = get(path);
+        read(cache.intercept(request, new byte[0], (req, b) -> new MockClientHttpResponse(new byte[0], HttpStatus.NOT_FOUND)));
+        var sent = request.getHeaders().getIfNoneMatch();
+        return sent.isEmpty() ? null : sent.get(0);
+    }
+
+    /** Corps de 400 Ko. */
+    private static byte[] body(char fill) {
+        var bytes = new byte[400 * 1024];
+        Arrays.fill(bytes, (byte) fill);
+        return bytes;
+    }
+
+    private Path blob(byte[] body) throws Exception {
+        var sha = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        return dir.resolve("blobs").resolve(sha.substring(0, 2)).resolve(sha);
+    }
+
+    private static MockClientHttpResponse ok(String json, String etag) {
+        var response = new MockClientHttpResponse(json.getBytes(StandardCharsets.UTF_8), HttpStatus.OK);
+        response.getHeaders().set(HttpHeaders.CONTENT_TYPE, "application/json");
+        if (etag != null) response.getHeaders().setETag(etag);
+        return response;
+    }
+
+    private static String read(ClientHttpResponse response) throws Exception {
+        try (response) {
+            return new String(response.getBody().readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private double count(String result) {
+        var counter = registry.find("jira.http.cache").tag("result", result).counter();
+        return counter == null ? 0 : counter.count();
+    }
+}
@@ -0,0 +1,106 @@
+package com.rdapp.deploy.jira.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Coalescence : un seul appel par clé en vol, résultat ou exception partagés,
+ * clé libérée à la fin.
+ */
+class SingleFlightTest {
+
+    private final SingleFlight<String, String> flights = new SingleFlight<>("test");
+    private final AtomicInteger calls = new AtomicInteger();
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @Test
+    void concurrentCallersShareOneCall() throws Exception {
+        var first = CompletableFuture.supplyAsync(() -> flights.run("k", blocking(() -> "jira")));
+        started.await(5, TimeUnit.SECONDS);
+        var second = joiner("k");
+
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("jira");
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("jira");
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void failureIsSharedWithWaiters() throws Exception {
+        var first = CompletableFuture.supplyAsync(() -> flights.run("k", blocking(() -> {
+            throw new IllegalStateException("Jira KO");
+        })));
+        started.await(5, TimeUnit.SECONDS);
+        var second = joiner("k");
+
+        release.countDown();
+
+        assertThatThrownBy(() -> first.get(5, TimeUnit.SECONDS)).hasRootCauseMessage("Jira KO");
+        assertThatThrownBy(() -> second.get(5, TimeUnit.SECONDS)).hasRootCauseMessage("Jira KO");
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void keyIsReleasedAndNothingIsCached() {
+        assertThat(flights.run("k", () -> "v" + calls.incrementAndGet())).isEqualTo("v1");
+        assertThat(flights.run("k", () -> "v" + calls.incrementAndGet())).isEqualTo("v2");
+
+        assertThatThrownBy(() -> flights.run("k", () -> {
+            throw new IllegalStateException("KO");
+        })).hasMessage("KO");
+        assertThat(flights.run("k", () -> "v" + calls.incrementAndGet())).isEqualTo("v3");
+    }
+
+    @Test
+    void distinctKeysDoNotWaitForEachOther() throws Exception {
+        var first = CompletableFuture.supplyAsync(() -> flights.run("a", blocking(() -> "a")));
+        started.await(5, TimeUnit.SECONDS);
+
+        assertThat(flights.run("b", () -> "b")).isEqualTo("b");
+
+        release.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("a");
+    }
+
+    // ── Helpers ──
+
+    /** Appel qui signale son démarrage puis attend {@link #release}. */
+    private Supplier<String> blocking(Supplier<String> result) {
+        return () -> {
+            calls.incrementAndGet();
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return result.get();
+        };
+    }
+
+    /** Second appelant, rendu une fois bloqué sur l'appel en vol. */
+    private CompletableFuture<String> joiner(String key) throws InterruptedException {
+        var result = new CompletableFuture<String>();
+        var thread = new Thread(() -> {
+            try {
+                result.complete(flights.run(key, () -> "appel dupliqué " + calls.incrementAndGet()));
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        });
+        thread.start();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.getState() != Thread.State.WAITING && System.nanoTime() < deadline) Thread.sleep(5);
+        return result;
+    }
+}
@@ -0,0 +1,210 @@
+package com.rdapp.deploy.jira.service;
+
+import com.rdapp.deploy.dto.SquadDto;
+import com.rdapp.deploy.entity.SprintIssue;
+import com.rdapp.deploy.entity.SprintSync;
+import com.rdapp.deploy.jira.client.JiraClient;
+import com.rdapp.deploy.jira.client.JiraIssueDecoder.IssuePage;
+import com.rdapp.deploy.jira.config.JiraProperties;
+import com.rdapp.deploy.jira.dto.JiraDtos.IssueRow;
+import com.rdapp.deploy.jira.service.JiraSyncService.SprintSyncResult;
+import com.rdapp.deploy.jira.stub.JiraStubProperties;
+import com.rdapp.deploy.jira.stub.JiraStubTestSupport;
+import com.rdapp.deploy.repository.SprintSyncRepository;
+import com.rdapp.deploy.repository.SquadRepository;
+import com.rdapp.deploy.service.SquadService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Sync incrémentale après une sync complète : issue modifiée mise à jour en place,
+ * issue déplacée retirée de son ancien sprint, recouvrement sans doublon, mark
+ * inchangé si l'écriture échoue, repli sur la sync complète au-delà de
+ * jira.incremental-max-changes.
+ *
+ * Les changements sont injectés dans le résultat JQL réel du stub.
+ */
+class IncrementalSyncTest extends JiraStubTestSupport {
+
+    @Autowired
+    private JiraSyncService syncService;
+    @Autowired
+    private SquadService squadService;
+    @Autowired
+    private SquadRepository squadRepo;
+    @Autowired
+    private SprintSyncRepository sprintRepo;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private JiraProperties props;
+    @Autowired
+    private JiraStubProperties stub;
+    @SpyBean
+    private JiraClient jiraClient;
+
+    private final int maxChanges = new JiraProperties().getIncrementalMaxChanges();
+
+    @AfterEach
+    void tearDown() {
+        props.setIncrementalMaxChanges(maxChanges);
+    }
+
+    @Test
+    void changedIssueIsUpdatedInPlace() {
+        var full = fullSync("INC-UPDATE");
+        long active = full.getActiveSprint().getJiraSprintId();
+        var before = issues(active).get(0);
+        var updated = OffsetDateTime.now().plusMinutes(1).truncatedTo(ChronoUnit.SECONDS);
+        injectChanges(rows -> append(rows, row(before.getIssueKey(), "Résumé modifié", "done", updated, active)));
+
+        var result = syncService.syncSquadSprint(full.getSquadId());
+
+        assertThat(result.getMode()).isEqualTo("incremental");
+        var after = issues(active);
+        assertThat(after).hasSize(stub.getIssuesPerSprint());
+        var issue = find(after, before.getIssueKey());
+        assertThat(issue.getId()).isEqualTo(before.getId());
+        assertThat(issue.getSummary()).isEqualTo("Résumé modifié");
+        assertThat(issue.getStatusCategory()).isEqualTo("done");
+        assertThat(mark(full.getSquadId())).isEqualTo(updated);
+    }
+
+    @Test
+    void issueMovedToAnotherSprintLeavesTheOldOne() {
+        var full = fullSync("INC-MOVE");
+        long active = full.getActiveSprint().getJiraSprintId();
+        long closed = full.getClosedSprints().get(0).getJiraSprintId();
+        var moved = issues(active).get(0).getIssueKey();
+        injectChanges(rows -> append(rows, row(moved, "Déplacée", "new", OffsetDateTime.now(), closed)));
+
+        syncService.syncSquadSprint(full.getSquadId());
+
+        assertThat(issues(active)).hasSize(stub.getIssuesPerSprint() - 1)
+                .extracting(SprintIssue::getIssueKey).doesNotContain(moved);
+        assertThat(issues(closed)).hasSize(stub.getIssuesPerSprint() + 1)
+                .extracting(SprintIssue::getIssueKey).contains(moved);
+    }
+
+    @Test
+    void overlapWindowDoesNotDuplicateRows() {
+        var full = fullSync("INC-OVERLAP");
+        long active = full.getActiveSprint().getJiraSprintId();
+
+        // Le mark (dernière issue modifiée) est toujours dans la fenêtre de recouvrement
+        var first = syncService.syncSquadSprint(full.getSquadId());
+        var second = syncService.syncSquadSprint(full.getSquadId());
+
+        assertThat(first.getMode()).isEqualTo("incremental");
+        assertThat(second.getMode()).isEqualTo("incremental");
+        assertThat(second.getChangedIssues()).isPositive();
+        var keys = issues(active).stream().map(SprintIssue::getIssueKey).toList();
+        assertThat(keys).hasSize(stub.getIssuesPerSprint()).doesNotHaveDuplicates();
+        assertThat(second.getActiveSprint().getTotalIssues()).isEqualTo(stub.getIssuesPerSprint());
+    }
+
+    @Test
+    void markDoesNotAdvanceWhenTheWriteFails() {
+        var full = fullSync("INC-FAIL");
+        long active = full.getActiveSprint().getJiraSprintId();
+        var mark = mark(full.getSquadId());
+        var changed = issues(active).get(0);
+        var later = OffsetDateTime.now().plusMinutes(10);
+        // Clé au-delà de la colonne issue_key (30) : échec à l'écriture, après la fusion
+        injectChanges(rows -> append(append(rows,
+                row(changed.getIssueKey(), "Jamais écrit", "done", later, active)),
+                row("X".repeat(40), "Trop longue", "new", later, active)));
+
+        assertThatThrownBy(() -> syncService.syncSquadSprint(full.getSquadId()))
+                .isInstanceOf(DataIntegrityViolationException.class);
+
+        assertThat(mark(full.getSquadId())).isEqualTo(mark);
+        assertThat(find(issues(active), changed.getIssueKey()).getSummary()).isEqualTo(changed.getSummary());
+        assertThat(issues(active)).hasSize(stub.getIssuesPerSprint());
+    }
+
+    @Test
+    void tooManyChangesFallsBackToFullSync() {
+        var full = fullSync("INC-FALLBACK");
+        var fullSyncAt = squadRepo.findById(full.getSquadId()).orElseThrow().getJiraFullSyncAt();
+        // Au moins l'issue du mark est renvoyée : total > 0
+        props.setIncrementalMaxChanges(0);
+
+        var result = syncService.syncSquadSprint(full.getSquadId());
+
+        assertThat(result.getMode()).isEqualTo("full");
+        assertThat(result.getChangedIssues()).isNull();
+        assertThat(result.getActiveSprint().getTotalIssues()).isEqualTo(stub.getIssuesPerSprint());
+        assertThat(squadRepo.findById(full.getSquadId()).orElseThrow().getJiraFullSyncAt()).isAfter(fullSyncAt);
+    }
+
+    // ── Helpers ──
+
+    private SprintSyncResult fullSync(String board) {
+        var dto = new SquadDto.Create();
+        dto.setName(board);
+        dto.setColor("#336699");
+        dto.setBoardId(board);
+        dto.setMembers(List.of());
+        var squad = squadService.create(dto);
+
+        var result = syncService.syncSquadSprint(squad.getId());
+        assertThat(result.getMode()).isEqualTo("full");
+        return result;
+    }
+
+    /** Résultat JQL réel du stub, transformé (issues modifiées par le « client Jira »). */
+    private void injectChanges(Function<List<IssueRow>, List<IssueRow>> changes) {
+        doAnswer(inv -> {
+            var page = (IssuePage) inv.callRealMethod();
+            var issues = changes.apply(page.issues());
+            return new IssuePage(issues, page.total() - page.issues().size() + issues.size());
+        }).when(jiraClient).searchIssues(anyString(), anyInt());
+    }
+
+    /** Remplace l'issue de même clé, ou l'ajoute. */
+    private static List<IssueRow> append(List<IssueRow> rows, IssueRow row) {
+        var byKey = rows.stream().collect(Collectors.toMap(IssueRow::key, Function.identity(),
+                (a, b) -> b, LinkedHashMap::new));
+        byKey.put(row.key(), row);
+        return new ArrayList<>(byKey.values());
+    }
+
+    private static IssueRow row(String key, String summary, String statusCategory, OffsetDateTime updated,
+                                long sprintId) {
+        return new IssueRow(key, summary, "Story", statusCategory, statusCategory, "Medium", 3.0,
+                null, null, null, null, updated.minusDays(1), updated,
+                "done".equals(statusCategory) ? updated : null, new long[]{sprintId});
+    }
+
+    private List<SprintIssue> issues(long jiraSprintId) {
+        return transactionTemplate.execute(status -> sprintRepo.findByJiraSprintIdWithIssues(jiraSprintId)
+                .map(SprintSync::getIssues).map(List::copyOf).orElseThrow());
+    }
+
+    private static SprintIssue find(List<SprintIssue> issues, String key) {
+        return issues.stream().filter(i -> i.getIssueKey().equals(key)).findFirst().orElseThrow();
+    }
+
+    private OffsetDateTime mark(String squadId) {
+        return squadRepo.findById(squadId).orElseThrow().getJiraSyncMark();
+    }
+}
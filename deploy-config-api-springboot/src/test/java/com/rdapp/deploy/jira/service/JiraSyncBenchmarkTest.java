@@ -0,0 +1,124 @@
+package com.rdapp.deploy.jira.service;
+
+import com.rdapp.deploy.dto.BatchIngestDto.BulkIngestPayload;
+import com.rdapp.deploy.dto.BatchIngestDto.BulkIngestResponse;
+import com.rdapp.deploy.dto.BatchIngestDto.IngestPayload;
+import com.rdapp.deploy.dto.BatchIngestDto.IssueIngest;
+import com.rdapp.deploy.dto.BatchIngestDto.SprintIngest;
+import com.rdapp.deploy.dto.SquadDto;
+import com.rdapp.deploy.jira.service.JiraSyncService.SprintSyncResult;
+import com.rdapp.deploy.jira.stub.JiraStubProperties;
+import com.rdapp.deploy.jira.stub.JiraStubTestSupport;
+import com.rdapp.deploy.service.SquadService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Banc de sync et d'ingest contre le stub Jira, hors réseau.
+ *
+ * Volumétrie par défaut réduite (build rapide) ; pour mesurer :
+ *   mvn test -Dtest=JiraSyncBenchmarkTest -Dbench.squads=50 -Djira.stub.latency-ms=40 \
+ *            -Djira.stub.issues-per-sprint=150 -Dbench.max-sync-ms=20000
+ * Échoue si une sync complète dépasse bench.max-sync-ms (régression).
+ */
+@Slf4j
+class JiraSyncBenchmarkTest extends JiraStubTestSupport {
+
+    private static final int SQUADS = Integer.getInteger("bench.squads", 4);
+    private static final long MAX_SYNC_MS = Long.getLong("bench.max-sync-ms", 60_000);
+    private static final int INGEST_ISSUES = Integer.getInteger("bench.ingest-issues", 600);
+
+    @Autowired
+    private JiraSyncService syncService;
+    @Autowired
+    private SquadService squadService;
+    @Autowired
+    private JiraStubProperties stub;
+    @Autowired
+    private TestRestTemplate rest;
+
+    @Test
+    void syncAllSquads() {
+        for (int i = 0; i < SQUADS; i++) createSquad("BENCH-SYNC-" + i);
+
+        long t0 = System.nanoTime();
+        var full = syncService.syncAllSquads(NO_PROGRESS);
+        long fullMs = (System.nanoTime() - t0) / 1_000_000;
+
+        long t1 = System.nanoTime();
+        var incremental = syncService.syncAllSquads(NO_PROGRESS);
+        long incrementalMs = (System.nanoTime() - t1) / 1_000_000;
+
+        log.info("Bench sync — {} escouades : complète {}ms, incrémentale {}ms", full.size(), fullMs, incrementalMs);
+        assertThat(full).hasSize(SQUADS);
+        assertThat(full).extracting(SprintSyncResult::getError).containsOnlyNulls();
+        assertThat(full).allSatisfy(r -> assertThat(r.getActiveSprint().getTotalIssues()).isEqualTo(stub.getIssuesPerSprint()));
+        assertThat(incremental).extracting(SprintSyncResult::getError).containsOnlyNulls();
+        assertThat(incremental).extracting(SprintSyncResult::getMode).doesNotContainNull();
+        assertThat(fullMs).isLessThan(MAX_SYNC_MS);
+    }
+
+    @Test
+    void ingestBulk() {
+        var squads = new ArrayList<IngestPayload>();
+        for (int i = 0; i < SQUADS; i++) {
+            var squad = createSquad("BENCH-INGEST-" + i);
+            var payload = new IngestPayload();
+            payload.setSquadId(squad.getId());
+            payload.setBoardId(900_000L + i);
+            payload.setProjectKey("BENCH");
+            payload.setActiveSprint(sprint(9_000_000L + i));
+            squads.add(payload);
+        }
+        var bulk = new BulkIngestPayload(squads, "bench", "JiraSyncBenchmarkTest");
+
+        long t0 = System.nanoTime();
+        var response = rest.postForEntity("/v1/batch/ingest/bulk", bulk, BulkIngestResponse.class);
+        long ingestMs = (System.nanoTime() - t0) / 1_000_000;
+
+        log.info("Bench ingest — {} escouades × {} issues : {}ms", SQUADS, INGEST_ISSUES, ingestMs);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        var body = Objects.requireNonNull(response.getBody());
+        assertThat(body.getErrors()).isEmpty();
+        assertThat(body.getTotalIssuesSaved()).isEqualTo(SQUADS * INGEST_ISSUES);
+    }
+
+    // ── Helpers ──
+
+    private static final JiraSyncService.SyncProgress NO_PROGRESS = new JiraSyncService.SyncProgress() {
+        @Override
+        public void started(int squads) {}
+
+        @Override
+        public void squadDone(SprintSyncResult result) {}
+    };
+
+    private SquadDto.Response createSquad(String name) {
+        var dto = new SquadDto.Create();
+        dto.setName(name);
+        dto.setColor("#336699");
+        dto.setBoardId(name);
+        dto.setMembers(List.of());
+        return squadService.create(dto);
+    }
+
+    private static SprintIngest sprint(long jiraSprintId) {
+        var issues = new ArrayList<IssueIngest>(INGEST_ISSUES);
+        for (int i = 0; i < INGEST_ISSUES; i++) {
+            issues.add(new IssueIngest("BENCH-" + jiraSprintId + "-" + i, "Issue " + i, "Story", "In Progress",
+                    "indeterminate", "Medium", 3.0, "Bench", "bench", null,
+                    "2025-01-06T09:00:00.000+0100", "2025-01-08T09:00:00.000+0100", null));
+        }
+        return new SprintIngest(jiraSprintId, "Bench " + jiraSprintId, "active", null,
+                "2025-01-06T09:00:00.000+0100", "2025-01-20T18:00:00.000+0100", null, issues);
+    }
+}
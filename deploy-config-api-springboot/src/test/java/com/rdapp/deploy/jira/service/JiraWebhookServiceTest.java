@@ -0,0 +1,119 @@
+package com.rdapp.deploy.jira.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rdapp.deploy.entity.Squad;
+import com.rdapp.deploy.jira.client.JiraIssueDecoder;
+import com.rdapp.deploy.jira.config.JiraProperties;
+import com.rdapp.deploy.mapper.SprintMapper;
+import com.rdapp.deploy.repository.SprintIssueRepository;
+import com.rdapp.deploy.repository.SprintSyncRepository;
+import com.rdapp.deploy.repository.SquadRepository;
+import com.rdapp.deploy.service.SprintCacheBus;
+import com.rdapp.deploy.service.SprintCacheService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Webhook Jira : secret obligatoire, sync complète après sprint_started dédoublonnée par escouade.
+ */
+class JiraWebhookServiceTest {
+
+    private static final String SECRET = "s3cret";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final JiraProperties props = new JiraProperties();
+    private final SprintSyncRepository sprintRepo = mock(SprintSyncRepository.class);
+    private final SquadRepository squadRepo = mock(SquadRepository.class);
+    private final JiraSyncService syncService = mock(JiraSyncService.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+
+    private JiraWebhookService service;
+
+    @BeforeEach
+    void setUp() {
+        props.getWebhook().setSecret(SECRET);
+        props.setSyncConcurrency(2);
+        when(transactionTemplate.execute(any())).thenAnswer(inv ->
+                inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(sprintRepo.findByJiraSprintIdIn(anyCollection())).thenReturn(List.of());
+        when(squadRepo.findByJiraBoardId(42L)).thenReturn(List.of(Squad.builder().id("sq-1").name("Alpha").build()));
+        service = new JiraWebhookService(mock(JiraIssueDecoder.class), objectMapper, props, sprintRepo,
+                mock(SprintIssueRepository.class), squadRepo, mock(SprintCacheService.class), mock(SprintCacheBus.class),
+                mock(SprintMapper.class), syncService, transactionTemplate, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void refusesRequestsWithoutConfiguredSecret() {
+        props.getWebhook().setSecret("");
+
+        assertThatThrownBy(() -> service.accept(null, sprintStarted()))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND));
+    }
+
+    @Test
+    void refusesWrongSecret() {
+        assertThatThrownBy(() -> service.accept("other", sprintStarted()))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED));
+    }
+
+    @Test
+    void sprintStartedSyncsAreDeduplicatedPerSquad() throws Exception {
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        when(syncService.syncSquadSprint("sq-1", true)).thenAnswer(inv -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        });
+
+        service.accept(SECRET, sprintStarted());
+        service.flush();
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // Pendant la sync : trois événements → une seule sync supplémentaire
+        for (int i = 0; i < 3; i++) {
+            service.accept(SECRET, sprintStarted());
+            service.flush();
+        }
+        release.countDown();
+
+        verify(syncService, timeout(5000).times(2)).syncSquadSprint("sq-1", true);
+        verify(syncService, after(300).times(2)).syncSquadSprint("sq-1", true);
+    }
+
+    // ── Helpers ──
+
+    private JsonNode sprintStarted() throws Exception {
+        return objectMapper.readTree("""
+                {"webhookEvent":"sprint_started",
+                 "sprint":{"id":7,"name":"Sprint 7","state":"ACTIVE","originBoardId":42}}""");
+    }
+}
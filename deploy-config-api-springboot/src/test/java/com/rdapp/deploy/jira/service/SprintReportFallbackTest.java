@@ -0,0 +1,49 @@
+package com.rdapp.deploy.jira.service;
+
+import com.rdapp.deploy.dto.SquadDto;
+import com.rdapp.deploy.entity.SprintSync;
+import com.rdapp.deploy.jira.stub.JiraStubProperties;
+import com.rdapp.deploy.jira.stub.JiraStubTestSupport;
+import com.rdapp.deploy.service.SquadService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * jira.closed-sprint-report : un sprint report en 404 ne fait pas échouer la sync,
+ * les sprints fermés sont alors lus via JQL.
+ */
+@TestPropertySource(properties = {"jira.closed-sprint-report=true", "jira.stub.sprint-report-missing=true"})
+class SprintReportFallbackTest extends JiraStubTestSupport {
+
+    @Autowired
+    private JiraSyncService syncService;
+    @Autowired
+    private SquadService squadService;
+    @Autowired
+    private JiraStubProperties stub;
+
+    @Test
+    void missingSprintReportFallsBackToJql() {
+        var dto = new SquadDto.Create();
+        dto.setName("REPORT-404");
+        dto.setColor("#336699");
+        dto.setBoardId("REPORT-404");
+        dto.setMembers(List.of());
+        var squad = squadService.create(dto);
+
+        var result = syncService.syncSquadSprint(squad.getId());
+
+        assertThat(result.getError()).isNull();
+        assertThat(result.getClosedSprints()).hasSize(stub.getClosedSprints());
+        assertThat(result.getClosedSprints()).allSatisfy(sprint -> {
+            assertThat(sprint.getReportSyncedAt()).isNull();
+            assertThat(sprint.getTotalIssues()).isEqualTo(stub.getIssuesPerSprint());
+        });
+        assertThat(result.getClosedSprints()).extracting(SprintSync::getState).containsOnly("closed");
+    }
+}
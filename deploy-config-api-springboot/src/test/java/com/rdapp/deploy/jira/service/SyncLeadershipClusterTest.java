@@ -0,0 +1,112 @@
+package com.rdapp.deploy.jira.service;
+
+import com.rdapp.deploy.DeployConfigApiApplication;
+import com.rdapp.deploy.repository.SyncLockRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Deux répliques (deux contextes applicatifs) sur une même base H2 : leader unique,
+ * verrou d'escouade exclusif et prolongé pendant la sync, écriture refusée après perte du bail.
+ */
+class SyncLeadershipClusterTest {
+
+    private static final String DATABASE = "jdbc:h2:mem:cluster-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1";
+
+    private static ConfigurableApplicationContext n1;
+    private static ConfigurableApplicationContext n2;
+
+    @BeforeAll
+    static void startNodes() {
+        n1 = start("n1");
+        n2 = start("n2");
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        if (n2 != null) n2.close();
+        if (n1 != null) n1.close();
+    }
+
+    @Test
+    void singleLeaderAcrossNodes() {
+        leadership(n1).renew();
+        leadership(n2).renew();
+
+        assertThat(leadership(n1).isLeader()).isNotEqualTo(leadership(n2).isLeader());
+        var leader = leadership(n1).isLeader() ? "n1" : "n2";
+        assertThat(leadership(n1).state().currentLeader()).isEqualTo(leader);
+        assertThat(leadership(n2).state().currentLeader()).isEqualTo(leader);
+    }
+
+    @Test
+    void squadLockIsExclusiveAndRenewedWhileWorkRuns() {
+        leadership(n1).withSquadLock("sq-renew", () -> {
+            // Au-delà du bail de 3 s : prolongé en arrière-plan
+            sleep(Duration.ofMillis(4500));
+            assertThatThrownBy(() -> leadership(n2).withSquadLock("sq-renew", () -> null))
+                    .isInstanceOfSatisfying(ResponseStatusException.class,
+                            e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.CONFLICT));
+            leadership(n1).confirmSquadLock("sq-renew");
+            return null;
+        });
+
+        assertThat(leadership(n2).withSquadLock("sq-renew", () -> "n2")).isEqualTo("n2");
+    }
+
+    @Test
+    void lostSquadLeaseRefusesWrite() {
+        var locks = n1.getBean(SyncLockRepository.class);
+
+        leadership(n1).withSquadLock("sq-lost", () -> {
+            // Bail repris par n2 (expiration simulée)
+            locks.release("squad:sq-lost", "n1");
+            assertThat(locks.tryAcquire("squad:sq-lost", "n2", Duration.ofMinutes(1))).isTrue();
+
+            assertThatThrownBy(() -> leadership(n1).confirmSquadLock("sq-lost"))
+                    .isInstanceOfSatisfying(ResponseStatusException.class,
+                            e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.CONFLICT));
+            return null;
+        });
+
+        assertThat(locks.owner("squad:sq-lost")).isEqualTo("n2");
+    }
+
+    // ── Helpers ──
+
+    private static ConfigurableApplicationContext start(String nodeId) {
+        return new SpringApplicationBuilder(DeployConfigApiApplication.class)
+                .profiles("jira-stub")
+                .run("--server.port=0",
+                        "--spring.datasource.url=" + DATABASE,
+                        "--jira.base-url=http://localhost:1/api/jira-stub",
+                        "--jira.cluster.enabled=true",
+                        "--jira.cluster.node-id=" + nodeId,
+                        "--jira.cluster.lease-seconds=30",
+                        "--jira.cluster.renew-seconds=3600",
+                        "--jira.cluster.squad-lease-seconds=3");
+    }
+
+    private static SyncLeadership leadership(ConfigurableApplicationContext node) {
+        return node.getBean(SyncLeadership.class);
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
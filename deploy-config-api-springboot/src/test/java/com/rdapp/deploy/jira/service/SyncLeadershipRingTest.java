@@ -0,0 +1,85 @@
+package com.rdapp.deploy.jira.service;
+
+import com.rdapp.deploy.jira.service.SyncLeadership.Ring;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Répartition des escouades sur l'anneau : propriétaire unique et déterministe,
+ * charge équilibrée, déplacements limités quand un membre arrive ou part.
+ */
+class SyncLeadershipRingTest {
+
+    private static final int VIRTUAL_NODES = 64;
+    private static final List<String> SQUADS = IntStream.range(0, 3000).mapToObj(i -> "squad-" + i).toList();
+
+    @Test
+    void emptyRingHasNoOwner() {
+        assertThat(new Ring(List.of(), VIRTUAL_NODES).owner("squad-1")).isNull();
+    }
+
+    @Test
+    void singleMemberOwnsEverySquad() {
+        var ring = new Ring(List.of("n1"), VIRTUAL_NODES);
+
+        assertThat(owners(ring).values()).containsOnly("n1");
+    }
+
+    @Test
+    void ownershipDoesNotDependOnMemberOrder() {
+        var ring = new Ring(List.of("n1", "n2", "n3"), VIRTUAL_NODES);
+        var shuffled = new Ring(List.of("n3", "n1", "n2"), VIRTUAL_NODES);
+
+        assertThat(owners(shuffled)).isEqualTo(owners(ring));
+    }
+
+    @Test
+    void squadsAreSpreadAcrossMembers() {
+        var owners = owners(new Ring(List.of("n1", "n2", "n3"), VIRTUAL_NODES));
+
+        var load = new HashMap<String, Integer>();
+        owners.values().forEach(member -> load.merge(member, 1, Integer::sum));
+        assertThat(load).containsOnlyKeys("n1", "n2", "n3");
+        // Part idéale 1/3 ; tolérance large, le hachage est fixe
+        assertThat(load.values()).allSatisfy(count -> assertThat(count).isBetween(600, 1400));
+    }
+
+    @Test
+    void joiningMemberOnlyTakesSquadsFromOthers() {
+        var before = owners(new Ring(List.of("n1", "n2", "n3"), VIRTUAL_NODES));
+        var after = owners(new Ring(List.of("n1", "n2", "n3", "n4"), VIRTUAL_NODES));
+
+        int moved = 0;
+        for (var squad : SQUADS) {
+            if (before.get(squad).equals(after.get(squad))) continue;
+            assertThat(after.get(squad)).isEqualTo("n4");
+            moved++;
+        }
+        assertThat(moved).isBetween(SQUADS.size() / 8, SQUADS.size() / 2);
+    }
+
+    @Test
+    void leavingMemberOnlyReleasesItsOwnSquads() {
+        var before = owners(new Ring(List.of("n1", "n2", "n3"), VIRTUAL_NODES));
+        var after = owners(new Ring(List.of("n1", "n3"), VIRTUAL_NODES));
+
+        for (var squad : SQUADS) {
+            if (!before.get(squad).equals("n2")) assertThat(after.get(squad)).isEqualTo(before.get(squad));
+            else assertThat(after.get(squad)).isIn("n1", "n3");
+        }
+    }
+
+    // ── Helpers ──
+
+    private static Map<String, String> owners(Ring ring) {
+        var owners = new HashMap<String, String>();
+        for (var squad : SQUADS) owners.put(squad, ring.owner(squad));
+        return owners;
+    }
+}
@@ -0,0 +1,242 @@
+package com.rdapp.deploy.jira.stub;
+
+import com.rdapp.deploy.jira.client.JiraFixtures;
+import com.rdapp.deploy.jira.config.JiraProperties;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Stub Jira DC de test (profil {@code jira-stub}) : tests d'intégration et benchmarks de sync
+ * et de l'ingest GHA hors réseau (JiraSyncBenchmarkTest).
+ *
+ * Sert les endpoints utilisés par JiraClient et fetch-jira.sh sous /jira-stub :
+ *   GET /rest/agile/1.0/board?name=…            GET /rest/agile/1.0/board/{id}
+ *   GET /rest/agile/1.0/board/{id}/sprint       GET /rest/agile/1.0/sprint/{id}
+ *   GET /rest/agile/1.0/sprint/{id}/issue       GET /rest/api/2/project/{key}/versions
+ *   GET /rest/api/2/search?jql=sprint in (…) [AND updated >= "…"]
+ *   GET /rest/api/2/serverInfo
+ *   GET /rest/greenhopper/1.0/rapid/charts/sprintreport?rapidViewId=…&sprintId=…
+ *
+ * Réponse = fixture enregistrée (jira.stub.fixtures-dir, voir JiraFixtureRecorder) si présente,
+ * sinon données synthétiques (JiraStubData). Latence, 503 et 429 injectés selon jira.stub.*.
+ *
+ * Usage : @ActiveProfiles("jira-stub") + jira.base-url=http://localhost:{port}/api/jira-stub
+ *         (voir JiraStubTestSupport)
+ */
+@RestController
+@RequestMapping("/jira-stub")
+@Profile("jira-stub")
+@Slf4j
+public class JiraStubController {
+
+    private static final Pattern JQL_SPRINTS = Pattern.compile("sprint\\s+in\\s*\\(([^)]*)\\)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern JQL_UPDATED = Pattern.compile("updated\\s*>=\\s*\"([^\"]+)\"", Pattern.CASE_INSENSITIVE);
+    private static final DateTimeFormatter JQL_DATE = DateTimeFormatter.ofPattern("yyyy/MM/dd HH:mm");
+
+    private final JiraStubProperties config;
+    private final JiraStubData data;
+    private final Path fixturesDir;
+    private final ZoneId jqlZone;
+
+    public JiraStubController(JiraProperties props, JiraStubProperties config) {
+        this.config = config;
+        this.data = new JiraStubData(props, config);
+        var dir = config.getFixturesDir();
+        this.fixturesDir = dir == null || dir.isBlank() ? null : Path.of(dir);
+        var zone = props.getJqlTimeZone();
+        this.jqlZone = zone == null || zone.isBlank() ? ZoneId.systemDefault() : ZoneId.of(zone);
+        log.warn("Stub Jira actif (/jira-stub) — fixtures={} latence={}+{}ms erreurs={} 429={}",
+                fixturesDir, config.getLatencyMs(), config.getJitterMs(), config.getErrorRate(), config.getRateLimitRate());
+    }
+
+    // ══════════════════════════════════════════
+    // Agile API
+    // ══════════════════════════════════════════
+
+    @GetMapping("/rest/agile/1.0/board")
+    public ResponseEntity<?> findBoards(HttpServletRequest request, @RequestParam(defaultValue = "") String name) {
+        return serve(request, () -> page(name.isBlank() ? List.of() : List.of(data.board(name)), 0, 50));
+    }
+
+    @GetMapping("/rest/agile/1.0/board/{boardId}")
+    public ResponseEntity<?> getBoard(HttpServletRequest request, @PathVariable long boardId) {
+        return serve(request, () -> data.board(boardId));
+    }
+
+    @GetMapping("/rest/agile/1.0/board/{boardId}/sprint")
+    public ResponseEntity<?> getSprints(HttpServletRequest request, @PathVariable long boardId,
+                                        @RequestParam(required = false) String state,
+                                        @RequestParam(defaultValue = "0") int startAt,
+                                        @RequestParam(defaultValue = "50") int maxResults) {
+        return serve(request, () -> {
+            var sprints = data.sprints(boardId).stream()
+                    .filter(s -> state == null || Arrays.asList(state.split(",")).contains(s.get("state")))
+                    .toList();
+            return page(sprints, startAt, maxResults);
+        });
+    }
+
+    @GetMapping("/rest/agile/1.0/sprint/{sprintId}")
+    public ResponseEntity<?> getSprint(HttpServletRequest request, @PathVariable long sprintId) {
+        return serve(request, () -> data.sprint(sprintId));
+    }
+
+    @GetMapping("/rest/agile/1.0/sprint/{sprintId}/issue")
+    public ResponseEntity<?> getSprintIssues(HttpServletRequest request, @PathVariable long sprintId,
+                                             @RequestParam(defaultValue = "0") int startAt,
+                                             @RequestParam(defaultValue = "50") int maxResults) {
+        return serve(request, () -> issuePage(data.issues(sprintId), startAt, maxResults, config.getMaxPageSize()));
+    }
+
+    @GetMapping("/rest/greenhopper/1.0/rapid/charts/sprintreport")
+    public ResponseEntity<?> getSprintReport(HttpServletRequest request, @RequestParam long rapidViewId,
+                                             @RequestParam long sprintId) {
+        if (config.isSprintReportMissing()) return ResponseEntity.notFound().build();
+        return serve(request, () -> data.sprintReport(sprintId));
+    }
+
+    // ══════════════════════════════════════════
+    // REST API v2
+    // ══════════════════════════════════════════
+
+    @GetMapping("/rest/api/2/search")
+    public ResponseEntity<?> search(HttpServletRequest request, @RequestParam String jql,
+                                    @RequestParam(defaultValue = "0") int startAt,
+                                    @RequestParam(defaultValue = "50") int maxResults) {
+        return serve(request, () -> {
+            var sprints = JQL_SPRINTS.matcher(jql);
+            if (!sprints.find()) {
+                return ResponseEntity.badRequest().body(Map.of("errorMessages",
+                        List.of("Stub : seules les JQL « sprint in (…) [AND updated >= \"…\"] » sont supportées")));
+            }
+            var since = since(jql);
+            var issues = new ArrayList<Map<String, Object>>();
+            for (var id : sprints.group(1).split(",")) {
+                long sprintId = Long.parseLong(id.trim());
+                var rows = data.issues(sprintId);
+                for (int i = 0; i < rows.size(); i++) {
+                    if (since == null || !data.updated(sprintId, i).isBefore(since)) issues.add(rows.get(i));
+                }
+            }
+            return issuePage(issues, startAt, maxResults, config.getMaxSearchPageSize());
+        });
+    }
+
+    @GetMapping("/rest/api/2/project/{projectKey}/versions")
+    public ResponseEntity<?> getVersions(HttpServletRequest request, @PathVariable String projectKey) {
+        return serve(request, () -> data.versions(projectKey));
+    }
+
+    @GetMapping("/rest/api/2/serverInfo")
+    public ResponseEntity<?> serverInfo(HttpServletRequest request) {
+        return serve(request, () -> Map.of(
+                "version", "9.12.0-stub",
+                "deploymentType", "Server",
+                "serverTime", OffsetDateTime.now().toString()));
+    }
+
+    // ── Helpers ──
+
+    /** Latence + injection d'erreurs, puis fixture si présente, sinon réponse synthétique. */
+    private ResponseEntity<?> serve(HttpServletRequest request, Supplier<Object> synthetic) {
+        var random = ThreadLocalRandom.current();
+        long delay = config.getLatencyMs() + (config.getJitterMs() > 0 ? random.nextLong(config.getJitterMs() + 1) : 0);
+        if (delay > 0) {
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        double roll = random.nextDouble();
+        if (roll < config.getRateLimitRate()) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(config.getRetryAfterSeconds()))
+                    .build();
+        }
+        if (roll < config.getRateLimitRate() + config.getErrorRate()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+
+        var fixture = fixture(request);
+        if (fixture != null) return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(fixture);
+
+        var body = synthetic.get();
+        return body instanceof ResponseEntity<?> response ? response : ResponseEntity.ok(body);
+    }
+
+    private String fixture(HttpServletRequest request) {
+        if (fixturesDir == null) return null;
+        var path = request.getRequestURI().substring(request.getContextPath().length() + "/jira-stub".length());
+        var params = new LinkedHashMap<String, List<String>>();
+        request.getParameterMap().forEach((name, values) -> params.put(name, List.of(values)));
+        var file = fixturesDir.resolve(JiraFixtures.fileName(JiraFixtures.key(path, params)));
+        try {
+            return Files.isRegularFile(file) ? Files.readString(file) : null;
+        } catch (IOException e) {
+            log.warn("Stub Jira — fixture illisible {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    private OffsetDateTime since(String jql) {
+        var updated = JQL_UPDATED.matcher(jql);
+        if (!updated.find()) return null;
+        try {
+            return LocalDateTime.parse(updated.group(1), JQL_DATE).atZone(jqlZone).toOffsetDateTime();
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /** Page Agile (values / isLast). */
+    private Map<String, Object> page(List<Map<String, Object>> values, int startAt, int maxResults) {
+        int size = Math.min(Math.max(0, maxResults), config.getMaxPageSize());
+        int from = Math.min(startAt, values.size());
+        int to = Math.min(from + size, values.size());
+        var page = new LinkedHashMap<String, Object>();
+        page.put("startAt", startAt);
+        page.put("maxResults", size);
+        page.put("total", values.size());
+        page.put("isLast", to >= values.size());
+        page.put("values", values.subList(from, to));
+        return page;
+    }
+
+    /** Page d'issues (issues / total) ; maxResults=0 → total seul. */
+    private static Map<String, Object> issuePage(List<Map<String, Object>> issues, int startAt, int maxResults, int cap) {
+        int size = Math.min(Math.max(0, maxResults), cap);
+        int from = Math.min(startAt, issues.size());
+        int to = Math.min(from + size, issues.size());
+        var page = new LinkedHashMap<String, Object>();
+        page.put("startAt", startAt);
+        page.put("maxResults", size);
+        page.put("total", issues.size());
+        page.put("issues", issues.subList(from, to));
+        return page;
+    }
+}
@@ -0,0 +1,234 @@
+package com.rdapp.deploy.jira.stub;
+
+import com.rdapp.deploy.jira.config.JiraProperties;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Données Jira synthétiques et déterministes pour le stub local.
+ *
+ * Board : id dérivé du nom ; par board, jira.stub.closed-sprints sprints fermés,
+ * un actif et un futur (ids boardId*100 + rang). Chaque sprint compte
+ * jira.stub.issues-per-sprint issues ; celles du sprint actif sont « modifiées »
+ * tour à tour, chacune une fois par active-churn-minutes, ce qui donne un flux
+ * régulier de changements pour la sync incrémentale.
+ */
+class JiraStubData {
+
+    private static final DateTimeFormatter ISSUE_DATE = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSZ");
+    private static final String[] TYPES = {"Story", "Story", "Bug", "Task"};
+    private static final String[] PRIORITIES = {"Medium", "High", "Low", "Highest"};
+    private static final String[][] OPEN_STATUSES = {
+            {"To Do", "new"}, {"In Progress", "indeterminate"}, {"In Review", "indeterminate"}, {"Done", "done"}};
+
+    private final JiraStubProperties config;
+    private final String sprintField;
+    private final LocalDate anchor = LocalDate.now(ZoneOffset.UTC);
+    private final Map<Long, String> boardNames = new ConcurrentHashMap<>();
+
+    JiraStubData(JiraProperties props, JiraStubProperties config) {
+        this.config = config;
+        this.sprintField = props.getSprintField();
+    }
+
+    // ══════════════════════════════════════════
+    // Boards & sprints
+    // ══════════════════════════════════════════
+
+    Map<String, Object> board(String name) {
+        long id = Math.floorMod(name.hashCode(), 9000) + 1000;
+        boardNames.putIfAbsent(id, name);
+        return board(id);
+    }
+
+    Map<String, Object> board(long id) {
+        var name = boardNames.getOrDefault(id, "BOARD-" + id);
+        var location = new LinkedHashMap<String, Object>();
+        location.put("projectKey", projectKey(name));
+        location.put("projectName", name);
+        var board = new LinkedHashMap<String, Object>();
+        board.put("id", id);
+        board.put("name", name);
+        board.put("type", "scrum");
+        board.put("location", location);
+        return board;
+    }
+
+    List<Map<String, Object>> sprints(long boardId) {
+        var sprints = new ArrayList<Map<String, Object>>();
+        for (int rank = 1; rank <= config.getClosedSprints() + 2; rank++) {
+            sprints.add(sprint(boardId * 100 + rank));
+        }
+        return sprints;
+    }
+
+    Map<String, Object> sprint(long sprintId) {
+        int rank = (int) (sprintId % 100);
+        int closed = config.getClosedSprints();
+        var start = anchor.minusDays(7).plusDays(14L * (rank - closed - 1));
+        var sprint = new LinkedHashMap<String, Object>();
+        sprint.put("id", sprintId);
+        sprint.put("name", "Sprint " + rank);
+        sprint.put("state", state(sprintId));
+        sprint.put("originBoardId", sprintId / 100);
+        if (rank <= closed + 1) {
+            sprint.put("startDate", start + "T08:00:00.000Z");
+            sprint.put("endDate", start.plusDays(14) + "T17:00:00.000Z");
+        }
+        if (rank <= closed) sprint.put("completeDate", start.plusDays(14) + "T17:00:00.000Z");
+        sprint.put("goal", "Objectif sprint " + rank);
+        return sprint;
+    }
+
+    String state(long sprintId) {
+        int rank = (int) (sprintId % 100);
+        int closed = config.getClosedSprints();
+        return rank <= closed ? "closed" : rank == closed + 1 ? "active" : "future";
+    }
+
+    // ══════════════════════════════════════════
+    // Issues & versions
+    // ══════════════════════════════════════════
+
+    List<Map<String, Object>> issues(long sprintId) {
+        if ("future".equals(state(sprintId))) return List.of();
+        var issues = new ArrayList<Map<String, Object>>(config.getIssuesPerSprint());
+        for (int i = 0; i < config.getIssuesPerSprint(); i++) issues.add(issue(sprintId, i));
+        return issues;
+    }
+
+    OffsetDateTime updated(long sprintId, int i) {
+        if (!"active".equals(state(sprintId))) {
+            return anchor.minusDays(7).plusDays(14L * ((sprintId % 100) - config.getClosedSprints() - 1) + 13)
+                    .atTime(12, 0).atOffset(ZoneOffset.UTC).minusMinutes(i);
+        }
+        // Chaque issue est touchée une fois par période, décalée selon son rang
+        long period = Math.max(1, config.getActiveChurnMinutes());
+        long now = Instant.now().truncatedTo(ChronoUnit.MINUTES).getEpochSecond() / 60;
+        long offset = i * period / Math.max(1, config.getIssuesPerSprint());
+        long lastTouch = now - Math.floorMod(now - offset, period);
+        return Instant.ofEpochSecond(lastTouch * 60).atOffset(ZoneOffset.UTC);
+    }
+
+    /**
+     * Sprint report (greenhopper) : issues du sprint réparties terminées / non terminées,
+     * une sur dix marquée ajoutée en cours de sprint, aucune retirée.
+     */
+    @SuppressWarnings("unchecked")
+    Map<String, Object> sprintReport(long sprintId) {
+        var completed = new ArrayList<Map<String, Object>>();
+        var notCompleted = new ArrayList<Map<String, Object>>();
+        var added = new LinkedHashMap<String, Boolean>();
+        double completedSum = 0, notCompletedSum = 0;
+        var issues = issues(sprintId);
+        for (int i = 0; i < issues.size(); i++) {
+            var issue = issues.get(i);
+            var fields = (Map<String, Object>) issue.get("fields");
+            var status = (Map<String, Object>) fields.get("status");
+            boolean done = "done".equals(((Map<String, Object>) status.get("statusCategory")).get("key"));
+            double points = (double) fields.get("customfield_10016");
+            var assignee = (Map<String, Object>) fields.get("assignee");
+
+            var entry = new LinkedHashMap<String, Object>();
+            entry.put("key", issue.get("key"));
+            entry.put("summary", fields.get("summary"));
+            entry.put("typeName", ((Map<String, Object>) fields.get("issuetype")).get("name"));
+            entry.put("statusName", status.get("name"));
+            entry.put("status", status);
+            entry.put("priorityName", ((Map<String, Object>) fields.get("priority")).get("name"));
+            entry.put("assignee", assignee != null ? assignee.get("name") : null);
+            entry.put("assigneeName", assignee != null ? assignee.get("displayName") : null);
+            entry.put("done", done);
+            entry.put("estimateStatistic", Map.of("statFieldId", "customfield_10016", "statFieldValue", Map.of("value", points)));
+            entry.put("currentEstimateStatistic", entry.get("estimateStatistic"));
+            (done ? completed : notCompleted).add(entry);
+            if (done) completedSum += points; else notCompletedSum += points;
+            if (i % 10 == 9) added.put((String) issue.get("key"), true);
+        }
+
+        var contents = new LinkedHashMap<String, Object>();
+        contents.put("completedIssues", completed);
+        contents.put("issuesNotCompletedInCurrentSprint", notCompleted);
+        contents.put("puntedIssues", List.of());
+        contents.put("issuesCompletedInAnotherSprint", List.of());
+        contents.put("completedIssuesEstimateSum", Map.of("value", completedSum));
+        contents.put("issuesNotCompletedEstimateSum", Map.of("value", notCompletedSum));
+        contents.put("puntedIssuesEstimateSum", Map.of("text", "null"));
+        contents.put("issueKeysAddedDuringSprint", added);
+        var report = new LinkedHashMap<String, Object>();
+        report.put("contents", contents);
+        report.put("sprint", sprint(sprintId));
+        return report;
+    }
+
+    List<Map<String, Object>> versions(String projectKey) {
+        var versions = new ArrayList<Map<String, Object>>();
+        for (int v = 1; v <= config.getVersionsPerProject(); v++) {
+            var version = new LinkedHashMap<String, Object>();
+            version.put("id", String.valueOf(Math.floorMod(projectKey.hashCode(), 1000) * 1000 + v));
+            version.put("name", versionName(v));
+            version.put("description", projectKey + " release " + v);
+            version.put("released", v < config.getVersionsPerProject() - 2);
+            version.put("archived", v < config.getVersionsPerProject() - 10);
+            version.put("releaseDate", anchor.minusDays(14L * (config.getVersionsPerProject() - v)).toString());
+            versions.add(version);
+        }
+        return versions;
+    }
+
+    // ── Helpers ──
+
+    private Map<String, Object> issue(long sprintId, int i) {
+        var state = state(sprintId);
+        var status = "closed".equals(state) ? OPEN_STATUSES[3] : OPEN_STATUSES[i % OPEN_STATUSES.length];
+        int rank = (int) (sprintId % 100);
+        var key = projectKey(boardNames.getOrDefault(sprintId / 100, "BOARD-" + sprintId / 100))
+                + "-" + (rank * 1000 + i + 1);
+        var updated = updated(sprintId, i);
+
+        var fields = new LinkedHashMap<String, Object>();
+        fields.put("summary", "Ticket synthétique " + key);
+        fields.put("issuetype", Map.of("name", TYPES[i % TYPES.length]));
+        fields.put("status", Map.of("name", status[0], "statusCategory", Map.of("key", status[1])));
+        fields.put("priority", Map.of("name", PRIORITIES[i % PRIORITIES.length]));
+        fields.put("assignee", i % 9 == 0 ? null
+                : Map.of("name", "user" + (i % 8), "displayName", "Utilisateur " + (i % 8)));
+        fields.put("customfield_10016", (double) (i % 5 + 1));
+        fields.put("fixVersions", List.of(Map.of("name", versionName(Math.max(1, config.getVersionsPerProject() - rank % 3)))));
+        fields.put("versions", i % 4 == 2 ? List.of(Map.of("name", versionName(Math.max(1, config.getVersionsPerProject() - 3)))) : List.of());
+        fields.put("created", format(updated.minusDays(3 + i % 10)));
+        fields.put("updated", format(updated));
+        fields.put("resolutiondate", "done".equals(status[1]) ? format(updated) : null);
+        fields.put(sprintField, List.of(Map.of("id", sprintId, "name", "Sprint " + rank, "state", state.toUpperCase())));
+
+        var issue = new LinkedHashMap<String, Object>();
+        issue.put("id", String.valueOf(sprintId * 10_000 + i));
+        issue.put("key", key);
+        issue.put("fields", fields);
+        return issue;
+    }
+
+    private static String projectKey(String boardName) {
+        int dash = boardName.indexOf('-');
+        var prefix = (dash > 0 ? boardName.substring(0, dash) : boardName).replaceAll("[^A-Za-z]", "").toUpperCase();
+        return prefix.isEmpty() ? "STUB" : prefix;
+    }
+
+    private static String versionName(int v) {
+        return "1." + v + ".0";
+    }
+
+    private static String format(OffsetDateTime value) {
+        return value.format(ISSUE_DATE);
+    }
+}
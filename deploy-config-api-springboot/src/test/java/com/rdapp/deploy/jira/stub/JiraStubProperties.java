@@ -0,0 +1,39 @@
+package com.rdapp.deploy.jira.stub;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stub Jira de test et enregistrement de fixtures (jira.stub.*).
+ */
+@Component
+@ConfigurationProperties(prefix = "jira.stub")
+@Getter @Setter
+public class JiraStubProperties {
+
+    /** Enregistre les réponses GET 200 du Jira réel dans ce répertoire — vide = désactivé */
+    private String recordDir;
+    /** Fixtures rejouées par le stub ; requête sans fixture → données synthétiques */
+    private String fixturesDir;
+    /** Latence simulée : latencyMs + aléa uniforme [0, jitterMs] */
+    private long latencyMs = 40;
+    private long jitterMs = 40;
+    /** Proportion de réponses 503 */
+    private double errorRate = 0.0;
+    /** Proportion de réponses 429 (avec Retry-After) */
+    private double rateLimitRate = 0.0;
+    private int retryAfterSeconds = 1;
+    /** Volumétrie synthétique par board */
+    private int closedSprints = 8;
+    private int issuesPerSprint = 150;
+    private int versionsPerProject = 20;
+    /** Chaque issue du sprint actif est modifiée une fois par période (flux pour la sync incrémentale) */
+    private int activeChurnMinutes = 60;
+    /** Plafonds de maxResults (Agile : 50, search : 1000 sur Jira DC) */
+    private int maxPageSize = 50;
+    private int maxSearchPageSize = 1000;
+    /** Sprint report en 404 (Jira sans greenhopper) */
+    private boolean sprintReportMissing = false;
+}
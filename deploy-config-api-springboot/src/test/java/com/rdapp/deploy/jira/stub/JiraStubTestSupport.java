@@ -0,0 +1,40 @@
+package com.rdapp.deploy.jira.stub;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+
+/**
+ * Base des tests d'intégration contre le stub Jira : l'application démarre sur un port
+ * libre, base H2 en mémoire propre à la classe, et JiraClient pointe sur son propre
+ * /api/jira-stub.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.DEFINED_PORT)
+@ActiveProfiles("jira-stub")
+public abstract class JiraStubTestSupport {
+
+    @DynamicPropertySource
+    static void stubProperties(DynamicPropertyRegistry registry) {
+        int port = freePort();
+        registry.add("server.port", () -> port);
+        registry.add("jira.base-url", () -> "http://localhost:" + port + "/api/jira-stub");
+        registry.add("spring.datasource.url", () -> "jdbc:h2:mem:stub-" + port + ";DB_CLOSE_DELAY=-1");
+    }
+
+    protected static String baseUrl(int port) {
+        return "http://localhost:" + port + "/api";
+    }
+
+    private static int freePort() {
+        try (var socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
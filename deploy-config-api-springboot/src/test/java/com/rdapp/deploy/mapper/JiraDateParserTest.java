@@ -0,0 +1,85 @@
+package com.rdapp.deploy.mapper;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Formats de dates Jira acceptés, valeurs invalides → null (jamais d'exception).
+ */
+class JiraDateParserTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "2024-01-15T10:30:00.000+0000",     // REST API v2
+            "2024-01-15T10:30:00.000Z",         // Agile API
+            "2024-01-15T10:30:00Z",
+            "2024-01-15T10:30:00+00:00",
+            "2024-01-15T10:30:00+00",
+            "2024-01-15T10:30:00",
+            "2024-01-15 10:30:00",
+            "2024-01-15T11:30:00.000+0100",
+            "2024-01-15T05:00:00-05:30",
+    })
+    void jiraFormatsDenoteTheSameInstant(String value) {
+        assertThat(JiraDateParser.parseDateTime(value).toInstant())
+                .isEqualTo(OffsetDateTime.parse("2024-01-15T10:30:00Z").toInstant());
+    }
+
+    @Test
+    void offsetAndFractionAreKept() {
+        var parsed = JiraDateParser.parseDateTime("2024-01-15T10:30:00.123+0530");
+
+        assertThat(parsed).isEqualTo(OffsetDateTime.parse("2024-01-15T10:30:00.123+05:30"));
+    }
+
+    @Test
+    void fractionBeyondNanosIsTruncated() {
+        assertThat(JiraDateParser.parseDateTime("2024-01-15T10:30:00.1234567891Z").getNano()).isEqualTo(123_456_789);
+        assertThat(JiraDateParser.parseDateTime("2024-01-15T10:30:00.5Z").getNano()).isEqualTo(500_000_000);
+    }
+
+    @Test
+    void dateOnlyIsMidnightUtc() {
+        assertThat(JiraDateParser.parseDateTime("2024-02-29")).isEqualTo(OffsetDateTime.parse("2024-02-29T00:00:00Z"));
+        assertThat(JiraDateParser.parseDate("2024-02-29")).isEqualTo(LocalDate.of(2024, 2, 29));
+    }
+
+    @Test
+    void localAndDateViewsKeepTheWallClock() {
+        var value = "2024-01-15T23:30:00.000-0200";
+
+        assertThat(JiraDateParser.parseLocalDateTime(value)).isEqualTo(LocalDateTime.of(2024, 1, 15, 23, 30));
+        assertThat(JiraDateParser.parseDate(value)).isEqualTo(LocalDate.of(2024, 1, 15));
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = {
+            "2024-1-15",
+            "2023-02-29",                       // année non bissextile
+            "2024-13-01",
+            "2024-04-31",
+            "2024-01-15T24:00:00Z",
+            "2024-01-15T10:60:00Z",
+            "2024-01-15T10:30",
+            "2024-01-15X10:30:00Z",
+            "2024-01-15T10:30:00.Z",
+            "2024-01-15T10:30:00+1900",
+            "2024-01-15T10:30:00+01:0",
+            "2024-01-15T10:30:00Zulu",
+            "2024-01-15T10:30:00 UTC",
+            "not a date",
+    })
+    void invalidValuesAreNull(String value) {
+        assertThat(JiraDateParser.parseDateTime(value)).isNull();
+        assertThat(JiraDateParser.parseLocalDateTime(value)).isNull();
+    }
+}
@@ -0,0 +1,48 @@
+package com.rdapp.deploy.mapper;
+
+import com.rdapp.deploy.entity.SprintIssue;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Ticket API : completedDate au format documenté (UTC, secondes, sans offset).
+ */
+class SprintMapperTest {
+
+    private final SprintMapper mapper = new SprintMapper();
+
+    @Test
+    void completedDateIsFormattedInUtcWithoutOffset() {
+        var ticket = mapper.toSprintTicket(done(OffsetDateTime.parse("2025-01-22T16:30:00.250+02:00")));
+
+        assertThat(ticket.getCompletedDate()).isEqualTo("2025-01-22T14:30:00");
+    }
+
+    @Test
+    void completedDateKeepsZeroSeconds() {
+        var ticket = mapper.toSprintTicket(done(OffsetDateTime.parse("2025-01-22T14:30Z")));
+
+        assertThat(ticket.getCompletedDate()).isEqualTo("2025-01-22T14:30:00");
+    }
+
+    @Test
+    void openTicketHasNoCompletedDate() {
+        var issue = done(OffsetDateTime.parse("2025-01-22T14:30:00Z"));
+        issue.setStatusCategory("indeterminate");
+
+        assertThat(mapper.toSprintTicket(issue).getCompletedDate()).isNull();
+    }
+
+    // ── Helpers ──
+
+    private static SprintIssue done(OffsetDateTime resolvedAt) {
+        var issue = new SprintIssue();
+        issue.setIssueKey("PROJ-122");
+        issue.setStatusCategory("done");
+        issue.setResolutionDate(resolvedAt);
+        return issue;
+    }
+}
@@ -0,0 +1,104 @@
+package com.rdapp.deploy.repository;
+
+import com.rdapp.deploy.entity.SprintIssue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * COPY vers le stage + merge set-based sur un PostgreSQL réel (schéma Liquibase),
+ * dans une transaction de test annulée. Ignoré sans -Dbulk.pg.url :
+ *
+ *   mvn test -Dtest=SprintIssueBulkWriterPostgresTest \
+ *            -Dbulk.pg.url=jdbc:postgresql://localhost:5432/deploy_test -Dbulk.pg.user=… -Dbulk.pg.password=…
+ */
+@JdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(SprintIssueBulkWriter.class)
+@EnabledIfSystemProperty(named = "bulk.pg.url", matches = ".+")
+class SprintIssueBulkWriterPostgresTest {
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> System.getProperty("bulk.pg.url"));
+        registry.add("spring.datasource.username", () -> System.getProperty("bulk.pg.user", "postgres"));
+        registry.add("spring.datasource.password", () -> System.getProperty("bulk.pg.password", ""));
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("spring.liquibase.contexts", () -> "prod");
+    }
+
+    @Autowired
+    private SprintIssueBulkWriter writer;
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private long sprintSyncId;
+
+    @BeforeEach
+    void setUp() {
+        sprintSyncId = jdbc.queryForObject("INSERT INTO sprint_sync (jira_sprint_id, name, state) "
+                + "VALUES (987654, 'Sprint bulk', 'active') RETURNING id", Long.class);
+    }
+
+    @Test
+    void copiedRowsRoundTrip() {
+        var tricky = issue("PROJ-1");
+        tricky.setSummary("Le \"login\" casse, puis\nla session expire");
+        tricky.setAssigneeName("Doe, John");
+        tricky.setStoryPoints(2.5);
+        tricky.setCreatedAt(OffsetDateTime.parse("2024-01-15T10:30Z"));
+        tricky.setUpdatedAt(OffsetDateTime.parse("2024-01-15T10:30:00.123456+05:30"));
+        var empty = issue("PROJ-2");
+        empty.setSummary("");
+
+        assertThat(writer.replaceIssues(sprintSyncId, List.of(tricky, empty))).isEqualTo(2);
+
+        var row = jdbc.queryForMap("SELECT * FROM sprint_issue WHERE sprint_sync_id = ? AND issue_key = 'PROJ-1'",
+                sprintSyncId);
+        assertThat(row.get("summary")).isEqualTo(tricky.getSummary());
+        assertThat(row.get("assignee_name")).isEqualTo("Doe, John");
+        assertThat(row.get("story_points")).isEqualTo(2.5);
+        assertThat(row.get("issue_type")).isNull();
+        assertThat(timestamp("created_at", "PROJ-1")).isEqualTo(tricky.getCreatedAt());
+        assertThat(timestamp("updated_at", "PROJ-1")).isEqualTo(tricky.getUpdatedAt());
+        assertThat(timestamp("resolution_date", "PROJ-1")).isNull();
+        assertThat(jdbc.queryForObject("SELECT summary FROM sprint_issue WHERE sprint_sync_id = ? AND issue_key = 'PROJ-2'",
+                String.class, sprintSyncId)).isEmpty();
+    }
+
+    @Test
+    void mergeReplacesThePreviousIssues() {
+        writer.replaceIssues(sprintSyncId, List.of(issue("PROJ-1"), issue("PROJ-2"), issue("PROJ-3")));
+
+        assertThat(writer.replaceIssues(sprintSyncId, List.of(issue("PROJ-4")))).isEqualTo(1);
+
+        assertThat(jdbc.queryForList("SELECT issue_key FROM sprint_issue WHERE sprint_sync_id = ?",
+                String.class, sprintSyncId)).containsExactly("PROJ-4");
+    }
+
+    // ── Helpers ──
+
+    private static SprintIssue issue(String key) {
+        var issue = new SprintIssue();
+        issue.setIssueKey(key);
+        issue.setSummary("Ticket " + key);
+        return issue;
+    }
+
+    private OffsetDateTime timestamp(String column, String key) {
+        return jdbc.queryForObject("SELECT " + column + " FROM sprint_issue WHERE sprint_sync_id = ? AND issue_key = ?",
+                OffsetDateTime.class, sprintSyncId, key);
+    }
+}
@@ -0,0 +1,74 @@
+package com.rdapp.deploy.repository;
+
+import com.rdapp.deploy.entity.SprintIssue;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Encodage CSV des lignes envoyées à COPY (FORMAT csv) : texte toujours quoté,
+ * null = champ vide non quoté, timestamps ISO-8601 avec offset.
+ */
+class SprintIssueBulkWriterTest {
+
+    @Test
+    void quotesAreDoubledAndDelimitersStayInsideTheField() {
+        var issue = issue("PROJ-1");
+        issue.setSummary("Le \"login\" casse, puis\nla session\r\nexpire");
+        issue.setAssigneeName("Doe, John");
+        issue.setFixVersion("C:\\temp");
+
+        assertThat(row(issue)).isEqualTo("7,\"PROJ-1\",\"Le \"\"login\"\" casse, puis\nla session\r\nexpire\","
+                + ",,,,,\"Doe, John\",,\"C:\\temp\",,,,\n");
+    }
+
+    @Test
+    void nullIsAnUnquotedEmptyFieldAndEmptyStringIsQuoted() {
+        var issue = issue("PROJ-2");
+        issue.setSummary("");
+
+        assertThat(row(issue)).isEqualTo("7,\"PROJ-2\",\"\",,,,,,,,,,,,\n");
+    }
+
+    @Test
+    void numbersAndTimestamps() {
+        var issue = issue("PROJ-3");
+        issue.setStoryPoints(2.5);
+        issue.setCreatedAt(OffsetDateTime.parse("2024-01-15T10:30Z"));
+        issue.setUpdatedAt(OffsetDateTime.parse("2024-01-15T10:30:00.123456+05:30"));
+
+        assertThat(row(issue)).isEqualTo("7,\"PROJ-3\",,,,,,2.5,,,,,"
+                + "2024-01-15T10:30:00Z,2024-01-15T10:30:00.123456+05:30,\n");
+    }
+
+    @Test
+    void everyColumnIsEncodedInOrder() {
+        var issue = SprintIssue.builder()
+                .issueKey("PROJ-4").summary("s").issueType("Bug").statusName("Done").statusCategory("done")
+                .priority("High").storyPoints(3.0).assigneeName("Jane").assigneeUsername("jane")
+                .fixVersion("1.2.0").affectVersion("1.1.0")
+                .createdAt(OffsetDateTime.parse("2024-01-10T09:00:00Z"))
+                .updatedAt(OffsetDateTime.parse("2024-01-11T09:00:00Z"))
+                .resolutionDate(OffsetDateTime.parse("2024-01-12T09:00:00Z"))
+                .build();
+
+        assertThat(row(issue)).isEqualTo("7,\"PROJ-4\",\"s\",\"Bug\",\"Done\",\"done\",\"High\",3.0,\"Jane\",\"jane\","
+                + "\"1.2.0\",\"1.1.0\",2024-01-10T09:00:00Z,2024-01-11T09:00:00Z,2024-01-12T09:00:00Z\n");
+    }
+
+    // ── Helpers ──
+
+    private static SprintIssue issue(String key) {
+        var issue = new SprintIssue();
+        issue.setIssueKey(key);
+        return issue;
+    }
+
+    private static String row(SprintIssue issue) {
+        var line = new StringBuilder();
+        SprintIssueBulkWriter.csvRow(line, 7, issue);
+        return line.toString();
+    }
+}
@@ -0,0 +1,92 @@
+package com.rdapp.deploy.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verrous à bail sur une base réelle (H2, schéma Liquibase), hors transaction de test :
+ * chaque appel est autocommit comme en production.
+ */
+@JdbcTest
+@Import(SyncLockRepository.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = "spring.liquibase.contexts=prod")
+class SyncLockRepositoryTest {
+
+    @Autowired
+    private SyncLockRepository repo;
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void heldLockExcludesOtherOwners() {
+        assertThat(repo.tryAcquire("held", "a", Duration.ofMinutes(1))).isTrue();
+
+        assertThat(repo.tryAcquire("held", "b", Duration.ofMinutes(1))).isFalse();
+        assertThat(repo.tryAcquire("held", "a", Duration.ofMinutes(1))).isTrue();
+        assertThat(repo.owner("held")).isEqualTo("a");
+    }
+
+    @Test
+    void leaseIsComputedByTheDatabaseClock() {
+        repo.tryAcquire("clock", "a", Duration.ofSeconds(90));
+
+        var row = jdbc.queryForMap("SELECT acquired_at, expires_at FROM sync_lock WHERE name = 'clock'");
+        var acquired = (OffsetDateTime) row.get("ACQUIRED_AT");
+        var expires = (OffsetDateTime) row.get("EXPIRES_AT");
+        assertThat(Duration.between(acquired, expires)).isEqualTo(Duration.ofSeconds(90));
+    }
+
+    @Test
+    void expiredLockCanBeTakenButNotRenewed() throws InterruptedException {
+        repo.tryAcquire("expiring", "a", Duration.ofSeconds(1));
+        Thread.sleep(1500);
+
+        assertThat(repo.owner("expiring")).isNull();
+        assertThat(repo.renew("expiring", "a", Duration.ofMinutes(1))).isFalse();
+        assertThat(repo.tryAcquire("expiring", "b", Duration.ofMinutes(1))).isTrue();
+        assertThat(repo.owner("expiring")).isEqualTo("b");
+    }
+
+    @Test
+    void renewOnlyExtendsOwnLiveLease() {
+        repo.tryAcquire("renewed", "a", Duration.ofSeconds(5));
+
+        assertThat(repo.renew("renewed", "b", Duration.ofMinutes(1))).isFalse();
+        assertThat(repo.renew("renewed", "a", Duration.ofMinutes(1))).isTrue();
+
+        repo.release("renewed", "a");
+        assertThat(repo.renew("renewed", "a", Duration.ofMinutes(1))).isFalse();
+        assertThat(repo.owner("renewed")).isNull();
+    }
+
+    @Test
+    void releaseIgnoresOtherOwners() {
+        repo.tryAcquire("released", "a", Duration.ofMinutes(1));
+
+        repo.release("released", "b");
+        assertThat(repo.owner("released")).isEqualTo("a");
+    }
+
+    @Test
+    void liveOwnersListsUnexpiredLocksByPrefix() throws InterruptedException {
+        repo.tryAcquire("hb:n1", "n1", Duration.ofMinutes(1));
+        repo.tryAcquire("hb:n2", "n2", Duration.ofMinutes(1));
+        repo.tryAcquire("hb:n3", "n3", Duration.ofSeconds(1));
+        repo.tryAcquire("other", "n4", Duration.ofMinutes(1));
+        Thread.sleep(1500);
+
+        assertThat(repo.liveOwners("hb:")).containsExactly("n1", "n2");
+    }
+}
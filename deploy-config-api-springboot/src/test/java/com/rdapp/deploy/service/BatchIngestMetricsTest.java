@@ -0,0 +1,75 @@
+package com.rdapp.deploy.service;
+
+import com.rdapp.deploy.dto.BatchIngestDto.IngestPayload;
+import com.rdapp.deploy.dto.BatchIngestDto.IngestResponse;
+import com.rdapp.deploy.dto.SquadDto;
+import com.rdapp.deploy.jira.stub.JiraStubTestSupport;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * POST /v1/batch/ingest de bout en bout : un squadId inconnu (404) ne crée aucun
+ * meter à son nom ; un body illisible ne laisse rien pour la requête suivante.
+ */
+class BatchIngestMetricsTest extends JiraStubTestSupport {
+
+    @Autowired
+    private TestRestTemplate rest;
+    @Autowired
+    private SquadService squadService;
+    @Autowired
+    private MeterRegistry registry;
+
+    @Test
+    void unknownSquadIsRejectedWithoutMeters() {
+        var response = rest.postForEntity("/v1/batch/ingest", payload("typo-squad-42"), String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(registry.find("ingest.phase").tag("squad", "typo-squad-42").meters()).isEmpty();
+        assertThat(registry.find("ingest.rows").tag("squad", "typo-squad-42").meters()).isEmpty();
+    }
+
+    @Test
+    void malformedBodyThenValidIngest() {
+        var headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        var malformed = rest.postForEntity("/v1/batch/ingest", new HttpEntity<>("{\"squadId\":", headers), String.class);
+        assertThat(malformed.getStatusCode().is2xxSuccessful()).isFalse();
+
+        var squad = createSquad("INGEST-METRICS");
+        var ingested = rest.postForEntity("/v1/batch/ingest", payload(squad.getId()), IngestResponse.class);
+
+        assertThat(ingested.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(registry.get("ingest.phase").tags("phase", "lookup", "squad", squad.getId()).timer().count())
+                .isEqualTo(1);
+    }
+
+    // ── Helpers ──
+
+    private static IngestPayload payload(String squadId) {
+        var payload = new IngestPayload();
+        payload.setSquadId(squadId);
+        payload.setBoardId(42L);
+        payload.setRunId("metrics");
+        return payload;
+    }
+
+    private SquadDto.Response createSquad(String name) {
+        var dto = new SquadDto.Create();
+        dto.setName(name);
+        dto.setColor("#336699");
+        dto.setBoardId(name);
+        dto.setMembers(List.of());
+        return squadService.create(dto);
+    }
+}
@@ -0,0 +1,74 @@
+package com.rdapp.deploy.service;
+
+import com.rdapp.deploy.config.IngestAdmissionException;
+import com.rdapp.deploy.config.IngestAdmissionProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Admission des ingests : débit par appelant, éviction des appelants inactifs,
+ * cardinalité du tag caller.
+ */
+class IngestAdmissionServiceTest {
+
+    private final IngestAdmissionProperties props = new IngestAdmissionProperties();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void rateLimitRejectsWithRetryAfter() {
+        props.setBurst(1);
+        props.setRequestsPerMinute(1);
+        var admission = new IngestAdmissionService(props, registry);
+
+        admission.acquire("actor:bot").close();
+
+        assertThatThrownBy(() -> admission.acquire("actor:bot"))
+                .isInstanceOfSatisfying(IngestAdmissionException.class,
+                        e -> assertThat(e.getRetryAfterSeconds()).isPositive());
+        assertThat(registry.find("ingest.admission.rejected").tags("caller", "actor:bot", "reason", "rate")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void idleCallersAreEvictedButNotThoseInFlight() {
+        props.setCallerIdleMinutes(0);
+        var admission = new IngestAdmissionService(props, registry);
+
+        admission.acquire("actor:idle").close();
+        var held = admission.acquire("actor:busy");
+        admission.acquire("actor:next").close();
+
+        // idle évincé ; busy retenu (ingest en cours) ; next vient d'arriver
+        assertThat(callers()).isEqualTo(2);
+        held.close();
+    }
+
+    @Test
+    void ipCallersShareOneTagAndTagsAreBounded() {
+        props.setMaxTaggedCallers(1);
+        var admission = new IngestAdmissionService(props, registry);
+
+        admission.acquire("ip:10.0.0.1").close();
+        admission.acquire("ip:10.0.0.2").close();
+        admission.acquire("actor:first").close();
+        admission.acquire("actor:second").close();
+
+        assertThat(admitted("anonymous")).isEqualTo(2);
+        assertThat(admitted("actor:first")).isEqualTo(1);
+        assertThat(admitted("other")).isEqualTo(1);
+        assertThat(registry.find("ingest.admission.admitted").tag("caller", "ip:10.0.0.1").counter()).isNull();
+    }
+
+    // ── Helpers ──
+
+    private double callers() {
+        return registry.get("ingest.admission.callers").gauge().value();
+    }
+
+    private double admitted(String caller) {
+        return registry.get("ingest.admission.admitted").tag("caller", caller).counter().count();
+    }
+}
@@ -0,0 +1,55 @@
+package com.rdapp.deploy.service;
+
+import com.rdapp.deploy.service.IngestMetrics.Phase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Métriques d'ingest : publication à la fin d'un ingest résolu, tag squad limité
+ * aux escouades résolues.
+ */
+class IngestMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final IngestMetrics metrics = new IngestMetrics(registry);
+
+    @Test
+    void phasesAndRowsArePublishedOnStop() {
+        var timer = metrics.start();
+        timer.run(Phase.LOOKUP, () -> {});
+        timer.run(Phase.DIFF, () -> {});
+
+        timer.stop("sq-1", 2, 30, 1);
+
+        for (var phase : new String[] {"lookup", "diff", "flush"}) {
+            assertThat(registry.get("ingest.phase").tags("phase", phase, "squad", "sq-1").timer().count()).isEqualTo(1);
+        }
+        assertThat(registry.get("ingest.rows").tags("kind", "issues", "squad", "sq-1").counter().count()).isEqualTo(30);
+        assertThat(registry.get("ingest.rows.per.second").tag("squad", "sq-1").gauge().value()).isPositive();
+    }
+
+    @Test
+    void unresolvedSquadIdsShareTheUnknownTag() {
+        metrics.start();   // ingest abandonné (404) : jamais stoppé
+        metrics.recordDeserialize("typo-42", 1_000);
+        metrics.recordFailure("typo-42");
+
+        assertThat(registry.find("ingest.phase").tag("squad", "typo-42").meters()).isEmpty();
+        assertThat(registry.find("ingest.failures").tag("squad", "typo-42").meters()).isEmpty();
+        assertThat(registry.get("ingest.phase").tags("phase", "deserialize", "squad", "unknown").timer().count()).isEqualTo(1);
+        assertThat(registry.get("ingest.failures").tag("squad", "unknown").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void resolvedSquadIsTaggedAfterwards() {
+        metrics.start().stop("sq-1", 0, 0, 0);
+
+        metrics.recordDeserialize("sq-1", 1_000);
+        metrics.recordBulkDeserialize(1_000);
+
+        assertThat(registry.get("ingest.phase").tags("phase", "deserialize", "squad", "sq-1").timer().count()).isEqualTo(1);
+        assertThat(registry.get("ingest.phase").tags("phase", "deserialize", "squad", "bulk").timer().count()).isEqualTo(1);
+    }
+}
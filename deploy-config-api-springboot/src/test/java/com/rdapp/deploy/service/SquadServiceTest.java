@@ -0,0 +1,53 @@
+package com.rdapp.deploy.service;
+
+import com.rdapp.deploy.dto.SquadDto;
+import com.rdapp.deploy.jira.stub.JiraStubTestSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Création / modification d'escouade : le board Jira est résolu après le commit et
+ * la résolution est persistée.
+ */
+class SquadServiceTest extends JiraStubTestSupport {
+
+    @Autowired
+    private SquadService squadService;
+
+    @Test
+    void createResolvesAndPersistsBoard() {
+        var created = squadService.create(create("SQUAD-CREATE"));
+
+        assertThat(created.getJiraBoardId()).isNotNull();
+        assertThat(squadService.findById(created.getId()).getJiraBoardId()).isEqualTo(created.getJiraBoardId());
+    }
+
+    @Test
+    void updateResolvesNewBoard() {
+        var created = squadService.create(create("SQUAD-BEFORE"));
+        var update = new SquadDto.Update();
+        update.setBoardId("SQUAD-AFTER");
+
+        var updated = squadService.update(created.getId(), update);
+
+        assertThat(updated.getJiraBoardId()).isNotNull().isNotEqualTo(created.getJiraBoardId());
+        var stored = squadService.findById(created.getId());
+        assertThat(stored.getBoardId()).isEqualTo("SQUAD-AFTER");
+        assertThat(stored.getJiraBoardId()).isEqualTo(updated.getJiraBoardId());
+    }
+
+    // ── Helpers ──
+
+    private static SquadDto.Create create(String board) {
+        var dto = new SquadDto.Create();
+        dto.setName(board);
+        dto.setColor("#336699");
+        dto.setBoardId(board);
+        dto.setMembers(List.of());
+        return dto;
+    }
+}